@@ -12,31 +12,27 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import vn.sun.membermanagementsystem.annotation.LogActivity;
-import vn.sun.membermanagementsystem.entities.ActivityLog;
-import vn.sun.membermanagementsystem.entities.User;
-import vn.sun.membermanagementsystem.repositories.ActivityLogRepository;
-import vn.sun.membermanagementsystem.repositories.UserRepository;
+import vn.sun.membermanagementsystem.services.ActivityLogWriter;
 
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 
+/**
+ * Records {@link LogActivity} methods. Only the request details are captured here; the user
+ * lookup and the insert happen in batches on the {@link ActivityLogWriter}'s worker thread.
+ */
 @Aspect
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class ActivityLogAspect {
-    private final ActivityLogRepository activityLogRepository;
-    private final UserRepository userRepository;
+    private final ActivityLogWriter activityLogWriter;
 
     @AfterReturning(pointcut = "@annotation(logActivity)", returning = "result")
     public void logAfter(JoinPoint joinPoint, LogActivity logActivity, Object result) {
         try{
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            Long currentUserId = null;
-            if (auth != null && auth.isAuthenticated()) {
-                String email = auth.getName();
-                currentUserId = userRepository.findByEmail(email).map(User::getId).orElse(null);
-            }
+            String userEmail = auth != null && auth.isAuthenticated() ? auth.getName() : null;
 
             HttpServletRequest request = ((ServletRequestAttributes)RequestContextHolder.currentRequestAttributes()).getRequest();
 
@@ -45,25 +41,25 @@ public class ActivityLogAspect {
                 try {
                     Method getIdMethod = result.getClass().getMethod("getId");
                     Object idObj = getIdMethod.invoke(result);
-                    if (idObj instanceof Integer) {
-                        entityId = (Long) idObj;
+                    if (idObj instanceof Number id) {
+                        entityId = id.longValue();
                     }
                 } catch (Exception e) {
                 }
             }
 
-            ActivityLog newLog = new ActivityLog();
-            newLog.setAction(logActivity.action());
-            newLog.setEntityType(logActivity.entityType());
-            newLog.setEntityId(entityId);
-            newLog.setUserId(currentUserId);
-            newLog.setDescription(logActivity.description() + " - Method: " + joinPoint.getSignature().getName());
-            newLog.setIpAddress(request.getRemoteAddr());
-            newLog.setUserAgent(request.getHeader("User-Agent"));
-            newLog.setCreatedAt(LocalDateTime.now());
+            ActivityLogWriter.Event event = new ActivityLogWriter.Event(
+                    logActivity.action(),
+                    logActivity.entityType(),
+                    entityId,
+                    logActivity.description() + " - Method: " + joinPoint.getSignature().getName(),
+                    userEmail,
+                    request.getRemoteAddr(),
+                    request.getHeader("User-Agent"),
+                    LocalDateTime.now());
 
-            activityLogRepository.save(newLog);
-            log.info("Activity logged: {}", newLog);
+            activityLogWriter.write(event);
+            log.debug("Activity queued: {}", event);
         }catch (Exception e) {
              log.error("Failed to log activity: {}", e.getMessage());
         }
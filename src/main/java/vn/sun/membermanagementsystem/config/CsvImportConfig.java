@@ -0,0 +1,22 @@
+package vn.sun.membermanagementsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class CsvImportConfig {
+
+    /**
+     * Pool used to validate CSV rows in parallel. Row validators only read the
+     * references resolved beforehand, so the work is CPU-bound and sized to the cores.
+     * A parallelism of 0 means one worker per available processor.
+     */
+    @Bean(name = "csvValidationPool", destroyMethod = "shutdown")
+    public ForkJoinPool csvValidationPool(@Value("${csv.import.validation.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(workers);
+    }
+}
@@ -0,0 +1,208 @@
+package vn.sun.membermanagementsystem.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import vn.sun.membermanagementsystem.dto.response.ApiResponse;
+import vn.sun.membermanagementsystem.dto.response.CsvExportJobDTO;
+import vn.sun.membermanagementsystem.exception.ResourceNotFoundException;
+import vn.sun.membermanagementsystem.services.csv.CsvBundleExportService;
+import vn.sun.membermanagementsystem.services.csv.CsvExportJobService;
+import vn.sun.membermanagementsystem.services.csv.ExportFormat;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Background export jobs. Submitting returns a job id right away; clients poll the job until it
+ * is {@code COMPLETED} and then download the file from {@code /jobs/{jobId}/download}, which
+ * supports single byte-range requests so interrupted downloads can be resumed. {@code /bundle}
+ * streams a ZIP of every entity type, exported concurrently.
+ */
+@Slf4j
+@Controller
+@RequestMapping("/admin/export")
+@RequiredArgsConstructor
+public class CsvExportController {
+
+    // Tomcat serves the file itself with sendfile(2) when these request attributes are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Tomcat opens the file after the handler returns, so it must outlive the hand-off
+    private static final Duration SENDFILE_MIN_REMAINING_RETENTION = Duration.ofMinutes(1);
+
+    private final CsvExportJobService csvExportJobService;
+    private final CsvBundleExportService csvBundleExportService;
+
+    @PostMapping("/{entityType}/jobs")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<CsvExportJobDTO>> submitExport(@PathVariable String entityType,
+                                                                     @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                                     @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Submitting {} export job as {}", entityType, format);
+        CsvExportJobDTO job = csvExportJobService.submit(entityType, format, gzip);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.<CsvExportJobDTO>builder()
+                        .status(HttpStatus.ACCEPTED.value())
+                        .message("Export queued")
+                        .data(job)
+                        .build());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @ResponseBody
+    public ApiResponse<CsvExportJobDTO> getJob(@PathVariable String jobId) {
+        return ApiResponse.success(csvExportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/jobs")
+    @ResponseBody
+    public ApiResponse<List<CsvExportJobDTO>> getJobs() {
+        return ApiResponse.success(csvExportJobService.getJobs());
+    }
+
+    @GetMapping("/bundle")
+    public void exportBundle(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                             HttpServletResponse response) throws IOException {
+        log.info("Exporting all entities as a ZIP of {}", format);
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String filename = "directory_export_" + timestamp + ".zip";
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+        csvBundleExportService.export(response.getOutputStream(), format);
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    public void download(@PathVariable String jobId, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        CsvExportJobService.Download download = csvExportJobService.getDownload(jobId);
+        // An open channel keeps the file readable even if the retention sweep deletes it meanwhile
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(download.file(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Export file has expired: " + jobId);
+        }
+        try (channel) {
+            send(jobId, download, channel, request, response);
+        }
+    }
+
+    private void send(String jobId, CsvExportJobService.Download download, FileChannel channel,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = download.size();
+        String etag = "\"" + jobId + "\"";
+
+        response.setContentType(download.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + download.filename() + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, download.lastModified().toEpochMilli());
+
+        // A stale If-Range means the client's partial copy is of another file: send it all
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        String range = ifRange == null || ifRange.equals(etag) ? request.getHeader(HttpHeaders.RANGE) : null;
+
+        long start = 0;
+        long end = size - 1;
+        if (range != null) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if (length == 0) {
+            return;
+        }
+
+        boolean expiresSoon = Instant.now().plus(SENDFILE_MIN_REMAINING_RETENTION).isAfter(download.expiresAt());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && !expiresSoon) {
+            request.setAttribute(SENDFILE_FILENAME, download.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long remaining = length;
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, out);
+            if (sent <= 0) {
+                break;
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    /**
+     * Parses a {@code Range} header for a single range ({@code bytes=a-b}, {@code bytes=a-} or
+     * {@code bytes=-n}).
+     *
+     * @return {@code {start, end}} inclusive; an empty array to ignore the header and send the whole
+     * file (other units, several ranges or a malformed value); {@code null} if it is not satisfiable
+     */
+    private static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (end < start) {
+                return new long[0];
+            }
+            if (start >= size) {
+                return null;
+            }
+            return new long[]{start, Math.min(end, size - 1)};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
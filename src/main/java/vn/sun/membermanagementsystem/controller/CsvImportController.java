@@ -1,20 +1,140 @@
 package vn.sun.membermanagementsystem.controller;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.web.bind.annotation.RequestMapping;
-import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvImportService;
-import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvImportService;
-import vn.sun.membermanagementsystem.services.csv.impls.TeamCsvImportService;
-import vn.sun.membermanagementsystem.services.csv.impls.UserCsvImportService;
-import vn.sun.membermanagementsystem.services.csv.impls.ProjectCsvImportService;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
+import vn.sun.membermanagementsystem.dto.response.ApiResponse;
+import vn.sun.membermanagementsystem.dto.response.CsvImportBundleDTO;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+import vn.sun.membermanagementsystem.services.csv.CsvBundleImportService;
+import vn.sun.membermanagementsystem.services.csv.CsvCommitMode;
+import vn.sun.membermanagementsystem.services.csv.CsvDropFolderService;
+import vn.sun.membermanagementsystem.services.csv.CsvImportJobService;
+import vn.sun.membermanagementsystem.services.csv.CsvPreviewService;
+
+import java.util.List;
+
+/**
+ * Background import jobs and cached previews. The upload returns a job id right away;
+ * clients poll the job for progress until it is {@code COMPLETED} or {@code FAILED}.
+ * A preview returns a token whose rows can be paged and which can be confirmed to
+ * import the same file without uploading it again. Files placed in the server-side drop
+ * folder are imported on a schedule, or right away through {@code /drop-folder/scan}. A ZIP
+ * of several entity CSVs is restored as a bundle of jobs in dependency order.
+ */
+@Slf4j
 @Controller
 @RequestMapping("/admin/import")
 @RequiredArgsConstructor
 public class CsvImportController {
-//    private final SkillCsvImportService skillCsvImportService;
-//    private final PositionCsvImportService positionCsvImportService;
-//    private final TeamCsvImportService teamCsvImportService;
-//    private final UserCsvImportService userCsvImportService;
-//    private final ProjectCsvImportService projectCsvImportService;
+
+    private final CsvImportJobService csvImportJobService;
+    private final CsvPreviewService csvPreviewService;
+    private final CsvDropFolderService csvDropFolderService;
+    private final CsvBundleImportService csvBundleImportService;
+
+    @PostMapping("/{entityType}/jobs")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<CsvImportJobDTO>> submitImport(@PathVariable String entityType,
+                                                                     @RequestParam("file") MultipartFile file,
+                                                                     @RequestParam(required = false) CsvCommitMode mode,
+                                                                     @RequestParam(defaultValue = "false") boolean sync) {
+        log.info("Submitting {} import job for file: {}", entityType, file.getOriginalFilename());
+        CsvImportJobDTO job = csvImportJobService.submit(entityType, file, mode, sync);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.<CsvImportJobDTO>builder()
+                        .status(HttpStatus.ACCEPTED.value())
+                        .message("Import queued")
+                        .data(job)
+                        .build());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @ResponseBody
+    public ApiResponse<CsvImportJobDTO> getJob(@PathVariable String jobId) {
+        return ApiResponse.success(csvImportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/jobs")
+    @ResponseBody
+    public ApiResponse<List<CsvImportJobDTO>> getJobs() {
+        return ApiResponse.success(csvImportJobService.getJobs());
+    }
+
+    @PostMapping("/bundles")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<CsvImportBundleDTO>> submitBundle(@RequestParam("file") MultipartFile file,
+                                                                        @RequestParam(required = false) CsvCommitMode mode,
+                                                                        @RequestParam(defaultValue = "false") boolean sync) {
+        log.info("Submitting import bundle for file: {}", file.getOriginalFilename());
+        CsvImportBundleDTO bundle = csvBundleImportService.submit(file, mode, sync);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.<CsvImportBundleDTO>builder()
+                        .status(HttpStatus.ACCEPTED.value())
+                        .message("Import bundle started")
+                        .data(bundle)
+                        .build());
+    }
+
+    @GetMapping("/bundles/{bundleId}")
+    @ResponseBody
+    public ApiResponse<CsvImportBundleDTO> getBundle(@PathVariable String bundleId) {
+        return ApiResponse.success(csvBundleImportService.getBundle(bundleId));
+    }
+
+    @PostMapping("/drop-folder/scan")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<List<CsvImportJobDTO>>> scanDropFolder() {
+        List<CsvImportJobDTO> jobs = csvDropFolderService.scan();
+        log.info("Drop folder scan queued {} import job(s)", jobs.size());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.<List<CsvImportJobDTO>>builder()
+                        .status(HttpStatus.ACCEPTED.value())
+                        .message(jobs.isEmpty() ? "No files to import" : "Import queued")
+                        .data(jobs)
+                        .build());
+    }
+
+    @PostMapping("/{entityType}/preview")
+    @ResponseBody
+    public CsvPreviewResult preview(@PathVariable String entityType,
+                                    @RequestParam("file") MultipartFile file,
+                                    @RequestParam(defaultValue = "50") int size) {
+        log.info("Previewing {} import for file: {}", entityType, file.getOriginalFilename());
+        return csvPreviewService.preview(entityType, file, size);
+    }
+
+    @GetMapping("/previews/{token}/rows")
+    @ResponseBody
+    public CsvPreviewResult getPreviewRows(@PathVariable String token,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "50") int size) {
+        return csvPreviewService.getRows(token, page, size);
+    }
+
+    @PostMapping("/previews/{token}/confirm")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<CsvImportJobDTO>> confirmPreview(@PathVariable String token,
+                                                                       @RequestParam(required = false) CsvCommitMode mode) {
+        log.info("Confirming import preview {}", token);
+        CsvImportJobDTO job = csvPreviewService.confirm(token, mode);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.<CsvImportJobDTO>builder()
+                        .status(HttpStatus.ACCEPTED.value())
+                        .message("Import queued")
+                        .data(job)
+                        .build());
+    }
+
+    @DeleteMapping("/previews/{token}")
+    @ResponseBody
+    public ApiResponse<Void> discardPreview(@PathVariable String token) {
+        csvPreviewService.discard(token);
+        return ApiResponse.success("Preview discarded");
+    }
 }
@@ -14,6 +14,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
 import vn.sun.membermanagementsystem.entities.Position;
+import vn.sun.membermanagementsystem.services.csv.ExportFormat;
 import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvExportService;
 import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvImportService;
 
@@ -32,16 +33,17 @@ public class PositionCsvController {
     private final PositionCsvExportService positionCsvExportService;
 
     @GetMapping("/export")
-    public void exportPositions(HttpServletResponse response) throws IOException {
-        log.info("Exporting positions to CSV");
+    public void exportPositions(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                HttpServletResponse response) throws IOException {
+        log.info("Exporting positions to {}", format);
 
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String filename = "positions_export_" + timestamp + ".csv";
+        String filename = "positions_export_" + timestamp + format.getExtension();
 
-        response.setContentType("text/csv; charset=UTF-8");
+        response.setContentType(format.getContentType());
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
 
-        positionCsvExportService.exportToCsv(response.getOutputStream());
+        positionCsvExportService.export(response.getOutputStream(), format);
     }
 
     @GetMapping("/import")
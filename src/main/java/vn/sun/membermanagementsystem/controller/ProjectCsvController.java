@@ -14,6 +14,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
 import vn.sun.membermanagementsystem.dto.response.ProjectDTO;
+import vn.sun.membermanagementsystem.services.csv.ExportFormat;
 import vn.sun.membermanagementsystem.services.csv.impls.ProjectCsvExportService;
 import vn.sun.membermanagementsystem.services.csv.impls.ProjectCsvImportService;
 
@@ -31,15 +32,16 @@ public class ProjectCsvController {
     private final ProjectCsvExportService projectCsvExportService;
 
     @GetMapping("/export")
-    public void exportProjects(HttpServletResponse response) throws IOException {
-        log.info("Exporting projects to CSV");
+    public void exportProjects(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                               HttpServletResponse response) throws IOException {
+        log.info("Exporting projects to {}", format);
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String filename = "projects_export_" + timestamp + ".csv";
+        String filename = "projects_export_" + timestamp + format.getExtension();
 
-        response.setContentType("text/csv; charset=UTF-8");
+        response.setContentType(format.getContentType());
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
 
-        projectCsvExportService.exportToCsv(response.getOutputStream());
+        projectCsvExportService.export(response.getOutputStream(), format);
     }
 
     @GetMapping("/import/template")
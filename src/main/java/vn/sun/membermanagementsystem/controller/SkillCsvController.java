@@ -14,6 +14,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
 import vn.sun.membermanagementsystem.entities.Skill;
+import vn.sun.membermanagementsystem.services.csv.ExportFormat;
 import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvExportService;
 import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvImportService;
 
@@ -32,16 +33,17 @@ public class SkillCsvController {
     private final SkillCsvExportService skillCsvExportService;
 
     @GetMapping("/export")
-    public void exportSkills(HttpServletResponse response) throws IOException {
-        log.info("Exporting skills to CSV");
+    public void exportSkills(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                             HttpServletResponse response) throws IOException {
+        log.info("Exporting skills to {}", format);
 
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String filename = "skills_export_" + timestamp + ".csv";
+        String filename = "skills_export_" + timestamp + format.getExtension();
 
-        response.setContentType("text/csv; charset=UTF-8");
+        response.setContentType(format.getContentType());
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
 
-        skillCsvExportService.exportToCsv(response.getOutputStream());
+        skillCsvExportService.export(response.getOutputStream(), format);
     }
 
     @GetMapping("/import")
@@ -14,6 +14,9 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
 import vn.sun.membermanagementsystem.entities.User;
+import vn.sun.membermanagementsystem.enums.UserRole;
+import vn.sun.membermanagementsystem.enums.UserStatus;
+import vn.sun.membermanagementsystem.services.csv.ExportFormat;
 import vn.sun.membermanagementsystem.services.csv.impls.UserCsvExportService;
 import vn.sun.membermanagementsystem.services.csv.impls.UserCsvImportService;
 
@@ -32,16 +35,22 @@ public class UserCsvController {
 
   
     @GetMapping("/export")
-    public void exportUsers(HttpServletResponse response) throws IOException {
-        log.info("Exporting users to CSV");
+    public void exportUsers(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                            @RequestParam(required = false) String keyword,
+                            @RequestParam(required = false) UserStatus status,
+                            @RequestParam(required = false) UserRole role,
+                            @RequestParam(required = false) Long teamId,
+                            HttpServletResponse response) throws IOException {
+        log.info("Exporting users to {} - keyword: {}, status: {}, role: {}, teamId: {}",
+                format, keyword, status, role, teamId);
 
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String filename = "users_export_" + timestamp + ".csv";
+        String filename = "users_export_" + timestamp + format.getExtension();
 
-        response.setContentType("text/csv; charset=UTF-8");
+        response.setContentType(format.getContentType());
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
 
-        userCsvExportService.exportToCsv(response.getOutputStream());
+        userCsvExportService.export(response.getOutputStream(), format, keyword, status, role, teamId);
     }
 
 
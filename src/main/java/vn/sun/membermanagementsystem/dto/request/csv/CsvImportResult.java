@@ -17,6 +17,11 @@ public class CsvImportResult<T> {
     private int successCount;
     private int errorCount;
     private boolean rolledBack;
+    private int committedRows;
+    private int resumedAfterRow;
+    private int updatedCount;
+    private int unchangedCount;
+    private boolean fileUnchanged;
     private List<T> importedEntities;
 
     @Builder.Default
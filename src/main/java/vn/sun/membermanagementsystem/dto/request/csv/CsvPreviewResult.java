@@ -20,7 +20,12 @@ public class CsvPreviewResult {
     private int validRows;
     private int invalidRows;
     private boolean hasErrors;
+    private boolean truncated;
     private String fileError;
+    private String token;
+    private int page;
+    private int pageSize;
+    private int resumedAfterRow;
 
     @Data
     @Builder
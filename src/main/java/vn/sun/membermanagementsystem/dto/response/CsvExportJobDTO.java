@@ -0,0 +1,28 @@
+package vn.sun.membermanagementsystem.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CsvExportJobDTO {
+    private String jobId;
+    private String entityType;
+    private String format;
+    private boolean gzip;
+    private String filename;
+    private String status;
+    private Long sizeBytes;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package vn.sun.membermanagementsystem.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CsvImportBundleDTO {
+    private String bundleId;
+    private String filename;
+    private String status;
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private List<CsvImportJobDTO> jobs;
+}
@@ -0,0 +1,35 @@
+package vn.sun.membermanagementsystem.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CsvImportJobDTO {
+    private String jobId;
+    private String entityType;
+    private String filename;
+    private String status;
+    private int totalRows;
+    private int rowsValidated;
+    private int rowsProcessed;
+    private int successCount;
+    private int errorCount;
+    private Double rowsPerSecond;
+    private Long etaSeconds;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+    private List<CsvImportResult.CsvImportError> errors;
+}
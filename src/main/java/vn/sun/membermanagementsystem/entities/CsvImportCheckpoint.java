@@ -0,0 +1,49 @@
+package vn.sun.membermanagementsystem.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import vn.sun.membermanagementsystem.enums.CsvImportCheckpointStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "csv_import_checkpoints")
+public class CsvImportCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String importer;
+
+    @Column(name = "file_fingerprint", nullable = false, length = 64)
+    private String fileFingerprint;
+
+    @Column(length = 255)
+    private String filename;
+
+    @Enumerated(EnumType.STRING)
+    private CsvImportCheckpointStatus status;
+
+    @Column(name = "last_committed_row", nullable = false)
+    private int lastCommittedRow;
+
+    @Column(name = "committed_rows", nullable = false)
+    private int committedRows;
+
+    @Column(name = "error_message", columnDefinition = "text")
+    private String errorMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -50,6 +50,9 @@ public class User {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Column(name = "import_hash", length = 64)
+    private String importHash;
+
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private List<TeamMember> teamMemberships;
     
@@ -0,0 +1,5 @@
+package vn.sun.membermanagementsystem.enums;
+
+public enum CsvImportCheckpointStatus {
+    IN_PROGRESS, FAILED, COMPLETED
+}
@@ -0,0 +1,44 @@
+package vn.sun.membermanagementsystem.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import vn.sun.membermanagementsystem.entities.ActivityLog;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch writes for activity log entries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActivityLogBatchRepository {
+
+    private static final String INSERT_LOG_SQL =
+            "INSERT INTO activity_logs (action, entity_type, entity_id, description, user_id, ip_address, user_agent, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the entries in batches of {@code batchSize}. IDs are not assigned back.
+     */
+    public void insertAll(List<ActivityLog> logs, int batchSize) {
+        if (logs.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_LOG_SQL, logs, batchSize, (ps, log) -> {
+            ps.setString(1, log.getAction());
+            ps.setString(2, log.getEntityType());
+            ps.setObject(3, log.getEntityId(), Types.BIGINT);
+            ps.setString(4, log.getDescription());
+            ps.setObject(5, log.getUserId(), Types.BIGINT);
+            ps.setString(6, log.getIpAddress());
+            ps.setString(7, log.getUserAgent());
+            ps.setTimestamp(8, Timestamp.valueOf(log.getCreatedAt()));
+        });
+    }
+}
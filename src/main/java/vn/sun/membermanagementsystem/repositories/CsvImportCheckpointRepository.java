@@ -0,0 +1,32 @@
+package vn.sun.membermanagementsystem.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import vn.sun.membermanagementsystem.entities.CsvImportCheckpoint;
+import vn.sun.membermanagementsystem.enums.CsvImportCheckpointStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CsvImportCheckpointRepository extends JpaRepository<CsvImportCheckpoint, Long> {
+
+    Optional<CsvImportCheckpoint> findFirstByImporterAndFileFingerprintAndStatusNotOrderByIdDesc(
+            String importer, String fileFingerprint, CsvImportCheckpointStatus status);
+
+    boolean existsByImporterAndFileFingerprintAndStatus(String importer, String fileFingerprint,
+                                                        CsvImportCheckpointStatus status);
+
+    @Modifying
+    @Query("UPDATE CsvImportCheckpoint c SET c.lastCommittedRow = :lastRow, " +
+           "c.committedRows = c.committedRows + :rows, c.updatedAt = :now WHERE c.id = :id")
+    int recordChunk(@Param("id") Long id, @Param("lastRow") int lastRow, @Param("rows") int rows,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE CsvImportCheckpoint c SET c.status = :status, c.errorMessage = :message, " +
+           "c.updatedAt = :now WHERE c.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") CsvImportCheckpointStatus status,
+                     @Param("message") String message, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,94 @@
+package vn.sun.membermanagementsystem.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import vn.sun.membermanagementsystem.entities.Position;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for positions created or updated during imports.
+ * <p>
+ * Positions have two unique keys, name and abbreviation, so an upsert could update a different
+ * row than the one it was meant for; new rows are inserted and existing rows updated by ID.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PositionBatchRepository {
+
+    private static final String INSERT_POSITION_SQL =
+            "INSERT INTO positions (name, abbreviation, created_at, updated_at) VALUES (?, ?, ?, ?)";
+
+    private static final String UPDATE_ABBREVIATION_SQL =
+            "UPDATE positions SET abbreviation = ?, updated_at = ? WHERE id = ? AND deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the positions in a single batch and assigns the generated IDs back to the
+     * given entities, in order.
+     */
+    public void insertPositions(List<Position> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_POSITION_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Position position = positions.get(i);
+                        ps.setString(1, position.getName());
+                        ps.setString(2, position.getAbbreviation());
+                        ps.setTimestamp(3, Timestamp.valueOf(position.getCreatedAt()));
+                        ps.setTimestamp(4, Timestamp.valueOf(position.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return positions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != positions.size()) {
+            throw new IllegalStateException(String.format(
+                    "Expected %d generated keys for position batch, got %d", positions.size(), keys.size()));
+        }
+        for (int i = 0; i < positions.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            positions.get(i).setId(id.longValue());
+        }
+    }
+
+    /**
+     * Updates the abbreviation of existing positions by ID, in batches of {@code batchSize}.
+     *
+     * @return the update count of each position, in order; 0 if it no longer exists
+     */
+    public int[] updateAbbreviations(List<Position> positions, int batchSize) {
+        if (positions.isEmpty()) {
+            return new int[0];
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_ABBREVIATION_SQL, positions, batchSize, (ps, position) -> {
+            ps.setString(1, position.getAbbreviation());
+            ps.setTimestamp(2, Timestamp.valueOf(position.getUpdatedAt()));
+            ps.setLong(3, position.getId());
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+    }
+}
@@ -1,15 +1,20 @@
 package vn.sun.membermanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.Position;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PositionRepository extends JpaRepository<Position, Long> {
@@ -19,6 +24,11 @@ public interface PositionRepository extends JpaRepository<Position, Long> {
 
     @Query("SELECT p FROM Position p WHERE p.deletedAt IS NULL")
     List<Position> findAllNotDeleted();
+
+    @Query("SELECT p FROM Position p WHERE p.deletedAt IS NULL ORDER BY p.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Position> streamAllNotDeleted();
     
     @Query("SELECT p FROM Position p WHERE p.id = :id AND p.deletedAt IS NULL")
     Optional<Position> findByIdAndNotDeleted(@Param("id") Long id);
@@ -28,4 +38,16 @@ public interface PositionRepository extends JpaRepository<Position, Long> {
     
     @Query("SELECT COUNT(p) > 0 FROM Position p WHERE LOWER(p.abbreviation) = LOWER(:abbreviation) AND p.deletedAt IS NULL AND (:id IS NULL OR p.id != :id)")
     boolean existsByAbbreviationIgnoreCaseAndNotDeleted(@Param("abbreviation") String abbreviation, @Param("id") Long id);
+
+    /**
+     * Includes soft-deleted positions, whose names are still taken by the unique index.
+     */
+    @Query("SELECT p FROM Position p WHERE LOWER(p.name) IN :names")
+    List<Position> findAllByLowerNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * Includes soft-deleted positions, whose abbreviations are still taken by the unique index.
+     */
+    @Query("SELECT p FROM Position p WHERE LOWER(p.abbreviation) IN :abbreviations")
+    List<Position> findAllByLowerAbbreviationIn(@Param("abbreviations") Collection<String> abbreviations);
 }
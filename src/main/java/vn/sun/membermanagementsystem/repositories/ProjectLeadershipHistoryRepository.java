@@ -1,11 +1,15 @@
 package vn.sun.membermanagementsystem.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.Project;
 import vn.sun.membermanagementsystem.entities.ProjectLeadershipHistory;
 import vn.sun.membermanagementsystem.entities.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +18,9 @@ public interface ProjectLeadershipHistoryRepository extends JpaRepository<Projec
     Optional<ProjectLeadershipHistory> findByProjectAndEndedAtIsNull(Project project);
 
     boolean existsByProjectAndLeaderAndEndedAtIsNull(Project project, User leader);
+
+    @Query("SELECT h.project.id AS projectId, l.email AS email FROM ProjectLeadershipHistory h " +
+           "JOIN h.leader l WHERE h.project.id IN :projectIds AND h.endedAt IS NULL ORDER BY h.id")
+    List<ProjectRepository.ProjectEmail> findCurrentLeaderEmailsByProjectIdIn(
+            @Param("projectIds") Collection<Long> projectIds);
 }
@@ -1,11 +1,14 @@
 package vn.sun.membermanagementsystem.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.Project;
 import vn.sun.membermanagementsystem.entities.ProjectMember;
 import vn.sun.membermanagementsystem.entities.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +23,9 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
 
     Optional<ProjectMember> findByProjectAndUser(Project project, User user);
 
+    @Query("SELECT pm.project.id AS projectId, u.email AS email FROM ProjectMember pm " +
+           "JOIN pm.user u WHERE pm.project.id IN :projectIds AND pm.status = :status ORDER BY pm.id")
+    List<ProjectRepository.ProjectEmail> findMemberEmailsByProjectIdIn(
+            @Param("projectIds") Collection<Long> projectIds, @Param("status") ProjectMember.MemberStatus status);
+
 }
\ No newline at end of file
@@ -1,13 +1,33 @@
 package vn.sun.membermanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import vn.sun.membermanagementsystem.entities.Project;
 import vn.sun.membermanagementsystem.entities.Team;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    /**
+     * An email address belonging to a project, e.g. its leader's or a member's.
+     */
+    interface ProjectEmail {
+        Long getProjectId();
+
+        String getEmail();
+    }
+
     Page<Project> findByTeam(Team team, Pageable pageable);
 
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.team WHERE p.deletedAt IS NULL ORDER BY p.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Project> streamAllNotDeletedWithTeam();
+
 }
@@ -0,0 +1,106 @@
+package vn.sun.membermanagementsystem.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import vn.sun.membermanagementsystem.entities.Skill;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for skills created or synced during bulk imports.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SkillBatchRepository {
+
+    /** Update count of an upserted skill that was inserted. */
+    public static final int INSERTED = 1;
+
+    /** Update count of an upserted skill that already existed and was changed. */
+    public static final int UPDATED = 2;
+
+    private static final String INSERT_SKILL_SQL =
+            "INSERT INTO skills (name, description, created_at, updated_at) VALUES (?, ?, ?, ?)";
+
+    // The skill name is the table's only unique key, so a duplicate always means the same skill
+    private static final String UPSERT_SKILL_SQL =
+            "INSERT INTO skills (name, description, created_at, updated_at) VALUES (?, ?, ?, ?) AS incoming " +
+            "ON DUPLICATE KEY UPDATE description = incoming.description, updated_at = incoming.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the skills in a single batch and assigns the generated IDs back to the
+     * given entities, in order.
+     */
+    public void insertSkills(List<Skill> skills) {
+        if (skills.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SKILL_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Skill skill = skills.get(i);
+                        ps.setString(1, skill.getName());
+                        ps.setString(2, skill.getDescription());
+                        ps.setTimestamp(3, Timestamp.valueOf(skill.getCreatedAt()));
+                        ps.setTimestamp(4, Timestamp.valueOf(skill.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return skills.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != skills.size()) {
+            throw new IllegalStateException(String.format(
+                    "Expected %d generated keys for skill batch, got %d", skills.size(), keys.size()));
+        }
+        for (int i = 0; i < skills.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            skills.get(i).setId(id.longValue());
+        }
+    }
+
+    /**
+     * Inserts the skills, or updates the description of the skill with the same name, in
+     * batches of {@code batchSize}. Used by syncs, so a name taken since it was validated
+     * updates that skill instead of failing the batch; soft-deleted skills are rejected by
+     * validation before this runs. IDs are not assigned back, since the driver reports no
+     * key for rows that were updated.
+     *
+     * @return the update count of each skill, in order: {@link #INSERTED}, {@link #UPDATED}, 0 for a
+     * skill left as it was, or {@link Statement#SUCCESS_NO_INFO} when the driver rewrote the batch
+     * into one statement and cannot tell
+     */
+    public int[] upsertSkills(List<Skill> skills, int batchSize) {
+        if (skills.isEmpty()) {
+            return new int[0];
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPSERT_SKILL_SQL, skills, batchSize, (ps, skill) -> {
+            ps.setString(1, skill.getName());
+            ps.setString(2, skill.getDescription());
+            ps.setTimestamp(3, Timestamp.valueOf(skill.getCreatedAt()));
+            ps.setTimestamp(4, Timestamp.valueOf(skill.getUpdatedAt()));
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+    }
+}
@@ -1,15 +1,20 @@
 package vn.sun.membermanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.Skill;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Long> {
@@ -19,6 +24,11 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
 
     @Query("SELECT s FROM Skill s WHERE s.deletedAt IS NULL")
     List<Skill> findAllNotDeleted();
+
+    @Query("SELECT s FROM Skill s WHERE s.deletedAt IS NULL ORDER BY s.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Skill> streamAllNotDeleted();
     
     @Query("SELECT s FROM Skill s WHERE s.id = :id AND s.deletedAt IS NULL")
     Optional<Skill> findByIdAndNotDeleted(@Param("id") Long id);
@@ -26,6 +36,12 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     @Query("SELECT s FROM Skill s WHERE LOWER(s.name) = LOWER(:name) AND s.deletedAt IS NULL")
     Optional<Skill> findByNameIgnoreCaseAndNotDeleted(@Param("name") String name);
     
+    /**
+     * Includes soft-deleted skills, whose names are still taken by the unique index.
+     */
+    @Query("SELECT s FROM Skill s WHERE LOWER(s.name) IN :names")
+    List<Skill> findAllByLowerNameIn(@Param("names") Collection<String> names);
+    
     @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END " +
            "FROM Skill s WHERE LOWER(s.name) = LOWER(:name) AND s.deletedAt IS NULL")
     boolean existsByNameIgnoreCaseAndNotDeleted(@Param("name") String name);
@@ -0,0 +1,96 @@
+package vn.sun.membermanagementsystem.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import vn.sun.membermanagementsystem.entities.Team;
+import vn.sun.membermanagementsystem.entities.TeamLeadershipHistory;
+import vn.sun.membermanagementsystem.entities.TeamMember;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for team roster imports. Active memberships are guarded by the
+ * {@code unique_active_team_member} index, so a user who joined another team after
+ * validation makes the batch fail instead of ending up in two teams.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TeamBatchRepository {
+
+    private static final String INSERT_TEAM_SQL =
+            "INSERT INTO teams (name, description, created_at, updated_at) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_TEAM_MEMBER_SQL =
+            "INSERT INTO team_members (user_id, team_id, status, joined_at) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_LEADERSHIP_SQL =
+            "INSERT INTO team_leadership_history (team_id, leader_id, started_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the teams in a single batch and assigns the generated IDs back to the
+     * given entities, in order.
+     */
+    public void insertTeams(List<Team> teams) {
+        if (teams.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_TEAM_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Team team = teams.get(i);
+                        ps.setString(1, team.getName());
+                        ps.setString(2, team.getDescription());
+                        ps.setTimestamp(3, Timestamp.valueOf(team.getCreatedAt()));
+                        ps.setTimestamp(4, Timestamp.valueOf(team.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return teams.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != teams.size()) {
+            throw new IllegalStateException(String.format(
+                    "Expected %d generated keys for team batch, got %d", teams.size(), keys.size()));
+        }
+        for (int i = 0; i < teams.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            teams.get(i).setId(id.longValue());
+        }
+    }
+
+    public void insertTeamMembers(List<TeamMember> members, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_TEAM_MEMBER_SQL, members, batchSize, (ps, member) -> {
+            ps.setLong(1, member.getUser().getId());
+            ps.setLong(2, member.getTeam().getId());
+            ps.setString(3, member.getStatus().name());
+            ps.setTimestamp(4, Timestamp.valueOf(member.getJoinedAt()));
+        });
+    }
+
+    public void insertLeaderships(List<TeamLeadershipHistory> leaderships, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_LEADERSHIP_SQL, leaderships, batchSize, (ps, leadership) -> {
+            ps.setLong(1, leadership.getTeam().getId());
+            ps.setLong(2, leadership.getLeader().getId());
+            ps.setTimestamp(3, Timestamp.valueOf(leadership.getStartedAt()));
+        });
+    }
+}
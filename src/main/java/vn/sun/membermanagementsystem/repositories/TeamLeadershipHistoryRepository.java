@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.TeamLeadershipHistory;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,13 @@ public interface TeamLeadershipHistoryRepository extends JpaRepository<TeamLeade
                         "AND tlh.endedAt IS NULL")
         Optional<TeamLeadershipHistory> findActiveLeaderByTeamId(@Param("teamId") Long teamId);
 
+        @Query("SELECT tlh.team.id AS teamId, l.email AS email FROM TeamLeadershipHistory tlh " +
+                        "JOIN tlh.leader l " +
+                        "WHERE tlh.team.id IN :teamIds " +
+                        "AND tlh.endedAt IS NULL " +
+                        "ORDER BY tlh.id")
+        List<TeamRepository.TeamEmail> findCurrentLeaderEmailsByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
+
         @Query("SELECT tlh FROM TeamLeadershipHistory tlh " +
                         "JOIN FETCH tlh.leader " +
                         "WHERE tlh.team.id = :teamId " +
@@ -1,7 +1,10 @@
 package vn.sun.membermanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.Team;
@@ -9,7 +12,9 @@ import vn.sun.membermanagementsystem.entities.TeamMember;
 import vn.sun.membermanagementsystem.entities.User;
 import vn.sun.membermanagementsystem.enums.MembershipStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
@@ -45,4 +50,21 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
                         "WHERE tm.team.id = :teamId " +
                         "AND tm.leftAt IS NULL")
         List<TeamMember> findByTeamIdAndLeftAtIsNull(@Param("teamId") Long teamId);
+
+        @Query("SELECT tm.team.id AS teamId, u.email AS email FROM TeamMember tm " +
+                        "JOIN tm.user u " +
+                        "WHERE tm.team.id IN :teamIds " +
+                        "AND tm.status = vn.sun.membermanagementsystem.enums.MembershipStatus.ACTIVE " +
+                        "AND tm.leftAt IS NULL " +
+                        "ORDER BY tm.id")
+        List<TeamRepository.TeamEmail> findActiveMemberEmailsByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
+
+        @Query("SELECT tm FROM TeamMember tm " +
+                        "JOIN FETCH tm.team t " +
+                        "JOIN FETCH tm.user " +
+                        "WHERE t.deletedAt IS NULL " +
+                        "ORDER BY tm.id")
+        @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+        Stream<TeamMember> streamAllWithTeamAndUser();
 }
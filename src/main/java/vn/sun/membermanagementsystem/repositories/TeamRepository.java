@@ -1,20 +1,34 @@
 package vn.sun.membermanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import vn.sun.membermanagementsystem.entities.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.Team;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
+    /**
+     * An email address belonging to a team, e.g. its leader's or a member's.
+     */
+    interface TeamEmail {
+        Long getTeamId();
+
+        String getEmail();
+    }
+
     @Query("SELECT COUNT(t) > 0 FROM Team t WHERE t.name = :name AND t.deletedAt IS NULL")
     boolean existsByNameAndNotDeleted(@Param("name") String name);
 
@@ -27,6 +41,15 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     @Query("SELECT t FROM Team t WHERE t.name = :name AND t.deletedAt IS NULL")
     Optional<Team> findByNameAndNotDeleted(@Param("name") String name);
 
+    @Query("SELECT t FROM Team t WHERE t.name IN :names AND t.deletedAt IS NULL")
+    List<Team> findAllByNameInAndNotDeleted(@Param("names") Collection<String> names);
+
+    /**
+     * Includes soft-deleted teams, whose names are still taken by the unique index.
+     */
+    @Query("SELECT t FROM Team t WHERE t.name IN :names")
+    List<Team> findAllByNameIn(@Param("names") Collection<String> names);
+
     @Query("SELECT DISTINCT t FROM Team t " +
             "LEFT JOIN FETCH t.leadershipHistory lh " +
             "LEFT JOIN FETCH lh.leader " +
@@ -36,6 +59,11 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     @Query("SELECT t FROM Team t WHERE t.deletedAt IS NULL ORDER BY t.name")
     List<Team> findAllNotDeleted();
 
+    @Query("SELECT t FROM Team t WHERE t.deletedAt IS NULL ORDER BY t.id")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Team> streamAllNotDeleted();
+
     @Query("SELECT t FROM Team t WHERE t.deletedAt IS NULL")
     Page<Team> findAllNotDeleted(Pageable pageable);
 
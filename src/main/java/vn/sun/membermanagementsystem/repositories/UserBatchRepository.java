@@ -0,0 +1,127 @@
+package vn.sun.membermanagementsystem.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import vn.sun.membermanagementsystem.entities.User;
+import vn.sun.membermanagementsystem.entities.UserSkill;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for bulk user imports. Bypasses the persistence context so a
+ * chunk of users costs one round trip per batch instead of several per user.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (name, email, password_hash, birthday, role, status, import_hash, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_USER_SQL =
+            "UPDATE users SET name = ?, birthday = ?, role = ?, status = ?, import_hash = ?, updated_at = ? " +
+            "WHERE id = ?";
+
+    private static final String DELETE_USER_SKILLS_SQL = "DELETE FROM user_skills WHERE user_id = ?";
+
+    private static final String INSERT_USER_SKILL_SQL =
+            "INSERT INTO user_skills (user_id, skill_id, level, used_year_number, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the users in batches of {@code batchSize} and assigns the generated IDs
+     * back to the given entities, in order.
+     */
+    public void insertUsers(List<User> users, int batchSize) {
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<User> batch = users.subList(from, Math.min(from + batchSize, users.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            User user = batch.get(i);
+                            ps.setString(1, user.getName());
+                            ps.setString(2, user.getEmail());
+                            ps.setString(3, user.getPasswordHash());
+                            if (user.getBirthday() != null) {
+                                ps.setDate(4, Date.valueOf(user.getBirthday()));
+                            } else {
+                                ps.setNull(4, Types.DATE);
+                            }
+                            ps.setString(5, user.getRole().name());
+                            ps.setString(6, user.getStatus().name());
+                            ps.setString(7, user.getImportHash());
+                            ps.setTimestamp(8, Timestamp.valueOf(user.getCreatedAt()));
+                            ps.setTimestamp(9, Timestamp.valueOf(user.getUpdatedAt()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            if (keys.size() != batch.size()) {
+                throw new IllegalStateException(String.format(
+                        "Expected %d generated keys for user batch, got %d", batch.size(), keys.size()));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Number id = (Number) keys.get(i).values().iterator().next();
+                batch.get(i).setId(id.longValue());
+            }
+        }
+    }
+
+    /**
+     * Updates the imported columns of existing users; email and password are left as they are.
+     */
+    public void updateUsers(List<User> users, int batchSize) {
+        jdbcTemplate.batchUpdate(UPDATE_USER_SQL, users, batchSize, (ps, user) -> {
+            ps.setString(1, user.getName());
+            if (user.getBirthday() != null) {
+                ps.setDate(2, Date.valueOf(user.getBirthday()));
+            } else {
+                ps.setNull(2, Types.DATE);
+            }
+            ps.setString(3, user.getRole().name());
+            ps.setString(4, user.getStatus().name());
+            ps.setString(5, user.getImportHash());
+            ps.setTimestamp(6, Timestamp.valueOf(user.getUpdatedAt()));
+            ps.setLong(7, user.getId());
+        });
+    }
+
+    public void deleteUserSkills(List<Long> userIds, int batchSize) {
+        jdbcTemplate.batchUpdate(DELETE_USER_SKILLS_SQL, userIds, batchSize, (ps, userId) -> ps.setLong(1, userId));
+    }
+
+    public void insertUserSkills(List<UserSkill> userSkills, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_USER_SKILL_SQL, userSkills, batchSize, (ps, userSkill) -> {
+            ps.setLong(1, userSkill.getUser().getId());
+            ps.setLong(2, userSkill.getSkill().getId());
+            ps.setString(3, userSkill.getLevel().name());
+            ps.setBigDecimal(4, userSkill.getUsedYearNumber());
+            ps.setTimestamp(5, Timestamp.valueOf(userSkill.getCreatedAt()));
+            ps.setTimestamp(6, Timestamp.valueOf(userSkill.getUpdatedAt()));
+        });
+    }
+}
@@ -1,24 +1,57 @@
 package vn.sun.membermanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.User;
 import vn.sun.membermanagementsystem.enums.UserRole;
 import vn.sun.membermanagementsystem.enums.UserStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+        /**
+         * A user's ID and email, without loading the entity.
+         */
+        interface UserIdEmail {
+                Long getId();
+
+                String getEmail();
+        }
+
+        /**
+         * What an import needs to know about an existing user, without loading the entity.
+         */
+        interface UserImportKey {
+                Long getId();
+
+                String getEmail();
+
+                String getImportHash();
+
+                LocalDateTime getDeletedAt();
+        }
+
         Optional<User> findByEmail(String email);
 
+        @Query("SELECT u.id AS id, u.email AS email FROM User u WHERE u.email IN :emails")
+        List<UserIdEmail> findIdsByEmailIn(@Param("emails") Collection<String> emails);
+
+        List<User> findAllByEmailIn(Collection<String> emails);
+
         @Query("SELECT u FROM User u WHERE u.email = :email AND u.deletedAt IS NULL")
         Optional<User> findByEmailAndNotDeleted(@Param("email") String email);
 
@@ -52,6 +85,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
         @Query("SELECT u FROM User u WHERE u.deletedAt IS NULL")
         List<User> findAllNotDeleted();
 
+        @Query("SELECT u FROM User u WHERE u.deletedAt IS NULL ORDER BY u.id")
+        @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+        Stream<User> streamAllNotDeleted();
+
         @Query("SELECT u FROM User u WHERE u.status = :status AND u.deletedAt IS NULL")
         List<User> findByStatusAndNotDeleted(@Param("status") UserStatus status);
 
@@ -61,6 +99,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
         @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.email = :email AND u.deletedAt IS NULL")
         boolean existsByEmailAndNotDeleted(@Param("email") String email);
 
+        @Query("SELECT u FROM User u WHERE u.email IN :emails AND u.deletedAt IS NULL")
+        List<User> findAllByEmailInAndNotDeleted(@Param("emails") Collection<String> emails);
+
+        @Query("SELECT u.id AS id, u.email AS email, u.importHash AS importHash, u.deletedAt AS deletedAt " +
+                        "FROM User u WHERE u.email IN :emails")
+        List<UserImportKey> findImportKeysByEmailIn(@Param("emails") Collection<String> emails);
+
         @Query("SELECT u FROM User u WHERE u.deletedAt IS NULL")
         Page<User> findAllNotDeleted(Pageable pageable);
 
@@ -92,4 +137,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
                         @Param("role") UserRole role,
                         @Param("teamId") Long teamId,
                         Pageable pageable);
+
+        /**
+         * Same filters as {@link #searchUsersWithTeam}, as a keyset page: users with an id after
+         * {@code afterId}, in id order. Returns a list so no count query is run.
+         */
+        @Query("SELECT u FROM User u " +
+                        "WHERE " +
+                        "(:keyword IS NULL OR :keyword = '' OR " +
+                        "LOWER(u.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                        "LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+                        "(:status IS NULL OR u.status = :status) AND " +
+                        "(:role IS NULL OR u.role = :role) AND " +
+                        "(:teamId IS NULL OR EXISTS (SELECT tm FROM TeamMember tm WHERE tm.user = u AND tm.team.id = :teamId AND tm.status = 'ACTIVE' AND tm.leftAt IS NULL)) AND "
+                        +
+                        "u.id > :afterId AND " +
+                        "u.deletedAt IS NULL " +
+                        "ORDER BY u.id")
+        List<User> searchUsersWithTeamAfterId(@Param("keyword") String keyword,
+                        @Param("status") UserStatus status,
+                        @Param("role") UserRole role,
+                        @Param("teamId") Long teamId,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
 }
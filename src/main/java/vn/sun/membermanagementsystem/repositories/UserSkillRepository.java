@@ -1,12 +1,16 @@
 package vn.sun.membermanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.sun.membermanagementsystem.entities.UserSkill;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,10 @@ public interface UserSkillRepository extends JpaRepository<UserSkill, Long> {
     
     @Query("SELECT us FROM UserSkill us WHERE us.user.id = :userId")
     List<UserSkill> findByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT us FROM UserSkill us JOIN FETCH us.skill WHERE us.user.id IN :userIds ORDER BY us.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<UserSkill> findAllWithSkillByUserIdIn(@Param("userIds") Collection<Long> userIds);
     
     @Query("SELECT us FROM UserSkill us WHERE us.user.id = :userId AND us.skill.id = :skillId")
     Optional<UserSkill> findByUserIdAndSkillId(@Param("userId") Long userId, @Param("skillId") Long skillId);
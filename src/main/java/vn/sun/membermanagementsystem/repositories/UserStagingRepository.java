@@ -0,0 +1,258 @@
+package vn.sun.membermanagementsystem.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import vn.sun.membermanagementsystem.entities.UserSkill;
+import vn.sun.membermanagementsystem.enums.UserRole;
+import vn.sun.membermanagementsystem.enums.UserStatus;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Staging tables for set-based user imports ({@code Csv_Stage_Users}, {@code Csv_Stage_User_Skills}).
+ * <p>
+ * Rows are loaded with multi-row {@code INSERT}s, checked with joins against {@code users} and
+ * {@code skills}, and merged with {@code INSERT ... SELECT}, so the database does the lookups
+ * instead of one query per key. Every row carries the id of its import, so concurrent imports
+ * do not see each other's rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserStagingRepository {
+
+    public record StagedUser(int rowNumber, String name, String email, LocalDate birthday, UserRole role,
+                             UserStatus status, String importHash) {
+    }
+
+    public record StagedUserSkill(int rowNumber, String skillName, UserSkill.Level level, BigDecimal usedYearNumber) {
+    }
+
+    public record StagedEmail(int rowNumber, String email, int firstRow) {
+    }
+
+    public record StagedSkillName(int rowNumber, String skillName) {
+    }
+
+    private static final String INSERT_STAGED_USERS_SQL =
+            "INSERT INTO csv_stage_users (import_id, row_num, name, email, email_key, birthday, role, status, import_hash) " +
+            "VALUES ";
+    private static final String STAGED_USER_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STAGED_SKILLS_SQL =
+            "INSERT INTO csv_stage_user_skills (import_id, row_num, skill_name, skill_key, level, used_year_number) " +
+            "VALUES ";
+    private static final String STAGED_SKILL_VALUES = "(?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_EXISTING_EMAILS_SQL =
+            "SELECT s.row_num, s.email FROM csv_stage_users s " +
+            "JOIN users u ON u.email = s.email_key AND u.deleted_at IS NULL " +
+            "WHERE s.import_id = ? ORDER BY s.row_num";
+
+    private static final String FIND_DELETED_USER_EMAILS_SQL =
+            "SELECT s.row_num, s.email FROM csv_stage_users s " +
+            "JOIN users u ON u.email = s.email_key AND u.deleted_at IS NOT NULL " +
+            "WHERE s.import_id = ? ORDER BY s.row_num";
+
+    private static final String FIND_DELETED_SKILL_NAMES_SQL =
+            "SELECT s.row_num, s.skill_name FROM csv_stage_user_skills s " +
+            "JOIN skills k ON k.name = s.skill_key AND k.deleted_at IS NOT NULL " +
+            "WHERE s.import_id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM skills a WHERE a.name = s.skill_key AND a.deleted_at IS NULL) " +
+            "ORDER BY s.row_num, s.id";
+
+    // Rows whose email already exists, deleted or not, are reported by the two queries above only
+    private static final String FIND_DUPLICATE_EMAILS_SQL =
+            "SELECT s.row_num, s.email, f.first_row FROM csv_stage_users s " +
+            "JOIN (SELECT email_key, MIN(row_num) AS first_row FROM csv_stage_users " +
+            "      WHERE import_id = ? GROUP BY email_key HAVING COUNT(*) > 1) f " +
+            "  ON f.email_key = s.email_key AND s.row_num > f.first_row " +
+            "WHERE s.import_id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.email = s.email_key) " +
+            "ORDER BY s.row_num";
+
+    // New skills are named as first written in the file
+    private static final String INSERT_MISSING_SKILLS_SQL =
+            "INSERT INTO skills (name, description, created_at, updated_at) " +
+            "SELECT s.skill_name, 'Auto-created from CSV import', ?, ? FROM csv_stage_user_skills s " +
+            "JOIN (SELECT MIN(id) AS id FROM csv_stage_user_skills WHERE import_id = ? GROUP BY skill_key) f " +
+            "  ON f.id = s.id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM skills k WHERE k.name = s.skill_key)";
+
+    private static final String RESOLVE_SKILL_IDS_SQL =
+            "UPDATE csv_stage_user_skills s " +
+            "JOIN (SELECT name, MIN(id) AS id FROM skills WHERE deleted_at IS NULL GROUP BY name) k " +
+            "  ON k.name = s.skill_key " +
+            "SET s.skill_id = k.id WHERE s.import_id = ?";
+
+    private static final String FIND_STAGED_ROWS_SQL =
+            "SELECT row_num FROM csv_stage_users WHERE import_id = ? ORDER BY row_num";
+
+    private static final String UPDATE_PASSWORD_HASH_SQL =
+            "UPDATE csv_stage_users SET password_hash = ? WHERE import_id = ? AND row_num = ?";
+
+    private static final String MERGE_USERS_SQL =
+            "INSERT INTO users (name, email, password_hash, birthday, role, status, import_hash, created_at, updated_at) " +
+            "SELECT name, email, password_hash, birthday, role, status, import_hash, ?, ? " +
+            "FROM csv_stage_users WHERE import_id = ? ORDER BY row_num";
+
+    private static final String MERGE_USER_SKILLS_SQL =
+            "INSERT INTO user_skills (user_id, skill_id, level, used_year_number, created_at, updated_at) " +
+            "SELECT u.id, s.skill_id, s.level, s.used_year_number, ?, ? FROM csv_stage_user_skills s " +
+            "JOIN csv_stage_users su ON su.import_id = s.import_id AND su.row_num = s.row_num " +
+            "JOIN users u ON u.email = su.email AND u.deleted_at IS NULL " +
+            "WHERE s.import_id = ? ORDER BY s.id";
+
+    private static final String DELETE_STAGED_SKILLS_SQL = "DELETE FROM csv_stage_user_skills WHERE import_id = ?";
+    private static final String DELETE_STAGED_USERS_SQL = "DELETE FROM csv_stage_users WHERE import_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stages the users with multi-row inserts of up to {@code batchSize} rows each.
+     */
+    public void stageUsers(String importId, List<StagedUser> users, int batchSize) {
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<StagedUser> batch = users.subList(from, Math.min(from + batchSize, users.size()));
+            jdbcTemplate.update(multiRowInsert(INSERT_STAGED_USERS_SQL, STAGED_USER_VALUES, batch.size()), ps -> {
+                int i = 1;
+                for (StagedUser user : batch) {
+                    ps.setString(i++, importId);
+                    ps.setInt(i++, user.rowNumber());
+                    ps.setString(i++, user.name());
+                    ps.setString(i++, user.email());
+                    ps.setString(i++, user.email().toLowerCase());
+                    if (user.birthday() != null) {
+                        ps.setDate(i++, Date.valueOf(user.birthday()));
+                    } else {
+                        ps.setNull(i++, Types.DATE);
+                    }
+                    ps.setString(i++, user.role().name());
+                    ps.setString(i++, user.status().name());
+                    ps.setString(i++, user.importHash());
+                }
+            });
+        }
+    }
+
+    public void stageUserSkills(String importId, List<StagedUserSkill> skills, int batchSize) {
+        for (int from = 0; from < skills.size(); from += batchSize) {
+            List<StagedUserSkill> batch = skills.subList(from, Math.min(from + batchSize, skills.size()));
+            jdbcTemplate.update(multiRowInsert(INSERT_STAGED_SKILLS_SQL, STAGED_SKILL_VALUES, batch.size()), ps -> {
+                int i = 1;
+                for (StagedUserSkill skill : batch) {
+                    ps.setString(i++, importId);
+                    ps.setInt(i++, skill.rowNumber());
+                    ps.setString(i++, skill.skillName());
+                    ps.setString(i++, skill.skillName().toLowerCase());
+                    ps.setString(i++, skill.level().name());
+                    ps.setBigDecimal(i++, skill.usedYearNumber());
+                }
+            });
+        }
+    }
+
+    /**
+     * Staged rows whose email belongs to an existing user.
+     */
+    public List<StagedEmail> findExistingEmails(String importId) {
+        return jdbcTemplate.query(FIND_EXISTING_EMAILS_SQL,
+                (rs, rowNum) -> new StagedEmail(rs.getInt("row_num"), rs.getString("email"), 0),
+                importId);
+    }
+
+    /**
+     * Staged rows whose email belongs to a soft-deleted user, which the unique index still holds.
+     */
+    public List<StagedEmail> findDeletedUserEmails(String importId) {
+        return jdbcTemplate.query(FIND_DELETED_USER_EMAILS_SQL,
+                (rs, rowNum) -> new StagedEmail(rs.getInt("row_num"), rs.getString("email"), 0),
+                importId);
+    }
+
+    /**
+     * Staged skills whose name belongs only to a soft-deleted skill, which the unique index still holds.
+     */
+    public List<StagedSkillName> findDeletedSkillNames(String importId) {
+        return jdbcTemplate.query(FIND_DELETED_SKILL_NAMES_SQL,
+                (rs, rowNum) -> new StagedSkillName(rs.getInt("row_num"), rs.getString("skill_name")),
+                importId);
+    }
+
+    /**
+     * Staged rows whose email is already used by an earlier row of the file, with that row.
+     */
+    public List<StagedEmail> findDuplicateEmails(String importId) {
+        return jdbcTemplate.query(FIND_DUPLICATE_EMAILS_SQL,
+                (rs, rowNum) -> new StagedEmail(rs.getInt("row_num"), rs.getString("email"), rs.getInt("first_row")),
+                importId, importId);
+    }
+
+    /**
+     * Creates the skills referenced by staged rows that are not in the catalogue yet.
+     *
+     * @return number of skills created
+     */
+    public int insertMissingSkills(String importId, LocalDateTime now) {
+        return jdbcTemplate.update(INSERT_MISSING_SKILLS_SQL, Timestamp.valueOf(now), Timestamp.valueOf(now), importId);
+    }
+
+    public void resolveSkillIds(String importId) {
+        jdbcTemplate.update(RESOLVE_SKILL_IDS_SQL, importId);
+    }
+
+    public List<Integer> findStagedRowNumbers(String importId) {
+        return jdbcTemplate.queryForList(FIND_STAGED_ROWS_SQL, Integer.class, importId);
+    }
+
+    /**
+     * @param hashes password hash by staged row number
+     */
+    public void updatePasswordHashes(String importId, Map<Integer, String> hashes, int batchSize) {
+        jdbcTemplate.batchUpdate(UPDATE_PASSWORD_HASH_SQL, List.copyOf(hashes.entrySet()), batchSize, (ps, entry) -> {
+            ps.setString(1, entry.getValue());
+            ps.setString(2, importId);
+            ps.setInt(3, entry.getKey());
+        });
+    }
+
+    /**
+     * @return number of users inserted
+     */
+    public int mergeUsers(String importId, LocalDateTime now) {
+        return jdbcTemplate.update(MERGE_USERS_SQL, Timestamp.valueOf(now), Timestamp.valueOf(now), importId);
+    }
+
+    /**
+     * Inserts the staged skills of the merged users; run after {@link #mergeUsers}.
+     *
+     * @return number of user skills inserted
+     */
+    public int mergeUserSkills(String importId, LocalDateTime now) {
+        return jdbcTemplate.update(MERGE_USER_SKILLS_SQL, Timestamp.valueOf(now), Timestamp.valueOf(now), importId);
+    }
+
+    public void deleteStaged(String importId) {
+        jdbcTemplate.update(DELETE_STAGED_SKILLS_SQL, importId);
+        jdbcTemplate.update(DELETE_STAGED_USERS_SQL, importId);
+    }
+
+    private static String multiRowInsert(String insert, String values, int rows) {
+        StringBuilder sql = new StringBuilder(insert.length() + rows * (values.length() + 2));
+        sql.append(insert);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(values);
+        }
+        return sql.toString();
+    }
+}
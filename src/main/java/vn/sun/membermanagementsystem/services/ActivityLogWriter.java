@@ -0,0 +1,31 @@
+package vn.sun.membermanagementsystem.services;
+
+import java.time.LocalDateTime;
+
+public interface ActivityLogWriter {
+
+    /**
+     * An activity captured on the request thread. The user is identified by the email it
+     * authenticated with and resolved to an ID when the entry is written.
+     */
+    record Event(String action, String entityType, Long entityId, String description,
+                 String userEmail, String ipAddress, String userAgent, LocalDateTime createdAt) {
+    }
+
+    /**
+     * What {@link #write} does with an event while the queue is full.
+     */
+    enum OverflowPolicy {
+        /** Wait for the writer to make room, up to the block timeout, then drop the event. */
+        BLOCK,
+        /** Drop the event. */
+        DROP,
+        /** Append the event to a spill file, which is written to the database once the queue drains. */
+        SPILL
+    }
+
+    /**
+     * Queues the event to be written in a later batch. Returns without touching the database.
+     */
+    void write(Event event);
+}
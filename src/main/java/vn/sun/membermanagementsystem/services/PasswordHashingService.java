@@ -0,0 +1,14 @@
+package vn.sun.membermanagementsystem.services;
+
+import java.util.List;
+
+public interface PasswordHashingService {
+
+    String hash(String rawPassword);
+
+    /**
+     * Hashes the passwords in parallel. The returned hashes are in the same order as
+     * {@code rawPasswords}.
+     */
+    List<String> hashAll(List<String> rawPasswords);
+}
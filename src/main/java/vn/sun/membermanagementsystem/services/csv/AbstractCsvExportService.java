@@ -0,0 +1,154 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streaming export engine.
+ * <p>
+ * Entities are read from a {@link Stream} backed by a JDBC cursor (repository methods hinted with
+ * a fetch size) and written in chunks of {@code csv.export.chunk-size}, so the full table is never
+ * held in memory. Each chunk is mapped to rows by {@link #toRows}, which exporters can override to
+ * load related data for the whole chunk with one query instead of one per entity. After a chunk is
+ * written the persistence context is cleared, which releases its entities and anything loaded for
+ * them; the stream keeps going, since it reads from the open cursor rather than the session.
+ * <p>
+ * With MySQL a positive fetch size only takes effect with {@code useCursorFetch=true} on the
+ * JDBC URL; without it the driver still buffers the whole result set.
+ */
+public abstract class AbstractCsvExportService<T> implements CsvExportService<T> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Value("${csv.export.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(OutputStream outputStream, ExportFormat format) throws IOException {
+        writeEntities(outputStream, format, streamEntities());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(OutputStream outputStream, ExportFormat format, List<String> columns) throws IOException {
+        int[] columnIndexes = columnIndexes(columns);
+        writeEntities(outputStream, format, streamEntities(), columnIndexes);
+    }
+
+    /**
+     * Writes the header and then the given entities chunk by chunk, closing the stream when done.
+     * Exporters with extra options (e.g. filters) call this from their own transactional method.
+     */
+    protected void writeEntities(OutputStream outputStream, ExportFormat format, Stream<T> entities) throws IOException {
+        writeEntities(outputStream, format, entities, null);
+    }
+
+    private void writeEntities(OutputStream outputStream, ExportFormat format, Stream<T> entities,
+                               int[] columns) throws IOException {
+        log.info("Starting export of {} to {}", getEntityName(), format);
+
+        int count = 0;
+        try (entities; ExportRowWriter writer = ExportRowWriter.open(format, outputStream)) {
+            writer.writeRow(select(getExportHeaders(), columns));
+
+            Iterator<T> iterator = entities.iterator();
+            List<T> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    for (String[] row : toRows(chunk)) {
+                        writer.writeRow(select(row, columns));
+                    }
+                    count += chunk.size();
+                    chunk.clear();
+                    if (entityManager != null) {
+                        entityManager.clear();
+                    }
+                }
+            }
+        }
+
+        log.info("Successfully exported {} {} to {}", count, getEntityName(), format);
+    }
+
+    private int[] columnIndexes(List<String> columns) {
+        List<String> headers = Arrays.stream(getExportHeaders()).map(String::toLowerCase).toList();
+        return columns.stream()
+                .mapToInt(column -> {
+                    int index = headers.indexOf(column.toLowerCase());
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Unknown " + getEntityName() + " export column: " + column);
+                    }
+                    return index;
+                })
+                .toArray();
+    }
+
+    private static String[] select(String[] row, int[] columns) {
+        if (columns == null) {
+            return row;
+        }
+        String[] selected = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            selected[i] = row[columns[i]];
+        }
+        return selected;
+    }
+
+    /**
+     * Streams entities a chunk at a time with keyset pagination: each page is queried with
+     * {@code id > :afterId ORDER BY id} from the last id of the previous one. Every page is a short
+     * range query on the primary key, so a selective filter reads only the matching rows and no
+     * cursor stays open between chunks.
+     *
+     * @param pageAfter runs the query for the page after the given id (0 for the first page)
+     */
+    protected Stream<T> keysetStream(BiFunction<Long, Pageable, List<T>> pageAfter, Function<T, Long> idOf) {
+        Pageable page = PageRequest.of(0, chunkSize);
+        return Stream.iterate(pageAfter.apply(0L, page),
+                        entities -> !entities.isEmpty(),
+                        entities -> entities.size() < chunkSize
+                                ? List.of()
+                                : pageAfter.apply(idOf.apply(entities.get(entities.size() - 1)), page))
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Streams the entities to export; called inside the export's read-only transaction.
+     */
+    protected abstract Stream<T> streamEntities();
+
+    protected abstract String[] toRow(T entity);
+
+    /**
+     * Maps a chunk of entities to rows, in order. Override to batch-load what the rows need.
+     */
+    protected List<String[]> toRows(List<T> chunk) {
+        return chunk.stream().map(this::toRow).toList();
+    }
+
+    /**
+     * Plural name used in log messages, e.g. {@code "skills"}.
+     */
+    protected abstract String getEntityName();
+}
@@ -2,21 +2,129 @@ package vn.sun.membermanagementsystem.services.csv;
 
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.apache.commons.io.input.BOMInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
+/**
+ * Streaming CSV import engine.
+ * <p>
+ * Rows are never loaded all at once. The upload is streamed once to collect the keys
+ * the rows reference (see {@link CsvImportContext}), once to validate, and, for imports,
+ * once more to process rows in chunks of {@code csv.import.chunk-size}. Gzip-compressed
+ * uploads ({@code .csv.gz}) are detected from their magic bytes and decompressed on the fly.
+ * Records are read with the parser selected by {@code csv.import.parser}. Excel workbooks
+ * ({@code .xlsx}) are detected the same way and their first sheet is read as rows by
+ * {@link XlsxRowReader}, so importers validate and process them exactly like CSV files.
+ * <p>
+ * Row validation only reads the resolved references, so when a {@code csvValidationPool}
+ * is available rows are validated in parallel, a window of
+ * {@code csv.import.validation.window-size} rows at a time. Outcomes are still applied
+ * in row order, so errors and row numbers are the same as with sequential validation.
+ * <p>
+ * Only the processing pass runs in a transaction. By default it is a single transaction and
+ * any failing chunk rolls the whole import back. In {@link CsvCommitMode#CHUNKED} mode every
+ * chunk commits on its own and records a checkpoint, so a failed import can be resumed by
+ * importing the same file again.
+ * <p>
+ * Importers that implement {@link StagingImporter} can instead run plain imports on the
+ * {@link CsvImportEngine#STAGING staging engine} ({@code csv.import.engine}): the file is read
+ * once, row-local checks run in Java, valid rows are bulk-loaded into staging tables, and
+ * cross-row and reference checks plus the final merge are done in SQL.
+ */
 public abstract class AbstractCsvImportService<T> implements CsvImportService<T> {
 
-    protected static final int MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final int ZIP_MAGIC_1 = 'P';
+    private static final int ZIP_MAGIC_2 = 'K';
+
+    @Value("${csv.import.max-file-size:10MB}")
+    protected DataSize maxFileSize = DataSize.ofMegabytes(10);
+
+    @Value("${csv.import.chunk-size:500}")
+    protected int chunkSize = 500;
+
+    @Value("${csv.import.preview-max-rows:1000}")
+    protected int previewMaxRows = 1000;
+
+    @Value("${csv.import.max-retained-entities:1000}")
+    protected int maxRetainedEntities = 1000;
+
+    @Value("${csv.import.lookup-chunk-size:5000}")
+    protected int lookupChunkSize = 5000;
+
+    @Value("${csv.import.preview.max-cached-errors:10000}")
+    protected int previewMaxCachedErrors = 10000;
+
+    @Value("${csv.import.validation.window-size:2000}")
+    protected int validationWindowSize = 2000;
+
+    @Value("${csv.import.parser:BYTES}")
+    protected CsvParserType parser = CsvParserType.BYTES;
+
+    @Value("${csv.import.commit-mode:ALL_OR_NOTHING}")
+    protected CsvCommitMode commitMode = CsvCommitMode.ALL_OR_NOTHING;
+
+    @Value("${csv.import.engine:ROWS}")
+    protected CsvImportEngine engine = CsvImportEngine.ROWS;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private ForkJoinPool validationPool;
+
+    @Autowired(required = false)
+    public void setValidationPool(@Qualifier("csvValidationPool") ForkJoinPool validationPool) {
+        this.validationPool = validationPool;
+    }
+
+    private CsvImportCheckpointService checkpointService;
+
+    @Autowired(required = false)
+    public void setCheckpointService(CsvImportCheckpointService checkpointService) {
+        this.checkpointService = checkpointService;
+    }
 
     @Override
     public CsvPreviewResult previewCsv(MultipartFile file) {
@@ -31,66 +139,64 @@ public abstract class AbstractCsvImportService<T> implements CsvImportService<T>
             return preview;
         }
 
-        try (CSVReader reader = new CSVReader(
-                new InputStreamReader(new BOMInputStream(file.getInputStream()), StandardCharsets.UTF_8))) {
-
-            List<String[]> allRows = reader.readAll();
+        CsvImportContext context = new CsvImportContext();
 
-            if (allRows.isEmpty()) {
-                preview.setFileError("CSV file is empty");
-                preview.setHasErrors(true);
-                return preview;
-            }
+        try {
+            // Pass 1: headers and keys referenced by the rows
+            try (CsvRowReader reader = openReader(file)) {
+                String[] headers = reader.readNext();
+                if (headers == null) {
+                    preview.setFileError("CSV file is empty");
+                    preview.setHasErrors(true);
+                    return preview;
+                }
+                preview.setHeaders(headers);
 
-            // Get headers
-            String[] headers = allRows.get(0);
-            preview.setHeaders(headers);
+                // Validate headers
+                String headerError = validateHeadersForPreview(headers);
+                if (headerError != null) {
+                    preview.setFileError(headerError);
+                    preview.setHasErrors(true);
+                    return preview;
+                }
 
-            // Validate headers
-            String headerError = validateHeadersForPreview(headers);
-            if (headerError != null) {
-                preview.setFileError(headerError);
-                preview.setHasErrors(true);
-                return preview;
+                forEachRow(reader, (row, rowNumber) -> collectReferences(row, rowNumber, context));
             }
 
-            int validCount = 0;
-            int invalidCount = 0;
-
-            // Process each row for preview (skip header)
-            for (int i = 1; i < allRows.size(); i++) {
-                String[] row = allRows.get(i);
-                int rowNumber = i + 1;
+            resolveReferences(context);
 
-                // Skip empty rows
-                if (isEmptyRow(row)) {
-                    continue;
-                }
+            // Pass 2: validate every row, but only keep the first previewMaxRows for display
+            int[] counts = new int[2]; // valid, invalid
+            try (CsvRowReader reader = openReader(file)) {
+                reader.readNext(); // header, already validated
 
-                CsvPreviewResult.CsvRowPreview rowPreview = CsvPreviewResult.CsvRowPreview.builder()
-                        .rowNumber(rowNumber)
-                        .data(row)
-                        .valid(true)
-                        .errors(new ArrayList<>())
-                        .build();
-
-                // Validate row
-                List<String> errors = validateRowForPreview(row, rowNumber);
-                if (!errors.isEmpty()) {
-                    rowPreview.setValid(false);
-                    rowPreview.setErrors(errors);
-                    invalidCount++;
-                } else {
-                    validCount++;
-                }
+                validateInWindows(reader, 1,
+                        rowData -> validateRowForPreview(rowData.data(), rowData.rowNumber(), context),
+                        (rowData, errors) -> {
+                            int rowNumber = rowData.rowNumber();
+                            if (!errors.isEmpty()) {
+                                counts[1]++;
+                            } else {
+                                counts[0]++;
+                            }
 
-                preview.getRows().add(rowPreview);
+                            if (preview.getRows().size() < previewMaxRows) {
+                                preview.getRows().add(CsvPreviewResult.CsvRowPreview.builder()
+                                        .rowNumber(rowNumber)
+                                        .data(rowData.data())
+                                        .valid(errors.isEmpty())
+                                        .errors(errors.isEmpty() ? new ArrayList<>() : errors)
+                                        .build());
+                            }
+                        });
             }
 
-            preview.setTotalRows(preview.getRows().size());
-            preview.setValidRows(validCount);
-            preview.setInvalidRows(invalidCount);
-            preview.setHasErrors(invalidCount > 0);
+            int totalCount = counts[0] + counts[1];
+            preview.setTotalRows(totalCount);
+            preview.setValidRows(counts[0]);
+            preview.setInvalidRows(counts[1]);
+            preview.setTruncated(totalCount > preview.getRows().size());
+            preview.setHasErrors(counts[1] > 0);
 
         } catch (IOException e) {
             preview.setFileError("Error reading CSV file: " + e.getMessage());
@@ -103,135 +209,875 @@ public abstract class AbstractCsvImportService<T> implements CsvImportService<T>
         return preview;
     }
 
-    protected abstract List<String> validateRowForPreview(String[] data, int rowNumber);
+    protected abstract List<String> validateRowForPreview(String[] data, int rowNumber, CsvImportContext context);
 
+    /**
+     * Validates the whole source once and keeps the outcome, including the resolved
+     * references, so it can be paged with {@link #readRows} and imported with
+     * {@link #importValidated} without another validation pass. Rows already committed by an
+     * earlier failed {@link CsvCommitMode#CHUNKED} import of the same file are skipped, so the
+     * snapshot covers only the rows a resumed import would write.
+     */
     @Override
-    public CsvImportResult<T> importFromCsv(MultipartFile file) {
-        CsvImportResult<T> result = new CsvImportResult<>();
-        result.setImportedEntities(new ArrayList<>());
-        result.setErrors(new ArrayList<>());
+    public CsvValidationSnapshot validate(InputStreamSource source) {
+        CsvValidationSnapshot snapshot = new CsvValidationSnapshot(previewMaxCachedErrors);
+        CsvImportContext context = new CsvImportContext();
+        snapshot.setContext(context);
+
+        try {
+            int startAfterRow = 1; // header
+            if (checkpointService != null) {
+                startAfterRow = checkpointService.findResumeRow(getImporterName(), CsvUploadFiles.fingerprint(source));
+                snapshot.setResumedAfterRow(startAfterRow);
+            }
+
+            try (CsvRowReader reader = openReader(source)) {
+                String[] headers = reader.readNext();
+                if (headers == null) {
+                    snapshot.setFileError("CSV file is empty");
+                    return snapshot;
+                }
+                snapshot.setHeaders(headers);
+
+                String headerError = validateHeadersForPreview(headers);
+                if (headerError != null) {
+                    snapshot.setFileError(headerError);
+                    return snapshot;
+                }
+
+                forEachRow(reader, startAfterRow, (row, rowNumber) -> collectReferences(row, rowNumber, context));
+            }
+
+            resolveReferences(context);
+
+            try (CsvRowReader reader = openReader(source)) {
+                reader.readNext(); // header, already validated
+
+                int totalRecords = validateInWindows(reader, startAfterRow,
+                        rowData -> validateRowForPreview(rowData.data(), rowData.rowNumber(), context),
+                        (rowData, errors) -> snapshot.record(rowData.rowNumber(), errors));
+                snapshot.setTotalRecords(totalRecords);
+            }
+        } catch (IOException e) {
+            snapshot.setFileError("Error reading CSV file: " + e.getMessage());
+        } catch (CsvException e) {
+            snapshot.setFileError("Error parsing CSV: " + e.getMessage());
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Reads {@code limit} non-empty rows starting at the {@code offset}-th one, with their
+     * validation outcome taken from {@code snapshot}. Rows the snapshot skipped as already
+     * committed are not counted.
+     */
+    @Override
+    public List<CsvPreviewResult.CsvRowPreview> readRows(InputStreamSource source, CsvValidationSnapshot snapshot,
+                                                         int offset, int limit) throws IOException, CsvException {
+        List<CsvPreviewResult.CsvRowPreview> rows = new ArrayList<>(Math.max(0, limit));
+        try (CsvRowReader reader = openReader(source)) {
+            reader.readNext(); // header
+
+            int rowNumber = 1;
+            int index = 0;
+            String[] row;
+            while (rows.size() < limit && (row = reader.readNext()) != null) {
+                rowNumber++;
+                if (rowNumber <= snapshot.getResumedAfterRow() || isEmptyRow(row) || index++ < offset) {
+                    continue;
+                }
+
+                boolean valid = snapshot.isRowValid(rowNumber);
+                List<String> errors = new ArrayList<>(snapshot.getRowErrors(rowNumber));
+                if (!valid && errors.isEmpty()) {
+                    errors.add("Row has validation errors");
+                }
+                rows.add(CsvPreviewResult.CsvRowPreview.builder()
+                        .rowNumber(rowNumber)
+                        .data(row)
+                        .valid(valid)
+                        .errors(errors)
+                        .build());
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Imports a source that was already validated by {@link #validate}, using the configured
+     * {@code csv.import.commit-mode}.
+     */
+    @Override
+    public CsvImportResult<T> importValidated(InputStreamSource source, CsvValidationSnapshot snapshot,
+                                              CsvImportProgress progress) {
+        return importValidated(source, snapshot, progress, commitMode);
+    }
+
+    /**
+     * Imports a source that was already validated by {@link #validate}. Only the
+     * processing pass runs; the snapshot must not contain errors. If the snapshot skipped rows
+     * committed by an earlier failed import, only {@link CsvCommitMode#CHUNKED} mode can resume
+     * it, and only from the same checkpoint.
+     */
+    @Override
+    public CsvImportResult<T> importValidated(InputStreamSource source, CsvValidationSnapshot snapshot,
+                                              CsvImportProgress progress, CsvCommitMode mode) {
+        CsvImportResult<T> result = newResult();
+        result.setTotalRows(snapshot.getTotalRecords());
+
+        if (!snapshot.isValid()) {
+            result.addError(0, "File", snapshot.getFileError() != null
+                    ? snapshot.getFileError()
+                    : snapshot.getInvalidRows() + " row(s) failed validation");
+            result.setErrorCount(Math.max(1, snapshot.getInvalidRows()));
+            result.setRolledBack(true);
+            return result;
+        }
 
+        int validatedAfterRow = snapshot.getResumedAfterRow();
+        if (validatedAfterRow > 1 && mode != CsvCommitMode.CHUNKED) {
+            return rejectValidated(result, String.format(
+                    "Rows up to %d were committed by an earlier import of this file; resume it in CHUNKED mode",
+                    validatedAfterRow));
+        }
+
+        try {
+            if (mode == CsvCommitMode.CHUNKED) {
+                String fingerprint = null;
+                int startAfterRow = 1; // header
+                if (checkpointService != null) {
+                    fingerprint = CsvUploadFiles.fingerprint(source);
+                    startAfterRow = checkpointService.findResumeRow(getImporterName(), fingerprint);
+                    if (startAfterRow > 1) {
+                        result.setResumedAfterRow(startAfterRow);
+                    }
+                }
+                // The snapshot's references were resolved for the rows after its own checkpoint
+                if (startAfterRow != validatedAfterRow) {
+                    return rejectValidated(result, String.format(
+                            "The file was imported up to row %d since it was validated; please preview it again",
+                            startAfterRow));
+                }
+                progress.onProcessingStarted(snapshot.getTotalRecords() - (startAfterRow - 1));
+                processInChunkedTransactions(source, startAfterRow, fingerprint, snapshot.getContext(), result,
+                        progress);
+            } else {
+                progress.onProcessingStarted(snapshot.getTotalRecords());
+                processInTransaction(source, snapshot.getContext(), result, progress);
+            }
+        } catch (IOException e) {
+            result.addError(0, "File", "Error reading CSV file: " + e.getMessage());
+        } catch (CsvImportException e) {
+            result.setRolledBack(result.getCommittedRows() == 0);
+        }
+
+        return result;
+    }
+
+    @Override
+    public CsvImportResult<T> importFromCsv(MultipartFile file) {
         // Validate file
-        if (!validateFile(file, result)) {
+        String fileError = validateFileForPreview(file);
+        if (fileError != null) {
+            CsvImportResult<T> result = newResult();
+            result.addError(0, "File", fileError);
             return result;
         }
 
-        try (CSVReader reader = new CSVReader(
-                new InputStreamReader(new BOMInputStream(file.getInputStream()), StandardCharsets.UTF_8))) {
+        return importFromCsv(file, CsvImportProgress.NONE);
+    }
 
-            List<String[]> allRows = reader.readAll();
+    /**
+     * Imports from an already validated source, e.g. an upload spooled to disk by a
+     * background job, using the configured {@code csv.import.commit-mode}.
+     */
+    @Override
+    public CsvImportResult<T> importFromCsv(InputStreamSource source, CsvImportProgress progress) {
+        return importFromCsv(source, progress, commitMode);
+    }
 
-            if (allRows.isEmpty()) {
-                result.addError(0, "File", "CSV file is empty");
+    /**
+     * In {@link CsvCommitMode#CHUNKED} mode, rows already committed by an earlier failed
+     * import of the same file are skipped by every pass.
+     */
+    @Override
+    public CsvImportResult<T> importFromCsv(InputStreamSource source, CsvImportProgress progress,
+                                           CsvCommitMode mode) {
+        return importFromCsv(source, progress, mode, null);
+    }
+
+    /**
+     * Staged imports resolve references in SQL, so they neither use nor add to
+     * {@code sharedReferences}.
+     */
+    @Override
+    public CsvImportResult<T> importFromCsv(InputStreamSource source, CsvImportProgress progress,
+                                           CsvCommitMode mode, CsvImportContext sharedReferences) {
+        CsvCommitMode effectiveMode = mode != null ? mode : commitMode;
+        // Staged imports merge in one statement per table, so they cannot commit in chunks
+        if (engine == CsvImportEngine.STAGING && effectiveMode != CsvCommitMode.CHUNKED
+                && this instanceof StagingImporter staging) {
+            return runStagedImport(source, progress, staging);
+        }
+        return runImport(source, progress, effectiveMode, new CsvImportContext(sharedReferences));
+    }
+
+    /**
+     * Whether {@link #syncFromCsv} is supported, i.e. the importer handles
+     * {@link CsvImportContext#isUpsert()} in validation and processing.
+     */
+    @Override
+    public boolean supportsSync() {
+        return false;
+    }
+
+    /**
+     * Imports the file as a sync with the existing records: new keys are created, changed
+     * records updated and unchanged ones left alone. Syncing a file identical to the last
+     * successfully synced one is a no-op.
+     */
+    @Override
+    public CsvImportResult<T> syncFromCsv(InputStreamSource source, CsvImportProgress progress) {
+        return syncFromCsv(source, progress, null);
+    }
+
+    @Override
+    public CsvImportResult<T> syncFromCsv(InputStreamSource source, CsvImportProgress progress,
+                                          CsvImportContext sharedReferences) {
+        if (!supportsSync()) {
+            CsvImportResult<T> result = newResult();
+            result.addError(0, "File", "Sync is not supported for this import");
+            return result;
+        }
+
+        String syncImporter = getImporterName() + ":sync";
+        String fingerprint = null;
+        if (checkpointService != null) {
+            try {
+                fingerprint = CsvUploadFiles.fingerprint(source);
+            } catch (IOException e) {
+                CsvImportResult<T> result = newResult();
+                result.addError(0, "File", "Error reading CSV file: " + e.getMessage());
                 return result;
             }
-
-            // Validate headers
-            String[] headers = allRows.get(0);
-            if (!validateHeaders(headers, result)) {
+            if (checkpointService.isCompleted(syncImporter, fingerprint)) {
+                CsvImportResult<T> result = newResult();
+                result.setFileUnchanged(true);
                 return result;
             }
+        }
 
-            // Collect valid rows (excluding header and empty rows)
-            List<RowData> validRows = new ArrayList<>();
-            
-            for (int i = 1; i < allRows.size(); i++) {
-                String[] row = allRows.get(i);
-                int rowNumber = i + 1;
+        CsvImportContext context = new CsvImportContext(sharedReferences);
+        context.setUpsert(true);
+        CsvImportResult<T> result = runImport(source, progress, commitMode, context);
 
-                // Skip empty rows
-                if (isEmptyRow(row)) {
-                    continue;
-                }
+        if (fingerprint != null && !result.hasErrors()) {
+            Long checkpointId = checkpointService.start(syncImporter, fingerprint, filenameOf(source)).getId();
+            checkpointService.complete(checkpointId);
+        }
+        return result;
+    }
 
-                // Validate row data
-                if (!validateRow(row, rowNumber, result)) {
-                    result.setErrorCount(result.getErrorCount() + 1);
-                } else {
-                    validRows.add(new RowData(rowNumber, row));
+    private CsvImportResult<T> runImport(InputStreamSource source, CsvImportProgress progress,
+                                         CsvCommitMode mode, CsvImportContext context) {
+        CsvImportResult<T> result = newResult();
+        boolean chunked = mode == CsvCommitMode.CHUNKED;
+
+        try {
+            String fingerprint = null;
+            int startAfterRow = 1; // header
+            if (chunked && checkpointService != null) {
+                fingerprint = CsvUploadFiles.fingerprint(source);
+                startAfterRow = checkpointService.findResumeRow(getImporterName(), fingerprint);
+                if (startAfterRow > 1) {
+                    result.setResumedAfterRow(startAfterRow);
                 }
             }
 
-            result.setTotalRows(allRows.size() - 1); // Exclude header
+            // Pass 1: headers and keys referenced by the rows
+            if (!collectAllReferences(source, startAfterRow, context, result)) {
+                return result;
+            }
+
+            resolveReferences(context);
+
+            // Pass 2: validate every row against the resolved references
+            progress.onValidationStarted();
+            validateAllRows(source, startAfterRow, context, result, progress);
 
             if (result.getErrorCount() > 0) {
                 result.setRolledBack(true);
                 return result;
             }
 
-            processAllRows(validRows, result);
+            // Pass 3: re-read the file and process valid rows chunk by chunk
+            progress.onProcessingStarted(result.getTotalRows() - (startAfterRow - 1));
+            if (chunked) {
+                processInChunkedTransactions(source, startAfterRow, fingerprint, context, result, progress);
+            } else {
+                processInTransaction(source, context, result, progress);
+            }
 
         } catch (IOException e) {
             result.addError(0, "File", "Error reading CSV file: " + e.getMessage());
         } catch (CsvException e) {
             result.addError(0, "File", "Error parsing CSV: " + e.getMessage());
         } catch (CsvImportException e) {
+            result.setRolledBack(result.getCommittedRows() == 0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the file once: rows are validated with an empty {@link CsvImportContext}, so only
+     * row-local checks apply, and valid rows are staged {@code chunk-size} at a time. Then
+     * {@link StagingImporter#validateStaged} runs the set-based checks and, if the file has no
+     * errors at all, {@link StagingImporter#mergeStaged} writes it in one transaction. Staged rows
+     * are always discarded.
+     * <p>
+     * Imported entities are not materialized, so {@link CsvImportResult#getImportedEntities()}
+     * stays empty.
+     */
+    private CsvImportResult<T> runStagedImport(InputStreamSource source, CsvImportProgress progress,
+                                               StagingImporter staging) {
+        CsvImportResult<T> result = newResult();
+        String importId = UUID.randomUUID().toString();
+
+        try {
+            try (CsvRowReader reader = openReader(source)) {
+                String[] headers = reader.readNext();
+                if (headers == null) {
+                    result.addError(0, "File", "CSV file is empty");
+                    return result;
+                }
+                if (!validateHeaders(headers, result)) {
+                    return result;
+                }
+
+                progress.onValidationStarted();
+                CsvImportContext rowLocal = new CsvImportContext();
+                int size = Math.max(1, chunkSize);
+                List<RowData> staged = new ArrayList<>(size);
+
+                int totalRows = validateInWindows(reader, 1, rowData -> {
+                    CsvImportResult<T> rowResult = newResult();
+                    boolean valid = validateRow(rowData.data(), rowData.rowNumber(), rowResult, rowLocal);
+                    return new RowValidation(valid, rowResult.getErrors());
+                }, (rowData, validation) -> {
+                    result.getErrors().addAll(validation.errors());
+                    if (!validation.valid()) {
+                        result.setErrorCount(result.getErrorCount() + 1);
+                    } else {
+                        staged.add(rowData);
+                        if (staged.size() >= size) {
+                            staging.stageRows(importId, staged);
+                            staged.clear();
+                        }
+                    }
+                    progress.onRowValidated(validation.valid());
+                });
+                if (!staged.isEmpty()) {
+                    staging.stageRows(importId, staged);
+                }
+                result.setTotalRows(totalRows);
+            }
+
+            int localErrors = result.getErrors().size();
+            staging.validateStaged(importId, result);
+            result.setErrorCount(result.getErrorCount() + (int) result.getErrors()
+                    .subList(localErrors, result.getErrors().size()).stream()
+                    .mapToInt(CsvImportResult.CsvImportError::getRow)
+                    .distinct()
+                    .count());
+            if (result.getErrorCount() > 0) {
+                result.getErrors().sort(Comparator.comparingInt(CsvImportResult.CsvImportError::getRow));
+                result.setRolledBack(true);
+                return result;
+            }
+
+            progress.onProcessingStarted(result.getTotalRows());
+            int[] merged = {0};
+            inTransaction(() -> merged[0] = staging.mergeStaged(importId));
+            result.setSuccessCount(merged[0]);
+            result.setCommittedRows(merged[0]);
+            progress.onRowsProcessed(merged[0]);
+
+        } catch (IOException e) {
+            result.addError(0, "File", "Error reading CSV file: " + e.getMessage());
+        } catch (CsvException e) {
+            result.addError(0, "File", "Error parsing CSV: " + e.getMessage());
+        } catch (RuntimeException e) {
+            result.addError(0, "Processing", e.getMessage());
+            result.setErrorCount(result.getErrorCount() + 1);
             result.setRolledBack(true);
+        } finally {
+            staging.discardStaged(importId);
         }
 
         return result;
     }
 
-    protected void processAllRows(List<RowData> validRows, CsvImportResult<T> result) {
-        for (RowData rowData : validRows) {
+    /**
+     * Validates a single row on its own; references are resolved for this row only.
+     */
+    @Override
+    public boolean validateRow(String[] data, int rowNumber, CsvImportResult<T> result) {
+        CsvImportContext context = new CsvImportContext();
+        collectReferences(data, rowNumber, context);
+        resolveReferences(context);
+        return validateRow(data, rowNumber, result, context);
+    }
+
+    protected abstract boolean validateRow(String[] data, int rowNumber, CsvImportResult<T> result,
+                                           CsvImportContext context);
+
+    /**
+     * Registers the keys of a row that need a database lookup. Called for every
+     * non-empty row before any row is validated.
+     */
+    protected void collectReferences(String[] data, int rowNumber, CsvImportContext context) {
+    }
+
+    /**
+     * Resolves the keys registered by {@link #collectReferences} with set-based queries.
+     */
+    protected void resolveReferences(CsvImportContext context) {
+    }
+
+    /**
+     * Called once after every row passed validation, in the same transaction as the first
+     * chunk, e.g. to create missing reference data in bulk.
+     */
+    protected void beforeProcessing(CsvImportContext context) {
+    }
+
+    /**
+     * Runs {@code query} over {@code keys} in slices of {@code csv.import.lookup-chunk-size}
+     * so large key sets become a handful of {@code IN} queries.
+     */
+    protected <K, R> List<R> queryInChunks(Collection<K> keys, Function<List<K>, List<R>> query) {
+        List<R> results = new ArrayList<>();
+        List<K> keyList = new ArrayList<>(keys);
+        int size = Math.max(1, lookupChunkSize);
+        for (int from = 0; from < keyList.size(); from += size) {
+            results.addAll(query.apply(keyList.subList(from, Math.min(from + size, keyList.size()))));
+        }
+        return results;
+    }
+
+    /**
+     * Name under which chunked-commit checkpoints of this importer are stored.
+     */
+    protected String getImporterName() {
+        return getClass().getSimpleName();
+    }
+
+    private boolean collectAllReferences(InputStreamSource source, int startAfterRow, CsvImportContext context,
+                                         CsvImportResult<T> result) throws IOException, CsvException {
+        try (CsvRowReader reader = openReader(source)) {
+            String[] headers = reader.readNext();
+            if (headers == null) {
+                result.addError(0, "File", "CSV file is empty");
+                return false;
+            }
+
+            // Validate headers
+            if (!validateHeaders(headers, result)) {
+                return false;
+            }
+
+            forEachRow(reader, startAfterRow, (row, rowNumber) -> collectReferences(row, rowNumber, context));
+            return true;
+        }
+    }
+
+    private CsvImportResult<T> newResult() {
+        CsvImportResult<T> result = new CsvImportResult<>();
+        result.setImportedEntities(new ArrayList<>());
+        result.setErrors(new ArrayList<>());
+        return result;
+    }
+
+    private CsvImportResult<T> rejectValidated(CsvImportResult<T> result, String message) {
+        result.addError(0, "File", message);
+        result.setErrorCount(1);
+        result.setRolledBack(true);
+        return result;
+    }
+
+    private void validateAllRows(InputStreamSource source, int startAfterRow, CsvImportContext context,
+                                 CsvImportResult<T> result, CsvImportProgress progress)
+            throws IOException, CsvException {
+        try (CsvRowReader reader = openReader(source)) {
+            reader.readNext(); // header, already validated
+
+            // Each row reports into its own result so rows can be validated concurrently
+            int totalRows = validateInWindows(reader, startAfterRow, rowData -> {
+                CsvImportResult<T> rowResult = newResult();
+                boolean valid = validateRow(rowData.data(), rowData.rowNumber(), rowResult, context);
+                return new RowValidation(valid, rowResult.getErrors());
+            }, (rowData, validation) -> {
+                result.getErrors().addAll(validation.errors());
+                if (!validation.valid()) {
+                    result.setErrorCount(result.getErrorCount() + 1);
+                }
+                progress.onRowValidated(validation.valid());
+            });
+
+            result.setTotalRows(totalRows); // Exclude header
+        }
+    }
+
+    private record RowValidation(boolean valid, List<CsvImportResult.CsvImportError> errors) {
+    }
+
+    /**
+     * Streams the remaining rows in windows, validates each window (in parallel when a
+     * validation pool is set) and hands the outcomes to {@code sink} in row order.
+     *
+     * @return number of records read, including empty rows
+     */
+    private <R> int validateInWindows(CsvRowReader reader, int startAfterRow, Function<RowData, R> validator,
+                                      BiConsumer<RowData, R> sink) throws IOException, CsvException {
+        int size = Math.max(1, validationWindowSize);
+        List<RowData> window = new ArrayList<>(size);
+
+        int totalRows = forEachRow(reader, startAfterRow, (row, rowNumber) -> {
+            window.add(new RowData(rowNumber, row));
+            if (window.size() >= size) {
+                validateWindow(window, validator, sink);
+                window.clear();
+            }
+        });
+
+        if (!window.isEmpty()) {
+            validateWindow(window, validator, sink);
+        }
+        return totalRows;
+    }
+
+    private <R> void validateWindow(List<RowData> window, Function<RowData, R> validator,
+                                    BiConsumer<RowData, R> sink) {
+        List<R> outcomes;
+        if (validationPool == null || window.size() < 2) {
+            outcomes = window.stream().map(validator).toList();
+        } else {
             try {
-                T entity = processRow(rowData.data, rowData.rowNumber, result);
+                outcomes = validationPool.submit(() -> window.parallelStream().map(validator).toList()).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Row validation was interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Row validation failed", e.getCause());
+            }
+        }
+
+        for (int i = 0; i < window.size(); i++) {
+            sink.accept(window.get(i), outcomes.get(i));
+        }
+    }
+
+    /**
+     * Runs the processing pass in one transaction. Any failure is reported as a
+     * {@link CsvImportException}, which rolls the transaction back.
+     */
+    private void processInTransaction(InputStreamSource source, CsvImportContext context,
+                                      CsvImportResult<T> result, CsvImportProgress progress) {
+        inTransaction(() -> processAllRowsOrFail(source, 1, context, result, progress,
+                (chunk, work) -> work.run()));
+        result.setCommittedRows(result.getSuccessCount());
+    }
+
+    /**
+     * Runs the processing pass with one transaction per chunk. Each transaction also advances
+     * the checkpoint, so after a failure the committed chunks stay and the checkpoint points
+     * at the last of them.
+     */
+    private void processInChunkedTransactions(InputStreamSource source, int startAfterRow, String fingerprint,
+                                              CsvImportContext context, CsvImportResult<T> result,
+                                              CsvImportProgress progress) {
+        Long checkpointId = fingerprint != null
+                ? checkpointService.start(getImporterName(), fingerprint, filenameOf(source)).getId()
+                : null;
+        int[] lastCommittedRow = {startAfterRow};
+
+        try {
+            processAllRowsOrFail(source, startAfterRow, context, result, progress, (chunk, work) -> {
+                int lastRow = chunk.get(chunk.size() - 1).rowNumber();
+                int rows = chunk.size();
+                inTransaction(() -> {
+                    work.run();
+                    if (checkpointId != null) {
+                        checkpointService.recordChunk(checkpointId, lastRow, rows);
+                    }
+                });
+                lastCommittedRow[0] = lastRow;
+                result.setCommittedRows(result.getCommittedRows() + rows);
+            });
+        } catch (CsvImportException e) {
+            // Rows of the failed chunk were counted before it rolled back
+            result.setSuccessCount(result.getCommittedRows());
+            if (checkpointId != null) {
+                checkpointService.fail(checkpointId, e.getMessage());
+                if (lastCommittedRow[0] > 1) {
+                    result.addError(0, "Import", String.format(
+                            "Rows up to %d were committed. Import the same file again to resume after row %d.",
+                            lastCommittedRow[0], lastCommittedRow[0]));
+                }
+            }
+            throw e;
+        }
+
+        if (checkpointId != null) {
+            checkpointService.complete(checkpointId);
+        }
+    }
+
+    private void inTransaction(Runnable work) {
+        if (transactionTemplate == null) {
+            work.run();
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+
+    private void processAllRowsOrFail(InputStreamSource source, int startAfterRow, CsvImportContext context,
+                                      CsvImportResult<T> result, CsvImportProgress progress,
+                                      ChunkCommitter committer) {
+        try {
+            processAllRows(source, startAfterRow, context, result, progress, committer);
+        } catch (CsvImportException e) {
+            throw e;
+        } catch (IOException e) {
+            result.addError(0, "File", "Error reading CSV file: " + e.getMessage());
+            throw new CsvImportException(e.getMessage());
+        } catch (CsvException e) {
+            result.addError(0, "File", "Error parsing CSV: " + e.getMessage());
+            throw new CsvImportException(e.getMessage());
+        } catch (RuntimeException e) {
+            result.addError(0, "Processing", e.getMessage());
+            result.setErrorCount(result.getErrorCount() + 1);
+            throw new CsvImportException(e.getMessage());
+        }
+    }
+
+    private void processAllRows(InputStreamSource source, int startAfterRow, CsvImportContext context,
+                                CsvImportResult<T> result, CsvImportProgress progress,
+                                ChunkCommitter committer) throws IOException, CsvException {
+        int size = Math.max(1, chunkSize);
+        List<RowData> chunk = new ArrayList<>(size);
+        boolean[] prepared = {false};
+
+        Runnable flush = () -> {
+            boolean first = !prepared[0];
+            prepared[0] = true;
+            committer.commit(chunk, () -> {
+                if (first) {
+                    beforeProcessing(context);
+                }
+                processChunk(chunk, result, context);
+                afterChunk();
+            });
+            progress.onRowsProcessed(chunk.size());
+            chunk.clear();
+        };
+
+        try (CsvRowReader reader = openReader(source)) {
+            reader.readNext(); // header, already validated
+
+            forEachRow(reader, startAfterRow, (row, rowNumber) -> {
+                chunk.add(new RowData(rowNumber, row));
+                if (chunk.size() >= size) {
+                    flush.run();
+                }
+            });
+        }
+
+        if (!chunk.isEmpty()) {
+            flush.run();
+        }
+    }
+
+    /**
+     * Runs the work of one chunk, either inline in the import-wide transaction or in a
+     * transaction of its own.
+     */
+    @FunctionalInterface
+    private interface ChunkCommitter {
+        void commit(List<RowData> chunk, Runnable work);
+    }
+
+    private static String filenameOf(InputStreamSource source) {
+        if (source instanceof MultipartFile file) {
+            return file.getOriginalFilename();
+        }
+        return source instanceof Resource resource ? resource.getFilename() : null;
+    }
+
+    /**
+     * Streams the remaining records to {@code handler}, skipping empty rows.
+     * Row numbers are 1-based and count the header line.
+     *
+     * @return number of records read, including empty rows
+     */
+    private int forEachRow(CsvRowReader reader, RowHandler handler) throws IOException, CsvException {
+        return forEachRow(reader, 1, handler);
+    }
+
+    /**
+     * Like {@link #forEachRow(CsvRowReader, RowHandler)}, but rows up to and including
+     * {@code startAfterRow} are only counted, e.g. rows committed by an earlier import.
+     */
+    private int forEachRow(CsvRowReader reader, int startAfterRow, RowHandler handler)
+            throws IOException, CsvException {
+        int totalRows = 0;
+        int rowNumber = 1;
+        String[] row;
+        while ((row = reader.readNext()) != null) {
+            rowNumber++;
+            totalRows++;
+
+            // Skip empty rows
+            if (rowNumber <= startAfterRow || isEmptyRow(row)) {
+                continue;
+            }
+            handler.handle(row, rowNumber);
+        }
+        return totalRows;
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(String[] row, int rowNumber);
+    }
+
+    protected void processChunk(List<RowData> rows, CsvImportResult<T> result, CsvImportContext context) {
+        for (RowData rowData : rows) {
+            try {
+                T entity = processRow(rowData.data(), rowData.rowNumber(), result, context);
                 if (entity != null) {
-                    result.getImportedEntities().add(entity);
-                    result.setSuccessCount(result.getSuccessCount() + 1);
+                    addImportedEntity(result, entity);
                 } else {
                     result.setErrorCount(result.getErrorCount() + 1);
-                    throw new CsvImportException("Import failed at row " + rowData.rowNumber);
+                    throw new CsvImportException("Import failed at row " + rowData.rowNumber());
                 }
             } catch (CsvImportException e) {
                 throw e;
             } catch (Exception e) {
-                result.addError(rowData.rowNumber, "Processing", e.getMessage());
+                result.addError(rowData.rowNumber(), "Processing", e.getMessage());
                 result.setErrorCount(result.getErrorCount() + 1);
-                throw new CsvImportException("Import failed at row " + rowData.rowNumber + ": " + e.getMessage());
+                throw new CsvImportException("Import failed at row " + rowData.rowNumber() + ": " + e.getMessage());
             }
         }
     }
 
-    protected static class RowData {
-        final int rowNumber;
-        final String[] data;
-
-        RowData(int rowNumber, String[] data) {
-            this.rowNumber = rowNumber;
-            this.data = data;
+    /**
+     * Counts an imported entity; only the first {@code csv.import.max-retained-entities}
+     * are kept in the result so large imports do not accumulate every entity on the heap.
+     */
+    protected void addImportedEntity(CsvImportResult<T> result, T entity) {
+        if (result.getImportedEntities().size() < maxRetainedEntities) {
+            result.getImportedEntities().add(entity);
         }
+        result.setSuccessCount(result.getSuccessCount() + 1);
     }
 
-
-    public static class CsvImportException extends RuntimeException {
-        public CsvImportException(String message) {
-            super(message);
+    /**
+     * Flushes pending inserts and detaches processed entities once a chunk is done,
+     * so the persistence context of a long-running import transaction stays small.
+     */
+    protected void afterChunk() {
+        if (entityManager != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+            entityManager.clear();
         }
     }
 
-    protected abstract T processRow(String[] data, int rowNumber, CsvImportResult<T> result);
-
-    protected boolean validateFile(MultipartFile file, CsvImportResult<T> result) {
-        if (file == null || file.isEmpty()) {
-            result.addError(0, "File", "Please select a CSV file to upload");
-            return false;
+    protected CsvRowReader openReader(InputStreamSource source) throws IOException {
+        // Memory-mapped sources already support mark/reset and need no extra buffer
+        InputStream in = source.getInputStream();
+        if (!in.markSupported()) {
+            in = new BufferedInputStream(in, READ_BUFFER_SIZE);
+        }
+        try {
+            if (isXlsx(in)) {
+                return openXlsxReader(source, in);
+            }
+            if (isGzip(in)) {
+                in = new GZIPInputStream(in, READ_BUFFER_SIZE);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
         }
+        if (parser == CsvParserType.BYTES) {
+            return new ByteCsvRowReader(in, READ_BUFFER_SIZE);
+        }
+        return new OpenCsvRowReader(new CSVReader(new InputStreamReader(
+                BOMInputStream.builder().setInputStream(in).get(), StandardCharsets.UTF_8)));
+    }
 
-        String filename = file.getOriginalFilename();
-        if (filename == null || !filename.toLowerCase().endsWith(".csv")) {
-            result.addError(0, "File", "File must be a CSV file (.csv)");
-            return false;
+    /**
+     * Workbook parts have to be read out of order, so the workbook is opened from a file:
+     * the source's own file if it has one, otherwise a temp copy deleted on close.
+     */
+    private CsvRowReader openXlsxReader(InputStreamSource source, InputStream in) throws IOException {
+        Path file = null;
+        if (source instanceof MappedFileResource mapped) {
+            file = mapped.getPath();
+        } else if (source instanceof Resource resource && resource.isFile()) {
+            file = resource.getFile().toPath();
+        }
+        if (file != null) {
+            in.close();
+            return new XlsxRowReader(file, null);
         }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            result.addError(0, "File", "File size exceeds maximum limit of 10MB");
-            return false;
+        Path spooled = Files.createTempFile("csv-import-", ".xlsx");
+        try (InputStream workbook = in) {
+            Files.copy(workbook, spooled, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            CsvUploadFiles.deleteQuietly(spooled);
+            throw e;
         }
+        return new XlsxRowReader(spooled, () -> CsvUploadFiles.deleteQuietly(spooled));
+    }
 
-        return true;
+    // XLSX workbooks are ZIP archives
+    private boolean isXlsx(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == ZIP_MAGIC_1 && second == ZIP_MAGIC_2;
+    }
+
+    private boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == GZIP_MAGIC_1 && second == GZIP_MAGIC_2;
+    }
+
+    public record RowData(int rowNumber, String[] data) {
+    }
+
+
+    public static class CsvImportException extends RuntimeException {
+        public CsvImportException(String message) {
+            super(message);
+        }
     }
 
+    protected abstract T processRow(String[] data, int rowNumber, CsvImportResult<T> result,
+                                    CsvImportContext context);
+
     protected boolean validateHeaders(String[] headers, CsvImportResult<T> result) {
         String[] expectedHeaders = getExpectedHeaders();
 
@@ -282,23 +1128,29 @@ public abstract class AbstractCsvImportService<T> implements CsvImportService<T>
         return !isBlank(value);
     }
 
-    protected String validateFileForPreview(MultipartFile file) {
+    @Override
+    public String validateFileForPreview(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             return "Please select a CSV file to upload";
         }
 
         String filename = file.getOriginalFilename();
-        if (filename == null || !filename.toLowerCase().endsWith(".csv")) {
-            return "File must be a CSV file (.csv)";
+        if (filename == null || !isCsvFilename(filename)) {
+            return "File must be a CSV file (.csv or .csv.gz) or an Excel workbook (.xlsx)";
         }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            return "File size exceeds maximum limit of 10MB";
+        if (file.getSize() > maxFileSize.toBytes()) {
+            return "File size exceeds maximum limit of " + maxFileSize.toMegabytes() + "MB";
         }
 
         return null;
     }
 
+    protected boolean isCsvFilename(String filename) {
+        String lower = filename.toLowerCase();
+        return lower.endsWith(".csv") || lower.endsWith(".csv.gz") || lower.endsWith(".xlsx");
+    }
+
     protected String validateHeadersForPreview(String[] headers) {
         String[] expectedHeaders = getExpectedHeaders();
 
@@ -318,4 +1170,4 @@ public abstract class AbstractCsvImportService<T> implements CsvImportService<T>
 
         return null;
     }
-}
\ No newline at end of file
+}
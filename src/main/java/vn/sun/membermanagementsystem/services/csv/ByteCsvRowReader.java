@@ -0,0 +1,181 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import com.opencsv.exceptions.CsvMalformedLineException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * RFC 4180 CSV reader that works on the raw UTF-8 bytes.
+ * <p>
+ * Instead of decoding the whole stream through a {@code Reader} and building every cell
+ * from a char buffer, records are scanned byte by byte into one reusable buffer and each
+ * field is decoded exactly once, straight from those bytes, when the record is complete.
+ * Fields may be quoted; a doubled quote inside a quoted field is a literal quote and quoted
+ * fields may span lines. Records end with LF or CRLF, and a leading UTF-8 BOM is skipped.
+ * <p>
+ * Not thread-safe; one reader per pass.
+ */
+final class ByteCsvRowReader implements CsvRowReader {
+
+    private static final int SEPARATOR = ',';
+    private static final int QUOTE = '"';
+    private static final int CR = '\r';
+    private static final int LF = '\n';
+    private static final int EOF = -1;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean started;
+
+    // Bytes of the current record; field i spans fieldEnds[i - 1] (or 0) to fieldEnds[i]
+    private byte[] record = new byte[1024];
+    private int recordLength;
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+
+    private long lineNumber = 1;
+
+    ByteCsvRowReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public String[] readNext() throws IOException {
+        if (!started) {
+            started = true;
+            skipBom();
+        }
+        if (peek() == EOF) {
+            return null;
+        }
+
+        recordLength = 0;
+        fieldCount = 0;
+        long recordLine = lineNumber;
+
+        while (true) {
+            int terminator = peek() == QUOTE ? readQuotedField(recordLine) : readUnquotedField();
+            endField();
+
+            if (terminator == SEPARATOR) {
+                continue;
+            }
+            if (terminator == CR && peek() == LF) {
+                read();
+            }
+            if (terminator != EOF) {
+                lineNumber++;
+            }
+            break;
+        }
+
+        String[] row = new String[fieldCount];
+        int start = 0;
+        for (int i = 0; i < fieldCount; i++) {
+            int end = fieldEnds[i];
+            row[i] = start == end ? "" : new String(record, start, end - start, StandardCharsets.UTF_8);
+            start = end;
+        }
+        return row;
+    }
+
+    /**
+     * @return the byte that ended the field: separator, CR, LF or EOF
+     */
+    private int readUnquotedField() throws IOException {
+        while (true) {
+            int b = read();
+            if (b == SEPARATOR || b == CR || b == LF || b == EOF) {
+                return b;
+            }
+            append(b);
+        }
+    }
+
+    private int readQuotedField(long recordLine) throws IOException {
+        read(); // opening quote
+        while (true) {
+            int b = read();
+            if (b == EOF) {
+                throw new CsvMalformedLineException("Unterminated quoted field", recordLine,
+                        new String(record, 0, recordLength, StandardCharsets.UTF_8));
+            }
+            if (b == QUOTE) {
+                if (peek() != QUOTE) {
+                    break;
+                }
+                read();
+            } else if (b == LF) {
+                lineNumber++;
+            }
+            append(b);
+        }
+
+        // Be lenient about text between the closing quote and the separator, like OpenCSV
+        return readUnquotedField();
+    }
+
+    private void append(int b) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = (byte) b;
+    }
+
+    private void endField() {
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldEnds.length * 2);
+        }
+        fieldEnds[fieldCount++] = recordLength;
+    }
+
+    private void skipBom() throws IOException {
+        if (fill() && limit - position >= 3
+                && (buffer[position] & 0xff) == 0xef
+                && (buffer[position + 1] & 0xff) == 0xbb
+                && (buffer[position + 2] & 0xff) == 0xbf) {
+            position += 3;
+        }
+    }
+
+    private int peek() throws IOException {
+        return position < limit || fill() ? buffer[position] & 0xff : EOF;
+    }
+
+    private int read() throws IOException {
+        return position < limit || fill() ? buffer[position++] & 0xff : EOF;
+    }
+
+    /**
+     * Refills the buffer, keeping unread bytes; for the BOM check it reads until at
+     * least three bytes are available or the input ends.
+     */
+    private boolean fill() throws IOException {
+        int remaining = limit - position;
+        if (remaining > 0 && position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+
+        while (limit < 3) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read == -1) {
+                break;
+            }
+            limit += read;
+        }
+        return limit > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
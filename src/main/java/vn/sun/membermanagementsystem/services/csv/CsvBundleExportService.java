@@ -0,0 +1,166 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports every entity type into one ZIP archive, e.g. as a full backup.
+ * <p>
+ * The exports run concurrently, each on its own thread and therefore in its own read-only
+ * transaction and connection; at most {@code csv.export.bundle.max-concurrent} run at once across
+ * all bundles, so a backup cannot drain the connection pool. ZIP entries have to be written one
+ * after another, so each part is rendered to a temp file and copied into the archive as soon as
+ * it completes, in completion order. The archive holds one {@code <entityType>.csv} (or
+ * {@code .xlsx}) per type, named as {@link CsvBundleImportService} expects. Types that can be
+ * imported are written with just the importer's columns, in its order, so the archive can be
+ * restored as it is; the rest (memberships) keep the full export layout.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvBundleExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final CsvExportJobService csvExportJobService;
+    private final CsvImportJobService csvImportJobService;
+
+    @Value("${csv.export.bundle.max-concurrent:3}")
+    private int maxConcurrent = 3;
+
+    private ExecutorService executor;
+    private Semaphore permits;
+
+    private record Part(String entityType, Path file) {
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("csv-bundle-export-", 0).factory());
+        permits = new Semaphore(Math.max(1, maxConcurrent), true);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes the archive to {@code outputStream}. If a part fails, parts that have not started yet
+     * are skipped and the exception is rethrown; the archive written so far is then incomplete.
+     */
+    public void export(OutputStream outputStream, ExportFormat format) throws IOException {
+        List<String> entityTypes = List.copyOf(csvExportJobService.getEntityTypes());
+        log.info("Starting bundle export of {} as {}", entityTypes, format);
+
+        Path workDirectory = Files.createTempDirectory("csv-bundle-export-");
+        SecurityContext securityContext = currentSecurityContext();
+        CountDownLatch finished = new CountDownLatch(entityTypes.size());
+        AtomicBoolean aborted = new AtomicBoolean();
+        CompletionService<Part> completion = new ExecutorCompletionService<>(executor);
+        try {
+            for (String entityType : entityTypes) {
+                completion.submit(new DelegatingSecurityContextCallable<>(() -> {
+                    try {
+                        return render(entityType, format, workDirectory, aborted);
+                    } finally {
+                        finished.countDown();
+                    }
+                }, securityContext));
+            }
+
+            ZipOutputStream zip = new ZipOutputStream(outputStream);
+            for (int i = 0; i < entityTypes.size(); i++) {
+                Part part = completion.take().get();
+                zip.putNextEntry(new ZipEntry(part.entityType() + format.getExtension()));
+                Files.copy(part.file(), zip);
+                zip.closeEntry();
+                CsvUploadFiles.deleteQuietly(part.file());
+                log.debug("Added {} to bundle export", part.entityType());
+            }
+            zip.finish();
+            zip.flush();
+            log.info("Finished bundle export of {} part(s)", entityTypes.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bundle export interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException io ? io : new IOException("Bundle export failed: " + cause.getMessage(), cause);
+        } finally {
+            aborted.set(true);
+            executor.execute(() -> cleanUp(workDirectory, finished));
+        }
+    }
+
+    private Part render(String entityType, ExportFormat format, Path workDirectory,
+                        AtomicBoolean aborted) throws Exception {
+        permits.acquire();
+        try {
+            if (aborted.get()) {
+                throw new IOException("Bundle export aborted");
+            }
+            Path file = Files.createTempFile(workDirectory, entityType + "-", format.getExtension());
+            CsvExportService<?> exportService = csvExportJobService.getExportService(entityType);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), WRITE_BUFFER_SIZE)) {
+                if (csvImportJobService.getEntityTypes().contains(entityType)) {
+                    List<String> columns = List.of(csvImportJobService.getImportService(entityType).getExpectedHeaders());
+                    exportService.export(out, format, columns);
+                } else {
+                    exportService.export(out, format);
+                }
+            }
+            return new Part(entityType, file);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Parts already running when the bundle fails still write into the directory, so it is removed once they stop
+    private void cleanUp(Path workDirectory, CountDownLatch finished) {
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (Stream<Path> files = Files.list(workDirectory)) {
+            files.forEach(CsvUploadFiles::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not list bundle export directory {}", workDirectory, e);
+        }
+        CsvUploadFiles.deleteQuietly(workDirectory);
+    }
+
+    private SecurityContext currentSecurityContext() {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        return securityContext;
+    }
+}
@@ -0,0 +1,343 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import vn.sun.membermanagementsystem.dto.response.CsvImportBundleDTO;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+import vn.sun.membermanagementsystem.exception.BadRequestException;
+import vn.sun.membermanagementsystem.exception.BaseException;
+import vn.sun.membermanagementsystem.exception.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Restores several entity types from one ZIP archive, e.g. to seed a new environment.
+ * <p>
+ * The archive holds one {@code <entityType>.csv} (or {@code .csv.gz}, {@code .xlsx}) per entity
+ * type, in any folder. Files are imported as regular {@link CsvImportJobService import jobs},
+ * stage by stage in dependency order: skills and positions run concurrently, then users (whose
+ * skills must exist), then teams, then projects. A stage starts once every job of the previous
+ * one has completed; if one fails, the later stages are skipped. Each importer resolves its
+ * references with set-based lookups, so later stages see the rows written by earlier ones.
+ * The stages of a bundle share one set of references: users imported or found by the users
+ * stage are not looked up again by the team and project stages.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvBundleImportService {
+
+    static final List<List<String>> STAGES = List.of(
+            List.of("skills", "positions"),
+            List.of("users"),
+            List.of("teams"),
+            List.of("projects"));
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private static final List<String> EXTENSIONS = List.of(".csv.gz", ".csv", ".xlsx");
+    // Written by CsvBundleExportService for reference but not imported
+    private static final Set<String> EXPORT_ONLY = Set.of("memberships");
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final CsvImportJobService csvImportJobService;
+
+    @Value("${csv.import.max-file-size:10MB}")
+    private DataSize maxEntrySize = DataSize.ofMegabytes(10);
+
+    @Value("${csv.import.jobs.retention:1h}")
+    private Duration retention = Duration.ofHours(1);
+
+    private final Map<String, Bundle> bundles = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("csv-bundle-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Extracts the archive and starts restoring it in the background.
+     *
+     * @param commitMode commit mode of every job, {@code null} for the configured one
+     * @param sync       sync the entity types that support it instead of importing them
+     * @return the running bundle; poll {@link #getBundle} for progress
+     */
+    public CsvImportBundleDTO submit(MultipartFile archive, CsvCommitMode commitMode, boolean sync) {
+        String filename = archive.getOriginalFilename();
+        if (archive.isEmpty()) {
+            throw new BadRequestException("File is empty");
+        }
+        if (filename == null || !filename.toLowerCase().endsWith(".zip")) {
+            throw new BadRequestException("File must be a ZIP archive");
+        }
+
+        evictExpiredBundles();
+
+        String bundleId = UUID.randomUUID().toString();
+        Map<String, Path> files = extract(archive, bundleId);
+        Bundle bundle = new Bundle(bundleId, filename, files, commitMode, sync);
+        bundles.put(bundleId, bundle);
+
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        executor.execute(new DelegatingSecurityContextRunnable(() -> run(bundle), securityContext));
+
+        log.info("Started import bundle {} from {} with {}", bundleId, filename, files.keySet());
+        return bundle.toDTO();
+    }
+
+    public CsvImportBundleDTO getBundle(String bundleId) {
+        Bundle bundle = bundles.get(bundleId);
+        if (bundle == null) {
+            throw new ResourceNotFoundException("Import bundle not found: " + bundleId);
+        }
+        return bundle.toDTO();
+    }
+
+    /**
+     * Copies each {@code <entityType>.csv} entry to a temp file. Other non-CSV entries (e.g. a
+     * README) are ignored, but a CSV for an unknown or repeated entity type rejects the archive.
+     */
+    private Map<String, Path> extract(MultipartFile archive, String bundleId) {
+        Map<String, Path> files = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1).toLowerCase();
+                if (entry.isDirectory() || name.startsWith(".") || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                String extension = EXTENSIONS.stream().filter(name::endsWith).findFirst().orElse(null);
+                if (extension == null) {
+                    continue;
+                }
+
+                String entityType = name.substring(0, name.length() - extension.length());
+                if (EXPORT_ONLY.contains(entityType)) {
+                    continue;
+                }
+                if (!csvImportJobService.getEntityTypes().contains(entityType)) {
+                    throw new BadRequestException("Unexpected file in archive: " + entry.getName()
+                            + ". Expected one of " + csvImportJobService.getEntityTypes() + " as .csv or .xlsx files");
+                }
+                if (files.containsKey(entityType)) {
+                    throw new BadRequestException("Archive contains more than one file for " + entityType);
+                }
+
+                Path target = Files.createTempFile("csv-bundle-" + bundleId + "-", extension);
+                files.put(entityType, target);
+                copyLimited(zip, target, entry.getName());
+            }
+        } catch (IOException e) {
+            files.values().forEach(CsvUploadFiles::deleteQuietly);
+            throw new BadRequestException("Could not read ZIP archive: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            files.values().forEach(CsvUploadFiles::deleteQuietly);
+            throw e;
+        }
+
+        if (files.isEmpty()) {
+            throw new BadRequestException("Archive contains no CSV files");
+        }
+        return files;
+    }
+
+    // Entry sizes in the ZIP header can't be trusted, so the limit is checked while copying
+    private void copyLimited(InputStream in, Path target, String entryName) throws IOException {
+        long limit = maxEntrySize.toBytes();
+        long copied = 0;
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                copied += read;
+                if (copied > limit) {
+                    throw new BadRequestException(String.format("%s exceeds the maximum size of %dMB",
+                            entryName, maxEntrySize.toMegabytes()));
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void run(Bundle bundle) {
+        try {
+            for (List<String> stage : STAGES) {
+                List<CompletableFuture<CsvImportJob>> running = new ArrayList<>();
+                for (String entityType : stage) {
+                    Stage file = bundle.stages.get(entityType);
+                    if (file != null) {
+                        running.add(submit(bundle, file));
+                    }
+                }
+
+                // Jobs of one stage are independent, so they are all queued before waiting
+                for (CompletableFuture<CsvImportJob> job : running) {
+                    job.join();
+                }
+                if (bundle.stages.values().stream().anyMatch(Stage::isFailed)) {
+                    bundle.finish(Status.FAILED, "Import stopped: a stage failed, later stages were skipped");
+                    return;
+                }
+            }
+            bundle.finish(Status.COMPLETED, String.format("Imported %d file(s)", bundle.stages.size()));
+        } catch (Exception e) {
+            log.error("Import bundle {} failed", bundle.id, e);
+            bundle.finish(Status.FAILED, "Import failed: " + e.getMessage());
+        } finally {
+            bundle.stages.values().forEach(stage -> CsvUploadFiles.deleteQuietly(stage.file));
+            log.info("Finished import bundle {}: {}", bundle.id, bundle.status);
+        }
+    }
+
+    private CompletableFuture<CsvImportJob> submit(Bundle bundle, Stage stage) {
+        CompletableFuture<CsvImportJob> done = new CompletableFuture<>();
+        boolean sync = bundle.sync && csvImportJobService.getImportService(stage.entityType).supportsSync();
+        try {
+            stage.jobId = csvImportJobService.submitFile(stage.entityType, stage.filename(), stage.file,
+                    bundle.commitMode, sync, bundle.references, job -> {
+                        CsvUploadFiles.deleteQuietly(job.getFile());
+                        stage.finalJob = job.isFinished() ? job.toDTO() : null;
+                        done.complete(job);
+                    }).getJobId();
+        } catch (BaseException e) {
+            stage.error = e.getMessage();
+            done.complete(null);
+        }
+        return done;
+    }
+
+    private void evictExpiredBundles() {
+        Instant cutoff = Instant.now().minus(retention);
+        bundles.values().removeIf(bundle -> bundle.finishedAt != null && bundle.finishedAt.isBefore(cutoff));
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+
+    private final class Bundle {
+        private final String id;
+        private final String filename;
+        private final Map<String, Stage> stages = new LinkedHashMap<>();
+        // Only read by a stage once every earlier stage has completed, see CsvImportContext#share
+        private final CsvImportContext references = new CsvImportContext();
+        private final CsvCommitMode commitMode;
+        private final boolean sync;
+        private final Instant submittedAt = Instant.now();
+
+        private volatile Status status = Status.RUNNING;
+        private volatile String message;
+        private volatile Instant finishedAt;
+
+        private Bundle(String id, String filename, Map<String, Path> files, CsvCommitMode commitMode, boolean sync) {
+            this.id = id;
+            this.filename = filename;
+            this.commitMode = commitMode;
+            this.sync = sync;
+            for (List<String> stage : STAGES) {
+                for (String entityType : stage) {
+                    if (files.containsKey(entityType)) {
+                        stages.put(entityType, new Stage(entityType, files.get(entityType)));
+                    }
+                }
+            }
+        }
+
+        private void finish(Status status, String message) {
+            this.message = message;
+            this.status = status;
+            this.finishedAt = Instant.now();
+        }
+
+        private CsvImportBundleDTO toDTO() {
+            return CsvImportBundleDTO.builder()
+                    .bundleId(id)
+                    .filename(filename)
+                    .status(status.name())
+                    .message(message)
+                    .submittedAt(toLocal(submittedAt))
+                    .finishedAt(toLocal(finishedAt))
+                    .jobs(stages.values().stream().map(stage -> stage.toDTO(finishedAt != null)).toList())
+                    .build();
+        }
+    }
+
+    private final class Stage {
+        private final String entityType;
+        private final Path file;
+
+        private volatile String jobId;
+        private volatile CsvImportJobDTO finalJob;
+        private volatile String error;
+
+        private Stage(String entityType, Path file) {
+            this.entityType = entityType;
+            this.file = file;
+        }
+
+        private boolean isFailed() {
+            return error != null || (finalJob != null && !"COMPLETED".equals(finalJob.getStatus()));
+        }
+
+        private String filename() {
+            String name = file.getFileName().toString();
+            return entityType + EXTENSIONS.stream().filter(name::endsWith).findFirst().orElse(".csv");
+        }
+
+        private CsvImportJobDTO toDTO(boolean bundleFinished) {
+            if (finalJob != null) {
+                return finalJob;
+            }
+            if (jobId != null) {
+                return csvImportJobService.getJob(jobId);
+            }
+            return CsvImportJobDTO.builder()
+                    .entityType(entityType)
+                    .filename(filename())
+                    .status(error != null ? "FAILED" : bundleFinished ? "SKIPPED" : "PENDING")
+                    .message(error)
+                    .build();
+        }
+    }
+}
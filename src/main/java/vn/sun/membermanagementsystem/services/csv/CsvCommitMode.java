@@ -0,0 +1,16 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+/**
+ * How the processing pass of an import is committed.
+ */
+public enum CsvCommitMode {
+    /**
+     * One transaction for the whole file; any failure rolls every row back.
+     */
+    ALL_OR_NOTHING,
+    /**
+     * One transaction per chunk, with a checkpoint after each commit. A failed import keeps
+     * the committed chunks, and importing the same file again resumes after the last one.
+     */
+    CHUNKED
+}
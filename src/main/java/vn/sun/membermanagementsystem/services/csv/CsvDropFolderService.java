@@ -0,0 +1,205 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+import vn.sun.membermanagementsystem.exception.BadRequestException;
+import vn.sun.membermanagementsystem.exception.BaseException;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports CSV files that are dropped into a server-side directory, for feeds too large to upload.
+ * <p>
+ * Files are picked up from {@code <csv.import.drop-folder.path>/<entityType>/} (e.g. {@code users/}),
+ * either on {@link #scan()} or every {@code csv.import.drop-folder.poll-interval}. A file is only
+ * picked up once it has not been modified for {@code csv.import.drop-folder.min-age}, so files that
+ * are still being copied in are left alone. It is moved to {@code processing/} and queued as a
+ * regular {@link CsvImportJobService import job} that reads it memory-mapped, then moved to
+ * {@code processed/} or {@code failed/}. If the job queue is full the file stays in the inbox and
+ * is retried on the next scan.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvDropFolderService {
+
+    static final String PROCESSING = "processing";
+    static final String PROCESSED = "processed";
+    static final String FAILED = "failed";
+
+    private static final DateTimeFormatter ARCHIVE_PREFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-");
+
+    private final CsvImportJobService csvImportJobService;
+
+    @Value("${csv.import.drop-folder.path:}")
+    private String path = "";
+
+    @Value("${csv.import.drop-folder.poll-interval:1m}")
+    private Duration pollInterval = Duration.ofMinutes(1);
+
+    @Value("${csv.import.drop-folder.min-age:30s}")
+    private Duration minAge = Duration.ofSeconds(30);
+
+    @Value("${csv.import.drop-folder.commit-mode:CHUNKED}")
+    private CsvCommitMode commitMode = CsvCommitMode.CHUNKED;
+
+    @Value("${csv.import.drop-folder.sync:false}")
+    private boolean sync;
+
+    private ScheduledExecutorService poller;
+
+    @PostConstruct
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        recoverInterrupted();
+
+        if (pollInterval.isPositive()) {
+            poller = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("csv-drop-folder").factory());
+            poller.scheduleWithFixedDelay(this::scanQuietly, pollInterval.toMillis(), pollInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            log.info("Watching CSV drop folder {} every {}", path, pollInterval);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return path != null && !path.isBlank();
+    }
+
+    /**
+     * Queues every settled file in the drop folder.
+     *
+     * @return the queued jobs
+     */
+    public synchronized List<CsvImportJobDTO> scan() {
+        if (!isEnabled()) {
+            throw new BadRequestException("CSV drop folder is not configured");
+        }
+
+        List<CsvImportJobDTO> queued = new ArrayList<>();
+        Instant settledBefore = Instant.now().minus(minAge);
+        for (String entityType : csvImportJobService.getEntityTypes()) {
+            Path inbox = Path.of(path, entityType);
+            if (!Files.isDirectory(inbox)) {
+                continue;
+            }
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox, "*.{csv,csv.gz,xlsx,CSV,CSV.GZ,XLSX}")) {
+                for (Path file : files) {
+                    if (!Files.isRegularFile(file)
+                            || !Files.getLastModifiedTime(file).toInstant().isBefore(settledBefore)) {
+                        continue;
+                    }
+                    CsvImportJobDTO job = submit(entityType, file);
+                    if (job == null) {
+                        return queued;
+                    }
+                    queued.add(job);
+                }
+            } catch (IOException e) {
+                log.error("Could not scan CSV drop folder {}", inbox, e);
+            }
+        }
+        return queued;
+    }
+
+    private void scanQuietly() {
+        try {
+            List<CsvImportJobDTO> queued = scan();
+            if (!queued.isEmpty()) {
+                log.info("Queued {} file(s) from the CSV drop folder", queued.size());
+            }
+        } catch (Exception e) {
+            log.error("CSV drop folder scan failed", e);
+        }
+    }
+
+    /**
+     * @return the queued job, or {@code null} if the job queue is full
+     */
+    private CsvImportJobDTO submit(String entityType, Path file) throws IOException {
+        String filename = file.getFileName().toString();
+        Path processing = Files.createDirectories(file.resolveSibling(PROCESSING)).resolve(filename);
+        Files.move(file, processing, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        boolean syncFile = sync && csvImportJobService.getImportService(entityType).supportsSync();
+        try {
+            return csvImportJobService.submitFile(entityType, filename, processing, commitMode, syncFile,
+                    this::archive);
+        } catch (BaseException e) {
+            if (e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                throw e;
+            }
+            log.info("Import queue is full, leaving {} in the drop folder", file);
+            return null;
+        }
+    }
+
+    /**
+     * Moves a file out of {@code processing/} once its job is done with it.
+     */
+    void archive(CsvImportJob job) {
+        Path file = job.getFile();
+        Path inbox = file.getParent().getParent();
+        Path target;
+        if (!job.isFinished()) {
+            // Rejected before running
+            target = inbox.resolve(file.getFileName());
+        } else {
+            String folder = job.getStatus() == CsvImportJob.Status.COMPLETED ? PROCESSED : FAILED;
+            target = inbox.resolve(folder).resolve(ARCHIVE_PREFIX.format(LocalDateTime.now()) + file.getFileName());
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Could not move drop folder file {} to {}", file, target, e);
+        }
+    }
+
+    // Files left in processing/ by a restart are put back so the next scan picks them up again
+    private void recoverInterrupted() {
+        for (String entityType : csvImportJobService.getEntityTypes()) {
+            Path processing = Path.of(path, entityType, PROCESSING);
+            if (!Files.isDirectory(processing)) {
+                continue;
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(processing)) {
+                for (Path file : files) {
+                    Files.move(file, processing.resolveSibling(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    log.info("Re-queueing interrupted drop folder file {}", file);
+                }
+            } catch (IOException e) {
+                log.error("Could not recover drop folder files in {}", processing, e);
+            }
+        }
+    }
+}
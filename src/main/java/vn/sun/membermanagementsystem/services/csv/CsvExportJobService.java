@@ -0,0 +1,323 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import vn.sun.membermanagementsystem.dto.response.CsvExportJobDTO;
+import vn.sun.membermanagementsystem.exception.BadRequestException;
+import vn.sun.membermanagementsystem.exception.BaseException;
+import vn.sun.membermanagementsystem.exception.ResourceNotFoundException;
+import vn.sun.membermanagementsystem.services.csv.impls.MembershipCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.ProjectCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.TeamCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.UserCsvExportService;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders exports to files in the background, so the database work is decoupled from how fast
+ * the client downloads.
+ * <p>
+ * A direct export streams rows into the response and keeps its transaction and connection open
+ * until the slowest client has read the last byte. A job instead writes the export to
+ * {@code csv.export.jobs.directory} (a temp directory by default), optionally gzip-compressed,
+ * on one of {@code csv.export.jobs.max-concurrent} workers, and the finished file is downloaded
+ * separately. Finished jobs and their files are removed after {@code csv.export.jobs.retention}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvExportJobService {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * A finished export file and how to present it to the client. The file may be deleted once
+     * {@code expiresAt} has passed.
+     */
+    public record Download(Path file, String filename, String contentType, long size, Instant lastModified,
+                           Instant expiresAt) {
+    }
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final UserCsvExportService userCsvExportService;
+    private final SkillCsvExportService skillCsvExportService;
+    private final PositionCsvExportService positionCsvExportService;
+    private final ProjectCsvExportService projectCsvExportService;
+    private final TeamCsvExportService teamCsvExportService;
+    private final MembershipCsvExportService membershipCsvExportService;
+
+    @Value("${csv.export.jobs.directory:}")
+    private String directory;
+
+    @Value("${csv.export.jobs.max-concurrent:2}")
+    private int maxConcurrent = 2;
+
+    @Value("${csv.export.jobs.max-queued:20}")
+    private int maxQueued = 20;
+
+    @Value("${csv.export.jobs.retention:1h}")
+    private Duration retention = Duration.ofHours(1);
+
+    private final Map<String, CsvExportService<?>> exportServices = new LinkedHashMap<>();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private Path exportDirectory;
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void init() throws IOException {
+        exportServices.put("skills", skillCsvExportService);
+        exportServices.put("positions", positionCsvExportService);
+        exportServices.put("users", userCsvExportService);
+        exportServices.put("teams", teamCsvExportService);
+        exportServices.put("projects", projectCsvExportService);
+        exportServices.put("memberships", membershipCsvExportService);
+
+        exportDirectory = directory == null || directory.isBlank()
+                ? Files.createTempDirectory("csv-export-")
+                : Files.createDirectories(Path.of(directory));
+
+        int workers = Math.max(1, maxConcurrent);
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueued)),
+                Thread.ofPlatform().name("csv-export-", 0).factory());
+
+        // Without a sweep, expired files would stay on disk until the next request
+        sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("csv-export-sweeper").factory());
+        sweeper.scheduleWithFixedDelay(this::evictExpiredJobs, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sweeper.shutdownNow();
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        jobs.values().forEach(Job::deleteFiles);
+        jobs.clear();
+    }
+
+    /**
+     * Queues an export of every {@code entityType} row.
+     *
+     * @param gzip compress the file; only for CSV, since XLSX workbooks are already compressed
+     * @return the queued job; poll {@link #getJob} until it is {@code COMPLETED}, then download it
+     */
+    public CsvExportJobDTO submit(String entityType, ExportFormat format, boolean gzip) {
+        CsvExportService<?> exportService = getExportService(entityType);
+        if (gzip && format != ExportFormat.CSV) {
+            throw new BadRequestException("Only CSV exports can be gzip-compressed");
+        }
+
+        evictExpiredJobs();
+
+        String jobId = UUID.randomUUID().toString();
+        Job job = new Job(jobId, entityType, format, gzip, exportService, currentSecurityContext());
+        jobs.put(jobId, job);
+        try {
+            executor.execute(new DelegatingSecurityContextRunnable(() -> run(job), job.securityContext));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            throw new BaseException("Too many exports are waiting, please try again later",
+                    HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+        log.info("Queued {} export job {} as {}{}", entityType, jobId, format, gzip ? " (gzip)" : "");
+        return job.toDTO();
+    }
+
+    public CsvExportJobDTO getJob(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    public List<CsvExportJobDTO> getJobs() {
+        evictExpiredJobs();
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Job job) -> job.submittedAt).reversed())
+                .map(Job::toDTO)
+                .toList();
+    }
+
+    /**
+     * The file of a completed job. It is never modified once completed, so clients can resume a
+     * download with range requests until the job expires.
+     */
+    public Download getDownload(String jobId) {
+        Job job = findJob(jobId);
+        if (job.status != Status.COMPLETED) {
+            throw new BaseException("Export job is not completed: " + job.status, HttpStatus.CONFLICT.value());
+        }
+        return new Download(job.file, job.filename, job.gzip ? GZIP_CONTENT_TYPE : job.format.getContentType(),
+                job.size, job.finishedAt, job.finishedAt.plus(retention));
+    }
+
+    private Job findJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Export job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Exportable entity types, in dependency order (an entity's references come before it).
+     */
+    public Set<String> getEntityTypes() {
+        return Collections.unmodifiableSet(exportServices.keySet());
+    }
+
+    public CsvExportService<?> getExportService(String entityType) {
+        CsvExportService<?> exportService = exportServices.get(entityType);
+        if (exportService == null) {
+            throw new BadRequestException("Unsupported export type: " + entityType);
+        }
+        return exportService;
+    }
+
+    private SecurityContext currentSecurityContext() {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        return securityContext;
+    }
+
+    // Written to a .part file and moved into place, so a completed job never has a partial file
+    private void run(Job job) {
+        log.info("Starting {} export job {}", job.entityType, job.id);
+        job.status = Status.RUNNING;
+        job.startedAt = Instant.now();
+        try {
+            try (OutputStream out = openOutput(job)) {
+                job.exportService.export(out, job.format);
+            }
+            Files.move(job.partFile, job.file, StandardCopyOption.ATOMIC_MOVE);
+            job.size = Files.size(job.file);
+            job.finish(Status.COMPLETED, null);
+            log.info("Finished {} export job {}: {} bytes", job.entityType, job.id, job.size);
+        } catch (Exception e) {
+            log.error("Export job {} failed", job.id, e);
+            job.deleteFiles();
+            job.finish(Status.FAILED, "Export failed: " + e.getMessage());
+        }
+    }
+
+    private OutputStream openOutput(Job job) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.partFile), WRITE_BUFFER_SIZE);
+        return job.gzip ? new GZIPOutputStream(out, WRITE_BUFFER_SIZE) : out;
+    }
+
+    void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(cutoff);
+            if (expired) {
+                job.deleteFiles();
+            }
+            return expired;
+        });
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+
+    private final class Job {
+        private final String id;
+        private final String entityType;
+        private final ExportFormat format;
+        private final boolean gzip;
+        private final CsvExportService<?> exportService;
+        private final SecurityContext securityContext;
+        private final String filename;
+        private final Path file;
+        private final Path partFile;
+        private final Instant submittedAt = Instant.now();
+
+        private volatile Status status = Status.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile long size;
+        private volatile String message;
+
+        private Job(String id, String entityType, ExportFormat format, boolean gzip,
+                    CsvExportService<?> exportService, SecurityContext securityContext) {
+            this.id = id;
+            this.entityType = entityType;
+            this.format = format;
+            this.gzip = gzip;
+            this.exportService = exportService;
+            this.securityContext = securityContext;
+
+            String extension = format.getExtension() + (gzip ? ".gz" : "");
+            this.filename = entityType + "_export_" + LocalDateTime.now().format(TIMESTAMP_FORMATTER) + extension;
+            this.file = exportDirectory.resolve(id + extension);
+            this.partFile = exportDirectory.resolve(id + extension + ".part");
+        }
+
+        private void finish(Status status, String message) {
+            this.message = message;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        private void deleteFiles() {
+            CsvUploadFiles.deleteQuietly(partFile);
+            CsvUploadFiles.deleteQuietly(file);
+        }
+
+        private CsvExportJobDTO toDTO() {
+            return CsvExportJobDTO.builder()
+                    .jobId(id)
+                    .entityType(entityType)
+                    .format(format.name())
+                    .gzip(gzip)
+                    .filename(filename)
+                    .status(status.name())
+                    .sizeBytes(status == Status.COMPLETED ? size : null)
+                    .submittedAt(toLocal(submittedAt))
+                    .startedAt(toLocal(startedAt))
+                    .finishedAt(toLocal(finishedAt))
+                    .message(message)
+                    .build();
+        }
+    }
+}
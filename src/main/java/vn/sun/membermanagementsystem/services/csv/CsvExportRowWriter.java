@@ -0,0 +1,38 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import com.opencsv.CSVWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 CSV with a BOM, so Excel detects the encoding.
+ */
+final class CsvExportRowWriter implements ExportRowWriter {
+
+    private final CSVWriter writer;
+
+    CsvExportRowWriter(OutputStream outputStream) throws IOException {
+        outputStream.write(0xEF);
+        outputStream.write(0xBB);
+        outputStream.write(0xBF);
+        this.writer = new CSVWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                CSVWriter.DEFAULT_SEPARATOR,
+                CSVWriter.DEFAULT_QUOTE_CHARACTER,
+                CSVWriter.DEFAULT_ESCAPE_CHARACTER,
+                CSVWriter.DEFAULT_LINE_END);
+    }
+
+    @Override
+    public void writeRow(String[] row) {
+        writer.writeNext(row);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
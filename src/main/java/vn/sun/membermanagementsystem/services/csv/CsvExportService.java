@@ -2,10 +2,23 @@ package vn.sun.membermanagementsystem.services.csv;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 
 public interface CsvExportService<T> {
 
-    void exportToCsv(OutputStream outputStream) throws IOException;
+    default void exportToCsv(OutputStream outputStream) throws IOException {
+        export(outputStream, ExportFormat.CSV);
+    }
+
+    void export(OutputStream outputStream, ExportFormat format) throws IOException;
+
+    /**
+     * Exports only the named columns of {@link #getExportHeaders()}, in the given order, e.g. in
+     * the layout the matching importer expects.
+     *
+     * @throws IllegalArgumentException if a column is not one of the export headers
+     */
+    void export(OutputStream outputStream, ExportFormat format, List<String> columns) throws IOException;
 
     String[] getExportHeaders();
 }
@@ -0,0 +1,96 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.sun.membermanagementsystem.entities.CsvImportCheckpoint;
+import vn.sun.membermanagementsystem.enums.CsvImportCheckpointStatus;
+import vn.sun.membermanagementsystem.repositories.CsvImportCheckpointRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoints of chunked-commit imports, see {@link CsvCommitMode#CHUNKED}.
+ * <p>
+ * A checkpoint is keyed by importer and file content fingerprint, so uploading the same
+ * file again after a failure resumes after the last committed row. Completed syncs are
+ * recorded the same way, so an identical file can be recognised and skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvImportCheckpointService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final CsvImportCheckpointRepository checkpointRepository;
+
+    /**
+     * Returns the last row committed by an unfinished import of the same file, or 1 (the
+     * header row) if there is nothing to resume.
+     */
+    @Transactional(readOnly = true)
+    public int findResumeRow(String importer, String fingerprint) {
+        return checkpointRepository.findFirstByImporterAndFileFingerprintAndStatusNotOrderByIdDesc(
+                        importer, fingerprint, CsvImportCheckpointStatus.COMPLETED)
+                .map(CsvImportCheckpoint::getLastCommittedRow)
+                .orElse(1);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isCompleted(String importer, String fingerprint) {
+        return checkpointRepository.existsByImporterAndFileFingerprintAndStatus(
+                importer, fingerprint, CsvImportCheckpointStatus.COMPLETED);
+    }
+
+    /**
+     * Reuses the unfinished checkpoint of the same file, or creates a new one.
+     */
+    @Transactional
+    public CsvImportCheckpoint start(String importer, String fingerprint, String filename) {
+        LocalDateTime now = LocalDateTime.now();
+        CsvImportCheckpoint checkpoint = checkpointRepository
+                .findFirstByImporterAndFileFingerprintAndStatusNotOrderByIdDesc(
+                        importer, fingerprint, CsvImportCheckpointStatus.COMPLETED)
+                .orElseGet(() -> CsvImportCheckpoint.builder()
+                        .importer(importer)
+                        .fileFingerprint(fingerprint)
+                        .lastCommittedRow(1)
+                        .createdAt(now)
+                        .build());
+
+        if (checkpoint.getId() != null) {
+            log.info("Resuming {} import of {} after row {}", importer, filename, checkpoint.getLastCommittedRow());
+        }
+        checkpoint.setFilename(filename);
+        checkpoint.setStatus(CsvImportCheckpointStatus.IN_PROGRESS);
+        checkpoint.setErrorMessage(null);
+        checkpoint.setUpdatedAt(now);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Records a processed chunk. Must run in the chunk's transaction so the checkpoint
+     * commits, or rolls back, together with the rows.
+     */
+    @Transactional
+    public void recordChunk(Long checkpointId, int lastRow, int rows) {
+        checkpointRepository.recordChunk(checkpointId, lastRow, rows, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void complete(Long checkpointId) {
+        checkpointRepository.updateStatus(checkpointId, CsvImportCheckpointStatus.COMPLETED, null,
+                LocalDateTime.now());
+    }
+
+    @Transactional
+    public void fail(Long checkpointId, String message) {
+        String error = message != null && message.length() > MAX_ERROR_LENGTH
+                ? message.substring(0, MAX_ERROR_LENGTH)
+                : message;
+        checkpointRepository.updateStatus(checkpointId, CsvImportCheckpointStatus.FAILED, error,
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,189 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-import state shared by the passes of {@link AbstractCsvImportService}.
+ * <p>
+ * The collection pass registers every key the file references (emails, names, ...)
+ * together with the first row it appears on. Services then resolve those keys with
+ * set-based queries into lookups, so row validation and processing only do in-memory
+ * lookups. Keys are namespaced so several entity types can share one context.
+ * <p>
+ * Keys and lookups are written by the single-threaded collection and resolution
+ * passes; once validation starts the context is only read, so rows may be
+ * validated concurrently.
+ * <p>
+ * A context may be created over a longer-lived one holding shared references, e.g. the
+ * users a {@link CsvBundleImportService bundle} imported, which its later stages then
+ * take from {@link #unresolvedKeys} instead of querying them again.
+ */
+public class CsvImportContext {
+
+    // Rough per-object sizes on a 64-bit JVM with compressed oops
+    static final int MAP_ENTRY_BYTES = 48; // HashMap node and its table slot
+    static final int BOXED_NUMBER_BYTES = 16;
+    static final int STRING_BYTES = 40; // String and its array header, without the characters
+
+    private final Map<String, Map<String, Integer>> firstRows = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> labels = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Long>> lookups = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> values = new ConcurrentHashMap<>();
+
+    private final CsvImportContext sharedReferences;
+
+    private boolean upsert;
+
+    public CsvImportContext() {
+        this(null);
+    }
+
+    /**
+     * @param sharedReferences lookups kept across imports, or {@code null}
+     */
+    public CsvImportContext(CsvImportContext sharedReferences) {
+        this.sharedReferences = sharedReferences;
+    }
+
+    /**
+     * Whether rows whose key already exists update the existing record instead of
+     * failing validation, see {@link AbstractCsvImportService#syncFromCsv}.
+     */
+    public boolean isUpsert() {
+        return upsert;
+    }
+
+    public void setUpsert(boolean upsert) {
+        this.upsert = upsert;
+    }
+
+    public void registerKey(String namespace, String key, int rowNumber) {
+        firstRows.computeIfAbsent(namespace, ns -> new HashMap<>()).putIfAbsent(key, rowNumber);
+    }
+
+    /**
+     * Registers a normalized key and keeps the spelling it first appeared with,
+     * e.g. a lower-cased skill name and the name as written in the file.
+     */
+    public void registerKey(String namespace, String key, String label, int rowNumber) {
+        registerKey(namespace, key, rowNumber);
+        labels.computeIfAbsent(namespace, ns -> new HashMap<>()).putIfAbsent(key, label);
+    }
+
+    public String label(String namespace, String key) {
+        Map<String, String> names = labels.get(namespace);
+        String label = names != null ? names.get(key) : null;
+        return label != null ? label : key;
+    }
+
+    public Set<String> keys(String namespace) {
+        Map<String, Integer> rows = firstRows.get(namespace);
+        return rows != null ? Collections.unmodifiableSet(rows.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Returns the first row the key was registered on, or 0 if it was never registered.
+     */
+    public int firstRow(String namespace, String key) {
+        Map<String, Integer> rows = firstRows.get(namespace);
+        Integer row = rows != null ? rows.get(key) : null;
+        return row != null ? row : 0;
+    }
+
+    public boolean isDuplicate(String namespace, String key, int rowNumber) {
+        int firstRow = firstRow(namespace, key);
+        return firstRow != 0 && firstRow != rowNumber;
+    }
+
+    public Map<String, Long> lookup(String namespace) {
+        return lookups.computeIfAbsent(namespace, ns -> new HashMap<>());
+    }
+
+    /**
+     * Resolved values that are not IDs, e.g. content hashes of existing records.
+     */
+    public Map<String, String> values(String namespace) {
+        return values.computeIfAbsent(namespace, ns -> new HashMap<>());
+    }
+
+    /**
+     * Copies the keys of {@code namespace} that the shared references already resolved into
+     * {@link #lookup}, and returns the keys that still need a query: all of them without
+     * shared references. Only existing keys are shared, so a missing key is always queried.
+     */
+    public Set<String> unresolvedKeys(String namespace) {
+        if (sharedReferences == null) {
+            return keys(namespace);
+        }
+        Map<String, Long> lookup = lookup(namespace);
+        Set<String> unresolved = new HashSet<>();
+        synchronized (sharedReferences) {
+            Map<String, Long> shared = sharedReferences.lookup(namespace);
+            for (String key : keys(namespace)) {
+                Long id = shared.get(key);
+                if (id != null) {
+                    lookup.put(key, id);
+                } else {
+                    unresolved.add(key);
+                }
+            }
+        }
+        return unresolved;
+    }
+
+    /**
+     * Makes an existing key known to later imports over the same shared references; does
+     * nothing without them. Keys are shared as they are written, before their transaction
+     * commits, so later imports must only start once this one has succeeded, as the stages
+     * of a bundle do.
+     */
+    public void share(String namespace, String key, Long id) {
+        if (sharedReferences == null) {
+            return;
+        }
+        synchronized (sharedReferences) {
+            sharedReferences.lookup(namespace).put(key, id);
+        }
+    }
+
+    public boolean hasLookup(String namespace) {
+        return lookups.containsKey(namespace);
+    }
+
+    /**
+     * Approximate heap held by the keys, labels, lookups and values, for bounding caches
+     * of validated files. Characters are counted as two bytes each.
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Map<String, Integer> rows : firstRows.values()) {
+            bytes += estimatedBytes(rows.keySet()) + (long) rows.size() * (MAP_ENTRY_BYTES + BOXED_NUMBER_BYTES);
+        }
+        for (Map<String, Long> lookup : lookups.values()) {
+            bytes += estimatedBytes(lookup.keySet()) + (long) lookup.size() * (MAP_ENTRY_BYTES + BOXED_NUMBER_BYTES);
+        }
+        for (Map<String, String> names : labels.values()) {
+            bytes += estimatedBytes(names.keySet()) + estimatedBytes(names.values()) + (long) names.size() * MAP_ENTRY_BYTES;
+        }
+        for (Map<String, String> resolved : values.values()) {
+            bytes += estimatedBytes(resolved.keySet()) + estimatedBytes(resolved.values())
+                    + (long) resolved.size() * MAP_ENTRY_BYTES;
+        }
+        return bytes;
+    }
+
+    static long estimatedBytes(Iterable<String> strings) {
+        long bytes = 0;
+        for (String string : strings) {
+            if (string != null) {
+                bytes += STRING_BYTES + 2L * string.length();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,17 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+/**
+ * How an import validates and writes the rows of a file.
+ */
+public enum CsvImportEngine {
+    /**
+     * Rows are validated in Java against resolved references and written chunk by chunk.
+     */
+    ROWS,
+    /**
+     * Rows are bulk-loaded into staging tables in one pass; reference and duplicate checks
+     * run as SQL set operations and valid files are merged with {@code INSERT ... SELECT}.
+     * Importers that do not implement {@link StagingImporter} fall back to {@link #ROWS}.
+     */
+    STAGING
+}
@@ -0,0 +1,225 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.security.core.context.SecurityContext;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A CSV import running in the background, see {@link CsvImportJobService}.
+ * Counters are updated by the importing thread and read by status requests.
+ */
+@Getter
+public class CsvImportJob implements CsvImportProgress {
+
+    public enum Status {
+        QUEUED, VALIDATING, PROCESSING, COMPLETED, FAILED
+    }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final String id;
+    private final String entityType;
+    private final String filename;
+    private final Path file;
+    private final CsvImportService<?> importService;
+    private final CsvValidationSnapshot snapshot;
+    private final CsvCommitMode commitMode;
+    private final boolean sync;
+    private final boolean memoryMapped;
+    @Getter(AccessLevel.NONE)
+    private final Consumer<CsvImportJob> onRelease;
+    private final CsvImportContext sharedReferences;
+    private final SecurityContext securityContext;
+    private final Instant submittedAt = Instant.now();
+
+    private final AtomicInteger rowsValidated = new AtomicInteger();
+    private final AtomicInteger rowsProcessed = new AtomicInteger();
+    private final AtomicInteger errorCount = new AtomicInteger();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int totalRows;
+    private volatile Instant startedAt;
+    private volatile Instant phaseStartedAt;
+    private volatile Instant finishedAt;
+    private volatile String message;
+    private volatile CsvImportResult<?> result;
+
+    public CsvImportJob(String id, String entityType, String filename, Path file,
+                        CsvImportService<?> importService, CsvValidationSnapshot snapshot,
+                        CsvCommitMode commitMode, boolean sync, SecurityContext securityContext) {
+        this(id, entityType, filename, file, importService, snapshot, commitMode, sync, false,
+                job -> CsvUploadFiles.deleteQuietly(job.getFile()), securityContext);
+    }
+
+    /**
+     * @param memoryMapped read {@code file} through a memory mapping instead of a stream
+     * @param onRelease    called once when the job no longer needs {@code file}: after it has
+     *                     finished, or if it was rejected before running
+     */
+    public CsvImportJob(String id, String entityType, String filename, Path file,
+                        CsvImportService<?> importService, CsvValidationSnapshot snapshot,
+                        CsvCommitMode commitMode, boolean sync, boolean memoryMapped,
+                        Consumer<CsvImportJob> onRelease, SecurityContext securityContext) {
+        this(id, entityType, filename, file, importService, snapshot, commitMode, sync, memoryMapped, onRelease,
+                null, securityContext);
+    }
+
+    /**
+     * @param sharedReferences references shared with other imports, see
+     *                         {@link CsvImportContext#unresolvedKeys}; {@code null} for none
+     */
+    public CsvImportJob(String id, String entityType, String filename, Path file,
+                        CsvImportService<?> importService, CsvValidationSnapshot snapshot,
+                        CsvCommitMode commitMode, boolean sync, boolean memoryMapped,
+                        Consumer<CsvImportJob> onRelease, CsvImportContext sharedReferences,
+                        SecurityContext securityContext) {
+        this.id = id;
+        this.entityType = entityType;
+        this.filename = filename;
+        this.file = file;
+        this.importService = importService;
+        this.snapshot = snapshot;
+        this.commitMode = commitMode;
+        this.sync = sync;
+        this.memoryMapped = memoryMapped;
+        this.onRelease = onRelease;
+        this.sharedReferences = sharedReferences;
+        this.securityContext = securityContext;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        phaseStartedAt = startedAt;
+        status = Status.VALIDATING;
+    }
+
+    @Override
+    public void onValidationStarted() {
+        phaseStartedAt = Instant.now();
+        status = Status.VALIDATING;
+    }
+
+    @Override
+    public void onRowValidated(boolean valid) {
+        rowsValidated.incrementAndGet();
+        if (!valid) {
+            errorCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onProcessingStarted(int totalRows) {
+        this.totalRows = totalRows;
+        phaseStartedAt = Instant.now();
+        status = Status.PROCESSING;
+    }
+
+    @Override
+    public void onRowsProcessed(int rows) {
+        rowsProcessed.addAndGet(rows);
+    }
+
+    void complete(CsvImportResult<?> result) {
+        this.result = result;
+        this.totalRows = result.getTotalRows();
+        errorCount.set(result.getErrorCount());
+        if (result.hasErrors()) {
+            status = Status.FAILED;
+            int errors = Math.max(1, result.getErrorCount());
+            message = result.getCommittedRows() > 0
+                    ? String.format("Import stopped. %d error(s) found. %d %s were committed; "
+                            + "import the same file again to resume.", errors, result.getCommittedRows(), entityType)
+                    : String.format("Import failed. %d error(s) found. No %s were imported.", errors, entityType);
+        } else if (result.isFileUnchanged()) {
+            status = Status.COMPLETED;
+            message = "File is identical to the last synced file; nothing to do";
+        } else if (sync) {
+            status = Status.COMPLETED;
+            message = String.format("Synced %s: %d created, %d updated, %d unchanged", entityType,
+                    result.getSuccessCount() - result.getUpdatedCount(), result.getUpdatedCount(),
+                    result.getUnchangedCount());
+        } else {
+            status = Status.COMPLETED;
+            message = String.format("Successfully imported %d %s", result.getSuccessCount(), entityType);
+        }
+        finishedAt = Instant.now();
+    }
+
+    InputStreamSource openSource() {
+        return memoryMapped ? new MappedFileResource(file) : new FileSystemResource(file);
+    }
+
+    void releaseFile() {
+        onRelease.accept(this);
+    }
+
+    void fail(String message) {
+        this.message = message;
+        status = Status.FAILED;
+        finishedAt = Instant.now();
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public CsvImportJobDTO toDTO() {
+        Status current = status;
+        Instant phaseStart = phaseStartedAt;
+        int done = current == Status.PROCESSING || current == Status.COMPLETED
+                ? rowsProcessed.get() : rowsValidated.get();
+
+        Double rowsPerSecond = null;
+        Long etaSeconds = null;
+        if (phaseStart != null && !isFinished()) {
+            double seconds = Duration.between(phaseStart, Instant.now()).toMillis() / 1000.0;
+            if (seconds > 0 && done > 0) {
+                rowsPerSecond = done / seconds;
+                if (current == Status.PROCESSING && totalRows > 0) {
+                    etaSeconds = Math.max(0, Math.round((totalRows - done) / rowsPerSecond));
+                }
+            }
+        }
+
+        CsvImportResult<?> finalResult = result;
+        List<CsvImportResult.CsvImportError> errors = finalResult != null && finalResult.getErrors() != null
+                ? finalResult.getErrors().stream().limit(MAX_REPORTED_ERRORS).toList()
+                : List.of();
+
+        return CsvImportJobDTO.builder()
+                .jobId(id)
+                .entityType(entityType)
+                .filename(filename)
+                .status(current.name())
+                .totalRows(totalRows)
+                .rowsValidated(rowsValidated.get())
+                .rowsProcessed(rowsProcessed.get())
+                .successCount(finalResult != null ? finalResult.getSuccessCount() : rowsProcessed.get())
+                .errorCount(errorCount.get())
+                .rowsPerSecond(rowsPerSecond)
+                .etaSeconds(etaSeconds)
+                .submittedAt(toLocal(submittedAt))
+                .startedAt(toLocal(startedAt))
+                .finishedAt(toLocal(finishedAt))
+                .message(message)
+                .errors(errors)
+                .build();
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
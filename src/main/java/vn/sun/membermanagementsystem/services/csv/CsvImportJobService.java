@@ -0,0 +1,298 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+import vn.sun.membermanagementsystem.exception.BadRequestException;
+import vn.sun.membermanagementsystem.exception.BaseException;
+import vn.sun.membermanagementsystem.exception.ResourceNotFoundException;
+import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.ProjectCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.TeamCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.UserCsvImportService;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs CSV imports in the background so the upload request returns immediately.
+ * <p>
+ * Uploads are spooled to a temp file and queued; files from the {@link CsvDropFolderService drop folder}
+ * are queued in place and read memory-mapped. At most {@code csv.import.jobs.max-concurrent}
+ * imports run at once, and at most {@code csv.import.jobs.max-per-entity} per entity type, so one
+ * huge user import cannot hold every slot while skill or project imports wait behind it. Finished
+ * jobs stay queryable for {@code csv.import.jobs.retention}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvImportJobService {
+
+    private final UserCsvImportService userCsvImportService;
+    private final SkillCsvImportService skillCsvImportService;
+    private final PositionCsvImportService positionCsvImportService;
+    private final ProjectCsvImportService projectCsvImportService;
+    private final TeamCsvImportService teamCsvImportService;
+
+    @Value("${csv.import.jobs.max-concurrent:4}")
+    private int maxConcurrent = 4;
+
+    @Value("${csv.import.jobs.max-per-entity:2}")
+    private int maxPerEntity = 2;
+
+    @Value("${csv.import.jobs.max-queued:20}")
+    private int maxQueued = 20;
+
+    @Value("${csv.import.jobs.virtual-threads:true}")
+    private boolean virtualThreads = true;
+
+    @Value("${csv.import.jobs.retention:1h}")
+    private Duration retention = Duration.ofHours(1);
+
+    private final Map<String, CsvImportService<?>> importServices = new LinkedHashMap<>();
+    private final Map<String, CsvImportJob> jobs = new ConcurrentHashMap<>();
+
+    // Guarded by "this"
+    private final Deque<CsvImportJob> pending = new ArrayDeque<>();
+    private final Map<String, Integer> runningByEntity = new HashMap<>();
+    private int running;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        importServices.put("users", userCsvImportService);
+        importServices.put("skills", skillCsvImportService);
+        importServices.put("positions", positionCsvImportService);
+        importServices.put("projects", projectCsvImportService);
+        importServices.put("teams", teamCsvImportService);
+
+        // Concurrency is bounded by dispatch(), so the executor itself does not need to be
+        executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("csv-import-", 0).factory())
+                : Executors.newFixedThreadPool(Math.max(1, maxConcurrent),
+                        Thread.ofPlatform().name("csv-import-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Validates and spools the upload, then queues the import.
+     *
+     * @return the queued job; poll {@link #getJob} for progress
+     */
+    public CsvImportJobDTO submit(String entityType, MultipartFile file) {
+        return submit(entityType, file, null, false);
+    }
+
+    /**
+     * Like {@link #submit(String, MultipartFile)}, with an explicit commit mode ({@code null}
+     * uses the configured {@code csv.import.commit-mode}) and optionally as a sync, see
+     * {@link CsvImportService#syncFromCsv}.
+     */
+    public CsvImportJobDTO submit(String entityType, MultipartFile file, CsvCommitMode commitMode, boolean sync) {
+        CsvImportService<?> importService = getImportService(entityType);
+        if (sync && !importService.supportsSync()) {
+            throw new BadRequestException("Sync is not supported for " + entityType);
+        }
+
+        String fileError = importService.validateFileForPreview(file);
+        if (fileError != null) {
+            throw new BadRequestException(fileError);
+        }
+
+        evictExpiredJobs();
+
+        String jobId = UUID.randomUUID().toString();
+        Path spooled = CsvUploadFiles.spool(file, "csv-import-" + jobId);
+        return enqueue(new CsvImportJob(jobId, entityType, file.getOriginalFilename(), spooled,
+                importService, null, commitMode, sync, currentSecurityContext()));
+    }
+
+    /**
+     * Queues the import of a file that was already validated, e.g. a confirmed preview, with
+     * an explicit commit mode ({@code null} uses the configured {@code csv.import.commit-mode}).
+     * The job takes ownership of {@code file} and deletes it when done.
+     */
+    public CsvImportJobDTO submitValidated(String entityType, String filename, Path file,
+                                           CsvValidationSnapshot snapshot, CsvCommitMode commitMode) {
+        evictExpiredJobs();
+        return enqueue(new CsvImportJob(UUID.randomUUID().toString(), entityType, filename, file,
+                getImportService(entityType), snapshot, commitMode, false, currentSecurityContext()));
+    }
+
+    /**
+     * Queues the import of a file that already lives on the server, e.g. in the drop folder.
+     * The file is read through a memory mapping and is not deleted; {@code onRelease} is called
+     * when the job has finished with it, or right away if the job is rejected.
+     */
+    public CsvImportJobDTO submitFile(String entityType, String filename, Path file, CsvCommitMode commitMode,
+                                      boolean sync, Consumer<CsvImportJob> onRelease) {
+        return submitFile(entityType, filename, file, commitMode, sync, null, onRelease);
+    }
+
+    /**
+     * Like {@link #submitFile(String, String, Path, CsvCommitMode, boolean, Consumer)}, for an
+     * import that reuses and adds to {@code sharedReferences}, e.g. one stage of a bundle.
+     */
+    public CsvImportJobDTO submitFile(String entityType, String filename, Path file, CsvCommitMode commitMode,
+                                      boolean sync, CsvImportContext sharedReferences,
+                                      Consumer<CsvImportJob> onRelease) {
+        CsvImportService<?> importService = getImportService(entityType);
+        if (sync && !importService.supportsSync()) {
+            throw new BadRequestException("Sync is not supported for " + entityType);
+        }
+
+        evictExpiredJobs();
+        return enqueue(new CsvImportJob(UUID.randomUUID().toString(), entityType, filename, file,
+                importService, null, commitMode, sync, true, onRelease, sharedReferences, currentSecurityContext()));
+    }
+
+    public Set<String> getEntityTypes() {
+        return Collections.unmodifiableSet(importServices.keySet());
+    }
+
+    public CsvImportService<?> getImportService(String entityType) {
+        CsvImportService<?> importService = importServices.get(entityType);
+        if (importService == null) {
+            throw new BadRequestException("Unsupported import type: " + entityType);
+        }
+        return importService;
+    }
+
+    private CsvImportJobDTO enqueue(CsvImportJob job) {
+        synchronized (this) {
+            if (pending.size() >= maxQueued) {
+                job.releaseFile();
+                throw new BaseException("Too many imports are waiting, please try again later",
+                        HttpStatus.TOO_MANY_REQUESTS.value());
+            }
+            jobs.put(job.getId(), job);
+            pending.addLast(job);
+            dispatch();
+        }
+
+        log.info("Queued {} import job {} for file {}", job.getEntityType(), job.getId(), job.getFilename());
+        return job.toDTO();
+    }
+
+    // Copy the caller's authentication so activity logs attribute the import to them
+    private SecurityContext currentSecurityContext() {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        return securityContext;
+    }
+
+    public CsvImportJobDTO getJob(String jobId) {
+        CsvImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    public List<CsvImportJobDTO> getJobs() {
+        evictExpiredJobs();
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(CsvImportJob::getSubmittedAt).reversed())
+                .map(CsvImportJob::toDTO)
+                .toList();
+    }
+
+    /**
+     * Starts queued jobs, oldest first, while there are free global and per-entity slots.
+     * A job whose entity type is saturated does not block jobs of other types behind it.
+     */
+    private synchronized void dispatch() {
+        Iterator<CsvImportJob> it = pending.iterator();
+        while (running < maxConcurrent && it.hasNext()) {
+            CsvImportJob job = it.next();
+            int entityRunning = runningByEntity.getOrDefault(job.getEntityType(), 0);
+            if (entityRunning >= maxPerEntity) {
+                continue;
+            }
+            it.remove();
+            running++;
+            runningByEntity.put(job.getEntityType(), entityRunning + 1);
+            executor.execute(new DelegatingSecurityContextRunnable(() -> run(job), job.getSecurityContext()));
+        }
+    }
+
+    private void run(CsvImportJob job) {
+        log.info("Starting {} import job {}", job.getEntityType(), job.getId());
+        job.start();
+        try {
+            InputStreamSource source = job.openSource();
+            CsvImportResult<?> result;
+            if (job.getSnapshot() != null && job.getCommitMode() != null) {
+                result = job.getImportService().importValidated(source, job.getSnapshot(), job, job.getCommitMode());
+            } else if (job.getSnapshot() != null) {
+                result = job.getImportService().importValidated(source, job.getSnapshot(), job);
+            } else if (job.getSharedReferences() != null && job.isSync()) {
+                result = job.getImportService().syncFromCsv(source, job, job.getSharedReferences());
+            } else if (job.getSharedReferences() != null) {
+                result = job.getImportService().importFromCsv(source, job, job.getCommitMode(),
+                        job.getSharedReferences());
+            } else if (job.isSync()) {
+                result = job.getImportService().syncFromCsv(source, job);
+            } else if (job.getCommitMode() != null) {
+                result = job.getImportService().importFromCsv(source, job, job.getCommitMode());
+            } else {
+                result = job.getImportService().importFromCsv(source, job);
+            }
+            job.complete(result);
+            log.info("Finished {} import job {}: {} imported, {} errors", job.getEntityType(), job.getId(),
+                    result.getSuccessCount(), result.getErrorCount());
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.fail("Import failed: " + e.getMessage());
+        } finally {
+            job.releaseFile();
+            synchronized (this) {
+                running--;
+                runningByEntity.merge(job.getEntityType(), -1, Integer::sum);
+                dispatch();
+            }
+        }
+    }
+
+    private void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,23 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+/**
+ * Receives progress callbacks from {@link AbstractCsvImportService} while an import runs.
+ * Callbacks are made on the importing thread.
+ */
+public interface CsvImportProgress {
+
+    CsvImportProgress NONE = new CsvImportProgress() {
+    };
+
+    default void onValidationStarted() {
+    }
+
+    default void onRowValidated(boolean valid) {
+    }
+
+    default void onProcessingStarted(int totalRows) {
+    }
+
+    default void onRowsProcessed(int rows) {
+    }
+}
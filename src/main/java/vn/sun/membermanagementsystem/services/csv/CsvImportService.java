@@ -1,15 +1,58 @@
 package vn.sun.membermanagementsystem.services.csv;
 
+import com.opencsv.exceptions.CsvException;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.web.multipart.MultipartFile;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
 
+import java.io.IOException;
+import java.util.List;
+
 public interface CsvImportService<T> {
 
     CsvPreviewResult previewCsv(MultipartFile file);
 
     CsvImportResult<T> importFromCsv(MultipartFile file);
 
+    CsvImportResult<T> importFromCsv(InputStreamSource source, CsvImportProgress progress);
+
+    CsvImportResult<T> importFromCsv(InputStreamSource source, CsvImportProgress progress, CsvCommitMode mode);
+
+    /**
+     * Like {@link #importFromCsv(InputStreamSource, CsvImportProgress, CsvCommitMode)}, reusing
+     * and adding to references shared with other imports, see {@link CsvImportContext#unresolvedKeys}.
+     *
+     * @param mode {@code null} uses the configured {@code csv.import.commit-mode}
+     */
+    CsvImportResult<T> importFromCsv(InputStreamSource source, CsvImportProgress progress, CsvCommitMode mode,
+                                     CsvImportContext sharedReferences);
+
+    boolean supportsSync();
+
+    CsvImportResult<T> syncFromCsv(InputStreamSource source, CsvImportProgress progress);
+
+    CsvImportResult<T> syncFromCsv(InputStreamSource source, CsvImportProgress progress,
+                                   CsvImportContext sharedReferences);
+
+    CsvValidationSnapshot validate(InputStreamSource source);
+
+    List<CsvPreviewResult.CsvRowPreview> readRows(InputStreamSource source, CsvValidationSnapshot snapshot,
+                                                  int offset, int limit) throws IOException, CsvException;
+
+    CsvImportResult<T> importValidated(InputStreamSource source, CsvValidationSnapshot snapshot,
+                                       CsvImportProgress progress);
+
+    CsvImportResult<T> importValidated(InputStreamSource source, CsvValidationSnapshot snapshot,
+                                       CsvImportProgress progress, CsvCommitMode mode);
+
+    /**
+     * Checks the upload itself (presence, extension, size).
+     *
+     * @return an error message, or {@code null} if the file is acceptable
+     */
+    String validateFileForPreview(MultipartFile file);
+
     boolean validateRow(String[] data, int rowNumber, CsvImportResult<T> result);
 
     String[] getExpectedHeaders();
@@ -0,0 +1,15 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+/**
+ * CSV parser used by the import passes.
+ */
+public enum CsvParserType {
+    /**
+     * OpenCSV on top of a UTF-8 {@code Reader}.
+     */
+    OPENCSV,
+    /**
+     * {@link ByteCsvRowReader}: parses the raw bytes and decodes each field once.
+     */
+    BYTES
+}
@@ -0,0 +1,206 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import com.opencsv.exceptions.CsvException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+import vn.sun.membermanagementsystem.exception.BadRequestException;
+import vn.sun.membermanagementsystem.exception.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Server-side import previews.
+ * <p>
+ * A preview spools the upload, validates it once and keeps the outcome under a token.
+ * Rows are then served page by page from the spooled file, and confirming the token
+ * imports the file without uploading or validating it again. Previews expire after
+ * {@code csv.import.preview.ttl}. Each preview keeps its file's resolved references in
+ * memory, so the cache is bounded by their estimated size, {@code csv.import.preview.max-cache-size};
+ * the least recently used previews are dropped first, and a file whose references alone exceed
+ * the bound cannot be previewed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvPreviewService {
+
+    private final CsvImportJobService csvImportJobService;
+
+    @Value("${csv.import.preview.ttl:15m}")
+    private Duration ttl = Duration.ofMinutes(15);
+
+    @Value("${csv.import.preview.max-cache-size:256MB}")
+    private DataSize maxCacheSize = DataSize.ofMegabytes(256);
+
+    @Value("${csv.import.preview.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    // Access-ordered, so iteration starts at the least recently used preview. Guarded by "this".
+    private final LinkedHashMap<String, PreviewSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    public CsvPreviewResult preview(String entityType, MultipartFile file, int pageSize) {
+        CsvImportService<?> importService = csvImportJobService.getImportService(entityType);
+
+        String fileError = importService.validateFileForPreview(file);
+        if (fileError != null) {
+            return fileErrorResult(fileError);
+        }
+
+        String token = UUID.randomUUID().toString();
+        Path spooled = CsvUploadFiles.spool(file, "csv-preview-" + token);
+        CsvValidationSnapshot snapshot = importService.validate(new FileSystemResource(spooled));
+        if (snapshot.getFileError() != null) {
+            CsvUploadFiles.deleteQuietly(spooled);
+            CsvPreviewResult result = fileErrorResult(snapshot.getFileError());
+            result.setHeaders(snapshot.getHeaders());
+            return result;
+        }
+
+        long weight = snapshot.estimatedBytes();
+        if (weight > maxCacheSize.toBytes()) {
+            CsvUploadFiles.deleteQuietly(spooled);
+            throw new BadRequestException("File is too large to preview. Please import it directly.");
+        }
+
+        PreviewSession session = new PreviewSession(token, entityType, file.getOriginalFilename(), spooled,
+                importService, snapshot, weight, Instant.now().plus(ttl));
+        synchronized (this) {
+            evictExpired();
+            sessions.put(token, session);
+            cachedBytes += weight;
+            while (cachedBytes > maxCacheSize.toBytes()) {
+                remove(sessions.keySet().iterator().next());
+            }
+        }
+
+        log.info("Cached {} preview {} for file {}: {} valid, {} invalid rows, ~{} KB", entityType, token,
+                file.getOriginalFilename(), snapshot.getValidRows(), snapshot.getInvalidRows(), weight / 1024);
+        return page(session, 0, pageSize);
+    }
+
+    public CsvPreviewResult getRows(String token, int page, int pageSize) {
+        return page(getSession(token), page, pageSize);
+    }
+
+    /**
+     * Imports a previewed file in the background. The preview is consumed.
+     *
+     * @param commitMode how the import is committed; {@code null} uses {@code csv.import.commit-mode}
+     */
+    public CsvImportJobDTO confirm(String token, CsvCommitMode commitMode) {
+        PreviewSession session;
+        synchronized (this) {
+            session = getSession(token);
+            if (!session.snapshot().isValid()) {
+                throw new BadRequestException(String.format(
+                        "Cannot import: %d row(s) have errors. Please fix the file and preview again.",
+                        session.snapshot().getInvalidRows()));
+            }
+            // The job now owns the spooled file
+            sessions.remove(token);
+            cachedBytes -= session.weight();
+        }
+        return csvImportJobService.submitValidated(session.entityType(), session.filename(), session.file(),
+                session.snapshot(), commitMode);
+    }
+
+    public synchronized void discard(String token) {
+        remove(token);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        new ArrayList<>(sessions.keySet()).forEach(this::remove);
+    }
+
+    private CsvPreviewResult page(PreviewSession session, int page, int pageSize) {
+        int size = Math.max(1, Math.min(pageSize, maxPageSize));
+        int pageIndex = Math.max(0, page);
+        CsvValidationSnapshot snapshot = session.snapshot();
+
+        List<CsvPreviewResult.CsvRowPreview> rows;
+        try {
+            rows = session.importService().readRows(new FileSystemResource(session.file()), snapshot,
+                    pageIndex * size, size);
+        } catch (IOException | CsvException e) {
+            throw new BadRequestException("Error reading CSV file: " + e.getMessage(), e);
+        }
+
+        CsvPreviewResult result = new CsvPreviewResult();
+        result.setToken(session.token());
+        result.setHeaders(snapshot.getHeaders());
+        result.setRows(rows);
+        result.setPage(pageIndex);
+        result.setPageSize(size);
+        result.setTotalRows(snapshot.getRowCount());
+        result.setValidRows(snapshot.getValidRows());
+        result.setInvalidRows(snapshot.getInvalidRows());
+        result.setHasErrors(snapshot.getInvalidRows() > 0);
+        result.setTruncated((long) (pageIndex + 1) * size < snapshot.getRowCount());
+        if (snapshot.getResumedAfterRow() > 1) {
+            result.setResumedAfterRow(snapshot.getResumedAfterRow());
+        }
+        return result;
+    }
+
+    private synchronized PreviewSession getSession(String token) {
+        evictExpired();
+        PreviewSession session = sessions.get(token);
+        if (session == null) {
+            throw new ResourceNotFoundException("Preview not found or expired. Please upload the file again.");
+        }
+        return session;
+    }
+
+    private void evictExpired() {
+        Instant now = Instant.now();
+        Iterator<Map.Entry<String, PreviewSession>> it = sessions.entrySet().iterator();
+        while (it.hasNext()) {
+            PreviewSession session = it.next().getValue();
+            if (session.expiresAt().isBefore(now)) {
+                it.remove();
+                cachedBytes -= session.weight();
+                CsvUploadFiles.deleteQuietly(session.file());
+            }
+        }
+    }
+
+    private void remove(String token) {
+        PreviewSession session = sessions.remove(token);
+        if (session != null) {
+            cachedBytes -= session.weight();
+            CsvUploadFiles.deleteQuietly(session.file());
+        }
+    }
+
+    private CsvPreviewResult fileErrorResult(String fileError) {
+        CsvPreviewResult result = new CsvPreviewResult();
+        result.setRows(new ArrayList<>());
+        result.setFileError(fileError);
+        result.setHasErrors(true);
+        return result;
+    }
+
+    private record PreviewSession(String token, String entityType, String filename, Path file,
+                                  CsvImportService<?> importService, CsvValidationSnapshot snapshot,
+                                  long weight, Instant expiresAt) {
+    }
+}
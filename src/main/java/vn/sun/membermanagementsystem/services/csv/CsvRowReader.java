@@ -0,0 +1,18 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import com.opencsv.exceptions.CsvException;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Source of CSV records for {@link AbstractCsvImportService}, see {@code csv.import.parser}.
+ * Excel workbooks are read through the same interface by {@link XlsxRowReader}.
+ */
+public interface CsvRowReader extends Closeable {
+
+    /**
+     * @return the next record, or {@code null} at the end of the input
+     */
+    String[] readNext() throws IOException, CsvException;
+}
@@ -0,0 +1,68 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MultipartFile;
+import vn.sun.membermanagementsystem.exception.BaseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Temp-file handling for uploads that outlive their request (import jobs, cached previews).
+ */
+@Slf4j
+final class CsvUploadFiles {
+
+    private CsvUploadFiles() {
+    }
+
+    static Path spool(MultipartFile file, String prefix) {
+        try {
+            // Keep the extension so gzip and XLSX uploads are still recognised by name
+            String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+            String suffix = name.endsWith(".gz") ? ".csv.gz" : name.endsWith(".xlsx") ? ".xlsx" : ".csv";
+            Path target = Files.createTempFile(prefix + "-", suffix);
+            file.transferTo(target);
+            return target;
+        } catch (IOException e) {
+            throw new BaseException("Could not store uploaded file: " + e.getMessage(), e,
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    /**
+     * SHA-256 of the raw upload, used to recognise the same file across uploads.
+     */
+    static String fingerprint(InputStreamSource source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = source.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temp file {}", path, e);
+        }
+    }
+}
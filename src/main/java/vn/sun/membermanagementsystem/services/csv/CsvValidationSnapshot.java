@@ -0,0 +1,95 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of validating a whole file, kept so the file can be paged through and imported
+ * later without validating it again.
+ * <p>
+ * Row data is not held here; it is re-read from the source. Which rows are invalid is kept
+ * in a bit set, and error messages only for the first {@code maxCachedErrors} invalid rows,
+ * so a snapshot stays small even for large files with many errors.
+ */
+@Getter
+public class CsvValidationSnapshot {
+
+    private final BitSet invalidRowNumbers = new BitSet();
+    private final Map<Integer, List<String>> rowErrors = new HashMap<>();
+    private final int maxCachedErrors;
+
+    @Setter
+    private String[] headers;
+    @Setter
+    private String fileError;
+    @Setter
+    private int totalRecords;
+    @Setter
+    private CsvImportContext context;
+    /**
+     * Last row committed by an earlier failed chunked import of the same file, or 1 (the
+     * header row). Rows up to it were not validated.
+     */
+    @Setter
+    private int resumedAfterRow = 1;
+
+    private int validRows;
+    private int invalidRows;
+
+    public CsvValidationSnapshot(int maxCachedErrors) {
+        this.maxCachedErrors = maxCachedErrors;
+    }
+
+    void record(int rowNumber, List<String> errors) {
+        if (errors.isEmpty()) {
+            validRows++;
+            return;
+        }
+        invalidRows++;
+        invalidRowNumbers.set(rowNumber);
+        if (rowErrors.size() < maxCachedErrors) {
+            rowErrors.put(rowNumber, errors);
+        }
+    }
+
+    public boolean isValid() {
+        return fileError == null && invalidRows == 0;
+    }
+
+    public boolean isRowValid(int rowNumber) {
+        return !invalidRowNumbers.get(rowNumber);
+    }
+
+    public List<String> getRowErrors(int rowNumber) {
+        return rowErrors.getOrDefault(rowNumber, List.of());
+    }
+
+    public int getRowCount() {
+        return validRows + invalidRows;
+    }
+
+    /**
+     * Approximate heap held by this snapshot, dominated by the resolved references in its
+     * {@link CsvImportContext}.
+     */
+    public long estimatedBytes() {
+        long bytes = invalidRowNumbers.size() / 8;
+        for (List<String> errors : rowErrors.values()) {
+            bytes += CsvImportContext.MAP_ENTRY_BYTES + CsvImportContext.BOXED_NUMBER_BYTES
+                    + CsvImportContext.estimatedBytes(errors);
+        }
+        if (headers != null) {
+            bytes += CsvImportContext.estimatedBytes(Arrays.asList(headers));
+        }
+        if (context != null) {
+            bytes += context.estimatedBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,21 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Sink for exported rows, so export services write CSV and XLSX with the same code.
+ * The first row written is the header.
+ */
+public interface ExportRowWriter extends Closeable {
+
+    void writeRow(String[] row) throws IOException;
+
+    static ExportRowWriter open(ExportFormat format, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportRowWriter(outputStream);
+            case XLSX -> new XlsxExportRowWriter(outputStream);
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link InputStreamSource} over a memory-mapped file.
+ * <p>
+ * Each stream maps the file read-only and reads straight from the page cache, so a large
+ * server-side file is never copied through a {@code read()} syscall buffer or a temp file.
+ * Files larger than one segment are mapped in several segments. The streams support
+ * {@code mark}/{@code reset}, so the importer can sniff the gzip header without buffering.
+ */
+final class MappedFileResource implements InputStreamSource {
+
+    private static final long DEFAULT_SEGMENT_SIZE = 1L << 30;
+
+    private final Path path;
+    private final long segmentSize;
+
+    MappedFileResource(Path path) {
+        this(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    MappedFileResource(Path path, long segmentSize) {
+        this.path = path;
+        this.segmentSize = segmentSize;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) ((size + segmentSize - 1) / segmentSize);
+            MappedByteBuffer[] segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long offset = i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(segmentSize, size - offset));
+            }
+            return new MappedInputStream(segments, segmentSize, size);
+        }
+    }
+
+    private static final class MappedInputStream extends InputStream {
+
+        private final MappedByteBuffer[] segments;
+        private final long segmentSize;
+        private final long size;
+        private long position;
+        private long mark;
+
+        private MappedInputStream(MappedByteBuffer[] segments, long segmentSize, long size) {
+            this.segments = segments;
+            this.segmentSize = segmentSize;
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            if (position >= size) {
+                return -1;
+            }
+            int b = segments[(int) (position / segmentSize)].get((int) (position % segmentSize)) & 0xff;
+            position++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            MappedByteBuffer segment = segments[(int) (position / segmentSize)];
+            int index = (int) (position % segmentSize);
+            int n = Math.min(len, segment.limit() - index);
+            segment.get(index, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, size - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, size - position);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readLimit) {
+            mark = position;
+        }
+
+        @Override
+        public void reset() {
+            position = mark;
+        }
+    }
+}
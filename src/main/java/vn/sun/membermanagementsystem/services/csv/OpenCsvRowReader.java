@@ -0,0 +1,25 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+
+final class OpenCsvRowReader implements CsvRowReader {
+
+    private final CSVReader reader;
+
+    OpenCsvRowReader(CSVReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public String[] readNext() throws IOException, CsvException {
+        return reader.readNext();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,36 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+
+import java.util.List;
+
+/**
+ * Implemented by {@link AbstractCsvImportService importers} that can run on
+ * {@link CsvImportEngine#STAGING}. Their {@code validateRow} must then cope with an empty
+ * {@link CsvImportContext} and leave reference and duplicate checks to {@link #validateStaged}.
+ */
+public interface StagingImporter {
+
+    /**
+     * Bulk-loads rows that passed the row-local checks into the staging tables.
+     */
+    void stageRows(String importId, List<AbstractCsvImportService.RowData> rows);
+
+    /**
+     * Runs the reference and cross-row checks over all staged rows and reports failures
+     * with {@link CsvImportResult#addError}.
+     */
+    void validateStaged(String importId, CsvImportResult<?> result);
+
+    /**
+     * Writes the staged rows to the target tables; runs in a transaction.
+     *
+     * @return number of rows imported
+     */
+    int mergeStaged(String importId);
+
+    /**
+     * Deletes the staged rows; called after every staged import, successful or not.
+     */
+    void discardStaged(String importId);
+}
@@ -0,0 +1,83 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Single-sheet XLSX written with POI's streaming {@link SXSSFWorkbook}. Only the last
+ * {@value #WINDOW_SIZE} rows are kept in memory; older rows are flushed to a compressed temp
+ * file, so heap use stays flat however many rows are exported. The workbook is written to the
+ * output stream on {@link #close()}.
+ * <p>
+ * A cell holds at most {@value #MAX_CELL_LENGTH} characters. A longer value fails the export with
+ * the row and column that overflowed instead of POI's bare {@link IllegalArgumentException}; CSV
+ * has no such limit.
+ */
+final class XlsxExportRowWriter implements ExportRowWriter {
+
+    private static final int WINDOW_SIZE = 100;
+    private static final int MAX_CELL_LENGTH = 32_767;
+
+    private final OutputStream outputStream;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private final CellStyle headerStyle;
+    private String[] headers = new String[0];
+    private int rowCount;
+
+    XlsxExportRowWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.workbook = new SXSSFWorkbook(WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet("Export");
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        this.headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+    }
+
+    @Override
+    public void writeRow(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && values[i].length() > MAX_CELL_LENGTH) {
+                String column = i < headers.length ? "\"" + headers[i] + "\"" : String.valueOf(i + 1);
+                throw new IOException(String.format(
+                        "Row %d, column %s has %,d characters; an XLSX cell holds at most %,d. Export as CSV instead.",
+                        rowCount + 1, column, values[i].length(), MAX_CELL_LENGTH));
+            }
+        }
+        if (rowCount == 0) {
+            headers = values.clone();
+        }
+
+        Row row = sheet.createRow(rowCount);
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i] != null ? values[i] : "");
+            if (rowCount == 0) {
+                row.getCell(i).setCellStyle(headerStyle);
+            }
+        }
+        if (rowCount == 0) {
+            sheet.createFreezePane(0, 1);
+        }
+        rowCount++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link CsvRowReader} over the first sheet of an XLSX workbook.
+ * <p>
+ * The sheet XML is pulled with StAX one {@code <row>} at a time, so heap use does not grow with
+ * the number of rows; only the shared strings table is loaded up front. Rows missing from the
+ * sheet are returned as empty records, so row numbers in errors match the ones Excel shows.
+ * Numeric cells are returned as plain decimals, and cells with a date format as ISO dates.
+ */
+final class XlsxRowReader implements CsvRowReader {
+
+    private static final String[] EMPTY_ROW = {""};
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final OPCPackage workbook;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final InputStream sheet;
+    private final XMLStreamReader xml;
+    private final Runnable onClose;
+
+    private int nextRowNumber = 1;
+    private String[] pendingRow;
+    private int pendingRowNumber;
+    private boolean endOfSheet;
+
+    /**
+     * @param onClose called after the workbook is closed, e.g. to delete a spooled copy
+     */
+    XlsxRowReader(Path file, Runnable onClose) throws IOException {
+        this.onClose = onClose;
+        try {
+            workbook = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (Exception e) {
+            runOnClose();
+            throw new IOException("Not a valid XLSX workbook: " + e.getMessage(), e);
+        }
+
+        try {
+            XSSFReader reader = new XSSFReader(workbook);
+            sharedStrings = new ReadOnlySharedStringsTable(workbook, false);
+            styles = reader.getStylesTable();
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("Workbook has no sheets");
+            }
+            sheet = sheets.next();
+            xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheet);
+        } catch (IOException e) {
+            close();
+            throw e;
+        } catch (OpenXML4JException | SAXException | XMLStreamException e) {
+            close();
+            throw new IOException("Could not read XLSX workbook: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String[] readNext() throws IOException {
+        if (pendingRow == null && !endOfSheet) {
+            readRow();
+        }
+        if (pendingRow == null) {
+            return null;
+        }
+
+        // Fill the gap before a sparse row with empty records
+        if (pendingRowNumber > nextRowNumber) {
+            nextRowNumber++;
+            return EMPTY_ROW;
+        }
+        String[] row = pendingRow;
+        pendingRow = null;
+        nextRowNumber++;
+        return row;
+    }
+
+    private void readRow() throws IOException {
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    String r = xml.getAttributeValue(null, "r");
+                    pendingRowNumber = r != null ? Integer.parseInt(r) : nextRowNumber;
+                    pendingRow = readCells();
+                    return;
+                }
+                if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            endOfSheet = true;
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new IOException("Could not read XLSX row " + nextRowNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    private String[] readCells() throws XMLStreamException {
+        List<String> cells = new ArrayList<>();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(xml.getLocalName())) {
+                continue;
+            }
+
+            String ref = xml.getAttributeValue(null, "r");
+            int column = ref != null ? columnIndex(ref) : cells.size();
+            String type = xml.getAttributeValue(null, "t");
+            String style = xml.getAttributeValue(null, "s");
+            String value = readCellValue(type, style);
+
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            if (column < cells.size()) {
+                cells.set(column, value);
+            } else {
+                cells.add(value);
+            }
+        }
+        return cells.isEmpty() ? EMPTY_ROW : cells.toArray(new String[0]);
+    }
+
+    private String readCellValue(String type, String style) throws XMLStreamException {
+        StringBuilder raw = new StringBuilder();
+        StringBuilder inline = new StringBuilder();
+        String element = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                element = xml.getLocalName();
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if ("v".equals(element)) {
+                    raw.append(xml.getText());
+                } else if ("t".equals(element)) {
+                    inline.append(xml.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if ("c".equals(xml.getLocalName())) {
+                    break;
+                }
+                element = null;
+            }
+        }
+
+        String value = raw.toString();
+        if (type == null || "n".equals(type)) {
+            return value.isEmpty() ? "" : formatNumber(value, style);
+        }
+        return switch (type) {
+            case "s" -> sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+            case "inlineStr" -> inline.toString();
+            case "b" -> "1".equals(value) ? "TRUE" : "FALSE";
+            default -> value; // str (formula result), e (error), d (ISO date)
+        };
+    }
+
+    private String formatNumber(String value, String style) {
+        if (style != null && styles != null) {
+            XSSFCellStyle cellStyle = styles.getStyleAt(Integer.parseInt(style));
+            if (cellStyle != null
+                    && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString())) {
+                LocalDateTime dateTime = DateUtil.getLocalDateTime(Double.parseDouble(value));
+                return dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+                        ? dateTime.toLocalDate().toString()
+                        : dateTime.format(DATE_TIME_FORMATTER);
+            }
+        }
+        return new BigDecimal(value).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Zero-based column of a cell reference such as {@code AB12}.
+     */
+    static int columnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+            if (sheet != null) {
+                sheet.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            workbook.revert();
+            runOnClose();
+        }
+    }
+
+    private void runOnClose() {
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import vn.sun.membermanagementsystem.entities.TeamMember;
+import vn.sun.membermanagementsystem.repositories.TeamMemberRepository;
+import vn.sun.membermanagementsystem.services.csv.AbstractCsvExportService;
+
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Stream;
+
+/**
+ * Exports the full team membership history, including members who have left. Team rosters only
+ * carry current members, so this is what keeps the history in a backup. There is no matching
+ * importer.
+ */
+@Service
+@RequiredArgsConstructor
+public class MembershipCsvExportService extends AbstractCsvExportService<TeamMember> {
+
+    private final TeamMemberRepository teamMemberRepository;
+
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] HEADERS = {"TeamName", "UserEmail", "Status", "JoinedAt", "LeftAt"};
+
+    @Override
+    protected Stream<TeamMember> streamEntities() {
+        return teamMemberRepository.streamAllWithTeamAndUser();
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "memberships";
+    }
+
+    @Override
+    protected String[] toRow(TeamMember membership) {
+        return new String[]{
+                membership.getTeam().getName(),
+                membership.getUser().getEmail(),
+                membership.getStatus() != null ? membership.getStatus().name() : "",
+                membership.getJoinedAt() != null ? membership.getJoinedAt().format(DATETIME_FORMATTER) : "",
+                membership.getLeftAt() != null ? membership.getLeftAt().format(DATETIME_FORMATTER) : ""
+        };
+    }
+
+    @Override
+    public String[] getExportHeaders() {
+        return HEADERS;
+    }
+}
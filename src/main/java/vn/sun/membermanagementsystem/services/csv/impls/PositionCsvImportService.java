@@ -2,17 +2,19 @@ package vn.sun.membermanagementsystem.services.csv.impls;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.entities.Position;
+import vn.sun.membermanagementsystem.repositories.PositionBatchRepository;
 import vn.sun.membermanagementsystem.repositories.PositionRepository;
 import vn.sun.membermanagementsystem.services.csv.AbstractCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.CsvImportContext;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -20,15 +22,63 @@ import java.util.List;
 public class PositionCsvImportService extends AbstractCsvImportService<Position> {
 
     private final PositionRepository positionRepository;
+    private final PositionBatchRepository positionBatchRepository;
+
+    @Value("${csv.import.jdbc-batch-size:500}")
+    private int jdbcBatchSize = 500;
+
     private static final int COL_NAME = 0;
     private static final int COL_ABBREVIATION = 1;
 
+    private static final String NAME_KEY = "position.name";
+    private static final String ABBREVIATION_KEY = "position.abbreviation";
+    // Current abbreviation of each existing position, by lower-cased name
+    private static final String CURRENT_ABBREVIATION_KEY = "position.current-abbreviation";
+    // Names and abbreviations of soft-deleted positions, which the unique indexes still hold
+    private static final String DELETED_NAME_KEY = "position.deleted-name";
+    private static final String DELETED_ABBREVIATION_KEY = "position.deleted-abbreviation";
+
+    @Override
+    protected void collectReferences(String[] data, int rowNumber, CsvImportContext context) {
+        String name = getStringValue(data, COL_NAME);
+        if (isNotBlank(name)) {
+            context.registerKey(NAME_KEY, name.toLowerCase(), rowNumber);
+        }
+        String abbreviation = getStringValue(data, COL_ABBREVIATION);
+        if (isNotBlank(abbreviation)) {
+            context.registerKey(ABBREVIATION_KEY, abbreviation.toLowerCase(), rowNumber);
+        }
+    }
+
+    @Override
+    protected void resolveReferences(CsvImportContext context) {
+        Map<String, Long> existingNames = context.lookup(NAME_KEY);
+        Map<String, String> currentAbbreviations = context.values(CURRENT_ABBREVIATION_KEY);
+        Map<String, Long> deletedNames = context.lookup(DELETED_NAME_KEY);
+        queryInChunks(context.keys(NAME_KEY), positionRepository::findAllByLowerNameIn)
+                .forEach(position -> {
+                    String key = position.getName().toLowerCase();
+                    if (position.getDeletedAt() != null) {
+                        deletedNames.put(key, position.getId());
+                        return;
+                    }
+                    existingNames.put(key, position.getId());
+                    currentAbbreviations.put(key, position.getAbbreviation());
+                });
+
+        Map<String, Long> existingAbbreviations = context.lookup(ABBREVIATION_KEY);
+        Map<String, Long> deletedAbbreviations = context.lookup(DELETED_ABBREVIATION_KEY);
+        queryInChunks(context.keys(ABBREVIATION_KEY), positionRepository::findAllByLowerAbbreviationIn)
+                .forEach(position -> (position.getDeletedAt() != null ? deletedAbbreviations : existingAbbreviations)
+                        .put(position.getAbbreviation().toLowerCase(), position.getId()));
+    }
+
     @Override
-    protected List<String> validateRowForPreview(String[] data, int rowNumber) {
-        return validateRowData(data);
+    protected List<String> validateRowForPreview(String[] data, int rowNumber, CsvImportContext context) {
+        return validateRowData(data, rowNumber, context);
     }
 
-    private List<String> validateRowData(String[] data) {
+    private List<String> validateRowData(String[] data, int rowNumber, CsvImportContext context) {
         List<String> errors = new ArrayList<>();
 
         // Validate name (required)
@@ -37,8 +87,13 @@ public class PositionCsvImportService extends AbstractCsvImportService<Position>
             errors.add("Name is required");
         } else if (name.length() > 255) {
             errors.add("Name must be less than 255 characters");
-        } else if (positionRepository.existsByNameIgnoreCaseAndNotDeleted(name, null)) {
+        } else if (!context.isUpsert() && context.lookup(NAME_KEY).containsKey(name.toLowerCase())) {
             errors.add("Position name already exists: " + name);
+        } else if (context.lookup(DELETED_NAME_KEY).containsKey(name.toLowerCase())) {
+            errors.add("Position name belongs to a deleted position: " + name);
+        } else if (context.isDuplicate(NAME_KEY, name.toLowerCase(), rowNumber)) {
+            errors.add(String.format("Duplicate position name in file: %s (first used in row %d)",
+                    name, context.firstRow(NAME_KEY, name.toLowerCase())));
         }
 
         // Validate abbreviation (required)
@@ -47,42 +102,125 @@ public class PositionCsvImportService extends AbstractCsvImportService<Position>
             errors.add("Abbreviation is required");
         } else if (abbreviation.length() > 50) {
             errors.add("Abbreviation must be less than 50 characters");
-        } else if (positionRepository.existsByAbbreviationIgnoreCaseAndNotDeleted(abbreviation, null)) {
+        } else if (isTakenByOtherPosition(abbreviation, name, context)) {
             errors.add("Abbreviation already exists: " + abbreviation);
+        } else if (context.lookup(DELETED_ABBREVIATION_KEY).containsKey(abbreviation.toLowerCase())) {
+            errors.add("Abbreviation belongs to a deleted position: " + abbreviation);
+        } else if (context.isDuplicate(ABBREVIATION_KEY, abbreviation.toLowerCase(), rowNumber)) {
+            errors.add(String.format("Duplicate abbreviation in file: %s (first used in row %d)",
+                    abbreviation, context.firstRow(ABBREVIATION_KEY, abbreviation.toLowerCase())));
         }
 
         return errors;
     }
 
-    @Override
-    @Transactional(rollbackFor = Exception.class)
-    public CsvImportResult<Position> importFromCsv(MultipartFile file) {
-        return super.importFromCsv(file);
+    /**
+     * On a sync a position may keep its own abbreviation; otherwise any existing
+     * abbreviation is taken.
+     */
+    private boolean isTakenByOtherPosition(String abbreviation, String name, CsvImportContext context) {
+        Long ownerId = context.lookup(ABBREVIATION_KEY).get(abbreviation.toLowerCase());
+        if (ownerId == null) {
+            return false;
+        }
+        return !context.isUpsert() || isBlank(name) || !ownerId.equals(context.lookup(NAME_KEY).get(name.toLowerCase()));
     }
 
     @Override
-    protected Position processRow(String[] data, int rowNumber, CsvImportResult<Position> result) {
-        String name = getStringValue(data, COL_NAME);
-        String abbreviation = getStringValue(data, COL_ABBREVIATION);
+    protected Position processRow(String[] data, int rowNumber, CsvImportResult<Position> result,
+                                  CsvImportContext context) {
+        Position position = buildPosition(data, LocalDateTime.now());
+        Long existingId = context.isUpsert() ? context.lookup(NAME_KEY).get(position.getName().toLowerCase()) : null;
+        if (existingId == null) {
+            positionBatchRepository.insertPositions(List.of(position));
+            log.info("Row {}: Inserted position '{}' ({})", rowNumber, position.getName(), position.getAbbreviation());
+        } else {
+            position.setId(existingId);
+            positionBatchRepository.updateAbbreviations(List.of(position), jdbcBatchSize);
+            log.info("Row {}: Updated position '{}' ({})", rowNumber, position.getName(), position.getAbbreviation());
+        }
+        return position;
+    }
 
-        // Create new Position entity
-        Position position = new Position();
-        position.setName(name.trim());
-        position.setAbbreviation(abbreviation.trim().toUpperCase());
-        position.setCreatedAt(LocalDateTime.now());
-        position.setUpdatedAt(LocalDateTime.now());
+    @Override
+    public boolean supportsSync() {
+        return true;
+    }
 
-        // Save to database
-        Position savedPosition = positionRepository.save(position);
-        log.info("Row {}: Created position '{}' ({}) with ID: {}", 
-                rowNumber, savedPosition.getName(), savedPosition.getAbbreviation(), savedPosition.getId());
+    /**
+     * Writes the chunk with one batched insert of the new positions and one batched update by ID
+     * of the changed ones. On a sync, rows naming an existing position update its abbreviation,
+     * and rows that would not change it are skipped. The updated count comes from the update
+     * counts; a position deleted since validation fails its row.
+     */
+    @Override
+    protected void processChunk(List<RowData> rows, CsvImportResult<Position> result, CsvImportContext context) {
+        int firstRow = rows.get(0).rowNumber();
+        int lastRow = rows.get(rows.size() - 1).rowNumber();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, Long> existingIds = context.lookup(NAME_KEY);
+            Map<String, String> currentAbbreviations = context.values(CURRENT_ABBREVIATION_KEY);
+            List<Position> createdPositions = new ArrayList<>(rows.size());
+            List<Position> updatedPositions = new ArrayList<>();
+            List<Integer> updatedRows = new ArrayList<>();
+            int unchanged = 0;
+
+            for (RowData row : rows) {
+                Position position = buildPosition(row.data(), now);
+                String key = position.getName().toLowerCase();
+                Long existingId = context.isUpsert() ? existingIds.get(key) : null;
+                if (existingId == null) {
+                    createdPositions.add(position);
+                } else if (position.getAbbreviation().equals(currentAbbreviations.get(key))) {
+                    unchanged++;
+                } else {
+                    position.setId(existingId);
+                    updatedPositions.add(position);
+                    updatedRows.add(row.rowNumber());
+                }
+            }
+
+            positionBatchRepository.insertPositions(createdPositions);
+            int[] counts = positionBatchRepository.updateAbbreviations(updatedPositions, jdbcBatchSize);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    Position position = updatedPositions.get(i);
+                    result.addError(updatedRows.get(i), "Processing",
+                            "Position was deleted during the import: " + position.getName());
+                    result.setErrorCount(result.getErrorCount() + 1);
+                    throw new CsvImportException("Import failed at row " + updatedRows.get(i));
+                }
+            }
+
+            createdPositions.forEach(position -> addImportedEntity(result, position));
+            updatedPositions.forEach(position -> addImportedEntity(result, position));
+            result.setUpdatedCount(result.getUpdatedCount() + counts.length);
+            result.setUnchangedCount(result.getUnchangedCount() + unchanged);
+            log.info("Rows {}-{}: Inserted {} positions, updated {}, left {} unchanged",
+                    firstRow, lastRow, createdPositions.size(), counts.length, unchanged);
+        } catch (CsvImportException e) {
+            throw e;
+        } catch (Exception e) {
+            result.addError(firstRow, "Processing", String.format("Rows %d-%d: %s", firstRow, lastRow, e.getMessage()));
+            result.setErrorCount(result.getErrorCount() + 1);
+            throw new CsvImportException("Import failed at rows " + firstRow + "-" + lastRow + ": " + e.getMessage());
+        }
+    }
 
-        return savedPosition;
+    private Position buildPosition(String[] data, LocalDateTime now) {
+        Position position = new Position();
+        position.setName(getStringValue(data, COL_NAME).trim());
+        position.setAbbreviation(getStringValue(data, COL_ABBREVIATION).trim().toUpperCase());
+        position.setCreatedAt(now);
+        position.setUpdatedAt(now);
+        return position;
     }
 
     @Override
-    public boolean validateRow(String[] data, int rowNumber, CsvImportResult<Position> result) {
-        List<String> errors = validateRowData(data);
+    protected boolean validateRow(String[] data, int rowNumber, CsvImportResult<Position> result,
+                                  CsvImportContext context) {
+        List<String> errors = validateRowData(data, rowNumber, context);
 
         for (String error : errors) {
             result.addError(rowNumber, "Validation", error);
@@ -1,67 +1,80 @@
 package vn.sun.membermanagementsystem.services.csv.impls;
 
-import com.opencsv.CSVWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import vn.sun.membermanagementsystem.entities.Project;
 import vn.sun.membermanagementsystem.entities.ProjectMember;
+import vn.sun.membermanagementsystem.repositories.ProjectLeadershipHistoryRepository;
+import vn.sun.membermanagementsystem.repositories.ProjectMemberRepository;
 import vn.sun.membermanagementsystem.repositories.ProjectRepository;
-import vn.sun.membermanagementsystem.services.csv.CsvExportService;
+import vn.sun.membermanagementsystem.services.csv.AbstractCsvExportService;
 
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
-public class ProjectCsvExportService implements CsvExportService<Project> {
+public class ProjectCsvExportService extends AbstractCsvExportService<Project> {
 
     private final ProjectRepository projectRepository;
+    private final ProjectLeadershipHistoryRepository projectLeadershipHistoryRepository;
+    private final ProjectMemberRepository projectMemberRepository;
 
     private static final String[] HEADERS = {
             "Name", "Abbreviation", "StartDate", "EndDate", "TeamName", "LeaderEmail", "MemberEmails"
     };
 
     @Override
-    @Transactional(readOnly = true)
-    public void exportToCsv(OutputStream outputStream) throws IOException {
-        List<Project> projects = projectRepository.findAll();
+    protected Stream<Project> streamEntities() {
+        return projectRepository.streamAllNotDeletedWithTeam();
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "projects";
+    }
 
-        try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
-            writer.writeNext(HEADERS);
+    @Override
+    protected String[] toRow(Project project) {
+        return toRows(List.of(project)).get(0);
+    }
+
+    /**
+     * Teams are fetched with the projects; leader and member emails are loaded for the whole
+     * chunk with one projection query each, so a chunk costs two queries however many projects,
+     * members or leaders it has.
+     */
+    @Override
+    protected List<String[]> toRows(List<Project> projects) {
+        List<Long> projectIds = projects.stream().map(Project::getId).toList();
 
-            for (Project p : projects) {
-                String leaderEmail = p.getLeadershipHistory().stream()
-                        .filter(h -> h.getEndedAt() == null)
-                        .findFirst()
-                        .map(h -> h.getLeader().getEmail())
-                        .orElse("");
+        Map<Long, String> leaderEmails = projectLeadershipHistoryRepository
+                .findCurrentLeaderEmailsByProjectIdIn(projectIds).stream()
+                .collect(Collectors.toMap(ProjectRepository.ProjectEmail::getProjectId,
+                        ProjectRepository.ProjectEmail::getEmail, (first, second) -> first));
 
-                String memberEmails = p.getProjectMembers().stream()
-                        .filter(pm -> pm.getStatus() == ProjectMember.MemberStatus.ACTIVE)
-                        .map(pm -> pm.getUser().getEmail())
-                        .collect(Collectors.joining(";"));
+        Map<Long, String> memberEmails = projectMemberRepository
+                .findMemberEmailsByProjectIdIn(projectIds, ProjectMember.MemberStatus.ACTIVE).stream()
+                .collect(Collectors.groupingBy(ProjectRepository.ProjectEmail::getProjectId,
+                        Collectors.mapping(ProjectRepository.ProjectEmail::getEmail, Collectors.joining(";"))));
 
-                String[] data = new String[]{
+        return projects.stream()
+                .map(p -> new String[]{
                         p.getName(),
                         p.getAbbreviation(),
                         p.getStartDate() != null ? p.getStartDate().toString() : "",
                         p.getEndDate() != null ? p.getEndDate().toString() : "",
                         p.getTeam() != null ? p.getTeam().getName() : "",
-                        leaderEmail,
-                        memberEmails
-                };
-                writer.writeNext(data);
-            }
-        }
+                        leaderEmails.getOrDefault(p.getId(), ""),
+                        memberEmails.getOrDefault(p.getId(), "")
+                })
+                .toList();
     }
 
     @Override
     public String[] getExportHeaders() {
         return HEADERS;
     }
-}
\ No newline at end of file
+}
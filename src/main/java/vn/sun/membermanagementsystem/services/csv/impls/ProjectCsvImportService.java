@@ -6,18 +6,19 @@ import org.springframework.stereotype.Service;
 import vn.sun.membermanagementsystem.dto.request.CreateProjectRequest;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.dto.response.ProjectDTO;
-import vn.sun.membermanagementsystem.entities.Team;
-import vn.sun.membermanagementsystem.entities.User;
 import vn.sun.membermanagementsystem.repositories.TeamRepository;
 import vn.sun.membermanagementsystem.repositories.UserRepository;
 import vn.sun.membermanagementsystem.services.ProjectService;
 import vn.sun.membermanagementsystem.services.csv.AbstractCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.CsvImportContext;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -32,6 +33,9 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
             "Name", "Abbreviation", "StartDate", "EndDate", "TeamName", "LeaderEmail", "MemberEmails"
     };
 
+    private static final String TEAM_KEY = "team.name";
+    private static final String USER_KEY = "user.email";
+
     @Override
     public String[] getExpectedHeaders() {
         return HEADERS;
@@ -45,7 +49,42 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
     }
 
     @Override
-    protected ProjectDTO processRow(String[] data, int rowNumber, CsvImportResult<ProjectDTO> result) {
+    protected void collectReferences(String[] data, int rowNumber, CsvImportContext context) {
+        String teamName = getStringValue(data, 4);
+        if (isNotBlank(teamName)) {
+            context.registerKey(TEAM_KEY, teamName.toLowerCase(), rowNumber);
+        }
+
+        String leaderEmail = getStringValue(data, 5);
+        if (isNotBlank(leaderEmail)) {
+            context.registerKey(USER_KEY, leaderEmail.toLowerCase(), rowNumber);
+        }
+
+        String memberEmailsStr = getStringValue(data, 6);
+        if (isNotBlank(memberEmailsStr)) {
+            for (String email : memberEmailsStr.split(";")) {
+                String cleanEmail = email.trim();
+                if (!cleanEmail.isEmpty()) {
+                    context.registerKey(USER_KEY, cleanEmail.toLowerCase(), rowNumber);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void resolveReferences(CsvImportContext context) {
+        Map<String, Long> teamIds = context.lookup(TEAM_KEY);
+        queryInChunks(context.keys(TEAM_KEY), teamRepository::findAllByNameInAndNotDeleted)
+                .forEach(team -> teamIds.put(team.getName().toLowerCase(), team.getId()));
+
+        Map<String, Long> userIds = context.lookup(USER_KEY);
+        queryInChunks(context.unresolvedKeys(USER_KEY), userRepository::findAllByEmailIn)
+                .forEach(user -> userIds.put(user.getEmail().toLowerCase(), user.getId()));
+    }
+
+    @Override
+    protected ProjectDTO processRow(String[] data, int rowNumber, CsvImportResult<ProjectDTO> result,
+                                  CsvImportContext context) {
         String name = getStringValue(data, 0);
         String abbrev = getStringValue(data, 1);
         String sDateStr = getStringValue(data, 2);
@@ -54,8 +93,10 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
         String leaderEmail = getStringValue(data, 5);
         String memberEmailsStr = getStringValue(data, 6);
 
-        Team team = teamRepository.findByNameAndNotDeleted(teamName)
-                .orElseThrow(() -> new CsvImportException("Team not found: " + teamName));
+        Long teamId = context.lookup(TEAM_KEY).get(teamName.toLowerCase());
+        if (teamId == null) {
+            throw new CsvImportException("Team not found: " + teamName);
+        }
 
         CreateProjectRequest request = new CreateProjectRequest();
         request.setName(name);
@@ -64,12 +105,15 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
         if (isNotBlank(eDateStr)) {
             request.setEndDate(LocalDate.parse(eDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")));
         }
-        request.setTeamId(team.getId());
+        request.setTeamId(teamId);
 
+        Map<String, Long> userIds = context.lookup(USER_KEY);
         if (isNotBlank(leaderEmail)) {
-            User leader = userRepository.findByEmail(leaderEmail)
-                    .orElseThrow(() -> new CsvImportException("Leader email not found: " + leaderEmail));
-            request.setLeaderId(leader.getId());
+            Long leaderId = userIds.get(leaderEmail.toLowerCase());
+            if (leaderId == null) {
+                throw new CsvImportException("Leader email not found: " + leaderEmail);
+            }
+            request.setLeaderId(leaderId);
         }
 
         if (isNotBlank(memberEmailsStr)) {
@@ -79,9 +123,11 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
             for (String email : emails) {
                 String cleanEmail = email.trim();
                 if (!cleanEmail.isEmpty()) {
-                    User member = userRepository.findByEmail(cleanEmail)
-                            .orElseThrow(() -> new CsvImportException("Member email not found: " + cleanEmail));
-                    memberIds.add(member.getId());
+                    Long memberId = userIds.get(cleanEmail.toLowerCase());
+                    if (memberId == null) {
+                        throw new CsvImportException("Member email not found: " + cleanEmail);
+                    }
+                    memberIds.add(memberId);
                 }
             }
             request.setMemberIds(memberIds);
@@ -91,7 +137,8 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
     }
 
     @Override
-    public boolean validateRow(String[] data, int rowNumber, CsvImportResult<ProjectDTO> result) {
+    protected boolean validateRow(String[] data, int rowNumber, CsvImportResult<ProjectDTO> result,
+                                  CsvImportContext context) {
         boolean isValid = true;
 
         if (isBlank(getStringValue(data, 0))) { result.addError(rowNumber, "Name", "Required"); isValid = false; }
@@ -112,14 +159,15 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
         }
 
         String teamName = getStringValue(data, 4);
-        if (isNotBlank(teamName) && teamRepository.findByNameAndNotDeleted(teamName).isEmpty()) {
+        if (isNotBlank(teamName) && !context.lookup(TEAM_KEY).containsKey(teamName.toLowerCase())) {
             result.addError(rowNumber, "TeamName", "Team not found: " + teamName);
             isValid = false;
         }
 
+        Map<String, Long> userIds = context.lookup(USER_KEY);
         String leaderEmail = getStringValue(data, 5);
         if (isNotBlank(leaderEmail)) {
-            if (userRepository.findByEmail(leaderEmail).isEmpty()) {
+            if (!userIds.containsKey(leaderEmail.toLowerCase())) {
                 result.addError(rowNumber, "LeaderEmail", "User not found: " + leaderEmail);
                 isValid = false;
             }
@@ -130,7 +178,7 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
             String[] emails = memberEmailsStr.split(";");
             for (String email : emails) {
                 String cleanEmail = email.trim();
-                if (!cleanEmail.isEmpty() && userRepository.findByEmail(cleanEmail).isEmpty()) {
+                if (!cleanEmail.isEmpty() && !userIds.containsKey(cleanEmail.toLowerCase())) {
                     result.addError(rowNumber, "MemberEmails", "User not found: " + cleanEmail);
                     isValid = false;
                 }
@@ -140,20 +188,17 @@ public class ProjectCsvImportService extends AbstractCsvImportService<ProjectDTO
         return isValid;
     }
 
+    /**
+     * Runs the same checks as an import so a confirmed preview cannot let through rows
+     * the import would reject.
+     */
     @Override
-    protected List<String> validateRowForPreview(String[] data, int rowNumber) {
-        List<String> errors = new ArrayList<>();
-
-        String teamName = getStringValue(data, 4);
-        if (isNotBlank(teamName) && teamRepository.findByNameAndNotDeleted(teamName).isEmpty()) {
-            errors.add("Team not found: " + teamName);
-        }
-
-        String leaderEmail = getStringValue(data, 5);
-        if (isNotBlank(leaderEmail) && userRepository.findByEmail(leaderEmail).isEmpty()) {
-            errors.add("Leader not found: " + leaderEmail);
-        }
-
-        return errors;
+    protected List<String> validateRowForPreview(String[] data, int rowNumber, CsvImportContext context) {
+        CsvImportResult<ProjectDTO> result = new CsvImportResult<>();
+        result.setErrors(new ArrayList<>());
+        validateRow(data, rowNumber, result, context);
+        return result.getErrors().stream()
+                .map(error -> error.getField() + ": " + error.getMessage())
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 }
\ No newline at end of file
@@ -2,17 +2,21 @@ package vn.sun.membermanagementsystem.services.csv.impls;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.entities.Skill;
+import vn.sun.membermanagementsystem.repositories.SkillBatchRepository;
 import vn.sun.membermanagementsystem.repositories.SkillRepository;
 import vn.sun.membermanagementsystem.services.csv.AbstractCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.CsvImportContext;
 
+import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @Service
@@ -20,17 +24,53 @@ import java.util.List;
 public class SkillCsvImportService extends AbstractCsvImportService<Skill> {
 
     private final SkillRepository skillRepository;
+    private final SkillBatchRepository skillBatchRepository;
+
+    @Value("${csv.import.jdbc-batch-size:500}")
+    private int jdbcBatchSize = 500;
 
     // Column indices
     private static final int COL_NAME = 0;
     private static final int COL_DESCRIPTION = 1;
 
+    private static final String NAME_KEY = "skill.name";
+    private static final String DESCRIPTION_KEY = "skill.description";
+    // Names of soft-deleted skills, which the unique index still holds
+    private static final String DELETED_NAME_KEY = "skill.deleted-name";
+
+    @Override
+    protected void collectReferences(String[] data, int rowNumber, CsvImportContext context) {
+        String name = getStringValue(data, COL_NAME);
+        if (isNotBlank(name)) {
+            context.registerKey(NAME_KEY, name.toLowerCase(), rowNumber);
+        }
+    }
+
+    @Override
+    protected void resolveReferences(CsvImportContext context) {
+        Map<String, Long> existingNames = context.lookup(NAME_KEY);
+        Map<String, String> descriptions = context.values(DESCRIPTION_KEY);
+        Map<String, Long> deletedNames = context.lookup(DELETED_NAME_KEY);
+        queryInChunks(context.keys(NAME_KEY), skillRepository::findAllByLowerNameIn)
+                .forEach(skill -> {
+                    String key = skill.getName().toLowerCase();
+                    if (skill.getDeletedAt() != null) {
+                        deletedNames.put(key, skill.getId());
+                        return;
+                    }
+                    existingNames.put(key, skill.getId());
+                    if (skill.getDescription() != null) {
+                        descriptions.put(key, skill.getDescription());
+                    }
+                });
+    }
+
     @Override
-    protected List<String> validateRowForPreview(String[] data, int rowNumber) {
-        return validateRowData(data);
+    protected List<String> validateRowForPreview(String[] data, int rowNumber, CsvImportContext context) {
+        return validateRowData(data, rowNumber, context);
     }
 
-    private List<String> validateRowData(String[] data) {
+    private List<String> validateRowData(String[] data, int rowNumber, CsvImportContext context) {
         List<String> errors = new ArrayList<>();
 
         // Validate name (required)
@@ -39,8 +79,13 @@ public class SkillCsvImportService extends AbstractCsvImportService<Skill> {
             errors.add("Name is required");
         } else if (name.length() > 255) {
             errors.add("Name must be less than 255 characters");
-        } else if (skillRepository.existsByNameIgnoreCaseAndNotDeleted(name)) {
+        } else if (!context.isUpsert() && context.lookup(NAME_KEY).containsKey(name.toLowerCase())) {
             errors.add("Skill name already exists: " + name);
+        } else if (context.lookup(DELETED_NAME_KEY).containsKey(name.toLowerCase())) {
+            errors.add("Skill name belongs to a deleted skill: " + name);
+        } else if (context.isDuplicate(NAME_KEY, name.toLowerCase(), rowNumber)) {
+            errors.add(String.format("Duplicate skill name in file: %s (first used in row %d)",
+                    name, context.firstRow(NAME_KEY, name.toLowerCase())));
         }
 
         // Description is optional, no validation needed
@@ -49,34 +94,110 @@ public class SkillCsvImportService extends AbstractCsvImportService<Skill> {
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public CsvImportResult<Skill> importFromCsv(MultipartFile file) {
-        return super.importFromCsv(file);
+    protected Skill processRow(String[] data, int rowNumber, CsvImportResult<Skill> result,
+                                  CsvImportContext context) {
+        Skill skill = buildSkill(data, LocalDateTime.now());
+        if (context.isUpsert()) {
+            skillBatchRepository.upsertSkills(List.of(skill), jdbcBatchSize);
+            log.info("Row {}: Upserted skill '{}'", rowNumber, skill.getName());
+        } else {
+            skillBatchRepository.insertSkills(List.of(skill));
+            log.info("Row {}: Created skill '{}'", rowNumber, skill.getName());
+        }
+        return skill;
     }
 
     @Override
-    protected Skill processRow(String[] data, int rowNumber, CsvImportResult<Skill> result) {
-        String name = getStringValue(data, COL_NAME);
+    public boolean supportsSync() {
+        return true;
+    }
+
+    /**
+     * Writes the chunk with one batch. A plain import inserts every row, so a name taken since
+     * validation fails the chunk. On a sync, rows naming an existing skill update its
+     * description, rows that would not change it are skipped, and the rest are upserted.
+     * Created and updated counts then come from the update count of each row; when the driver
+     * does not report them (a rewritten batch), the lookup made before the write decides.
+     */
+    @Override
+    protected void processChunk(List<RowData> rows, CsvImportResult<Skill> result, CsvImportContext context) {
+        int firstRow = rows.get(0).rowNumber();
+        int lastRow = rows.get(rows.size() - 1).rowNumber();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, Long> existingIds = context.lookup(NAME_KEY);
+            Map<String, String> descriptions = context.values(DESCRIPTION_KEY);
+            List<Skill> createdSkills = new ArrayList<>(rows.size());
+            List<Skill> updatedSkills = new ArrayList<>();
+            int unchanged = 0;
+
+            for (RowData row : rows) {
+                Skill skill = buildSkill(row.data(), now);
+                String key = skill.getName().toLowerCase();
+                Long existingId = context.isUpsert() ? existingIds.get(key) : null;
+                if (existingId == null) {
+                    createdSkills.add(skill);
+                } else if (Objects.equals(skill.getDescription(), descriptions.get(key))) {
+                    unchanged++;
+                } else {
+                    skill.setId(existingId);
+                    updatedSkills.add(skill);
+                }
+            }
+
+            int created = 0;
+            int updated = 0;
+            if (!context.isUpsert()) {
+                skillBatchRepository.insertSkills(createdSkills);
+                createdSkills.forEach(skill -> addImportedEntity(result, skill));
+                created = createdSkills.size();
+            } else {
+                List<Skill> changedSkills = new ArrayList<>(createdSkills);
+                changedSkills.addAll(updatedSkills);
+                int[] counts = skillBatchRepository.upsertSkills(changedSkills, jdbcBatchSize);
+
+                for (int i = 0; i < changedSkills.size(); i++) {
+                    Skill skill = changedSkills.get(i);
+                    int count = counts[i] == Statement.SUCCESS_NO_INFO
+                            ? (skill.getId() != null ? SkillBatchRepository.UPDATED : SkillBatchRepository.INSERTED)
+                            : counts[i];
+                    if (count == SkillBatchRepository.INSERTED) {
+                        created++;
+                    } else if (count == SkillBatchRepository.UPDATED) {
+                        updated++;
+                    } else {
+                        unchanged++;
+                        continue;
+                    }
+                    addImportedEntity(result, skill);
+                }
+            }
+            result.setUpdatedCount(result.getUpdatedCount() + updated);
+            result.setUnchangedCount(result.getUnchangedCount() + unchanged);
+            log.info("Rows {}-{}: Inserted {} skills, updated {}, left {} unchanged",
+                    firstRow, lastRow, created, updated, unchanged);
+        } catch (Exception e) {
+            result.addError(firstRow, "Processing", String.format("Rows %d-%d: %s", firstRow, lastRow, e.getMessage()));
+            result.setErrorCount(result.getErrorCount() + 1);
+            throw new CsvImportException("Import failed at rows " + firstRow + "-" + lastRow + ": " + e.getMessage());
+        }
+    }
+
+    private Skill buildSkill(String[] data, LocalDateTime now) {
         String description = getStringValue(data, COL_DESCRIPTION);
 
-        // Create new Skill entity
         Skill skill = new Skill();
-        skill.setName(name.trim());
+        skill.setName(getStringValue(data, COL_NAME).trim());
         skill.setDescription(isNotBlank(description) ? description.trim() : null);
-        skill.setCreatedAt(LocalDateTime.now());
-        skill.setUpdatedAt(LocalDateTime.now());
-
-        // Save to database
-        Skill savedSkill = skillRepository.save(skill);
-        log.info("Row {}: Created skill '{}' with ID: {}", 
-                rowNumber, savedSkill.getName(), savedSkill.getId());
-
-        return savedSkill;
+        skill.setCreatedAt(now);
+        skill.setUpdatedAt(now);
+        return skill;
     }
 
     @Override
-    public boolean validateRow(String[] data, int rowNumber, CsvImportResult<Skill> result) {
-        List<String> errors = validateRowData(data);
+    protected boolean validateRow(String[] data, int rowNumber, CsvImportResult<Skill> result,
+                                  CsvImportContext context) {
+        List<String> errors = validateRowData(data, rowNumber, context);
 
         for (String error : errors) {
             result.addError(rowNumber, "Validation", error);
@@ -0,0 +1,217 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import vn.sun.membermanagementsystem.entities.UserSkill;
+
+import java.math.BigDecimal;
+
+/**
+ * Cursor over the {@code Skill:Level:Years|Skill:Level:Years} column of user imports.
+ * <p>
+ * Entries and their parts are located by index instead of with {@code split}, and the level
+ * and years are checked in place, so validating a row allocates nothing unless a value is
+ * actually needed ({@link #name()}, {@link #years()}). Entry numbers and part counts match
+ * {@code split("\\|")} and {@code split(":")} on trimmed entries, so error messages are the
+ * same as before.
+ * <pre>
+ * SkillsColumn skills = new SkillsColumn(value);
+ * while (skills.next()) {
+ *     if (skills.partCount() &lt; 2) ...
+ * }
+ * </pre>
+ */
+final class SkillsColumn {
+
+    private static final UserSkill.Level[] LEVELS = UserSkill.Level.values();
+
+    private final String column;
+    private int nextStart;
+    private int entryNumber;
+
+    private int partCount;
+    private int nameStart;
+    private int nameEnd;
+    private int levelStart;
+    private int levelEnd;
+    private int yearsStart;
+    private int yearsEnd;
+
+    SkillsColumn(String column) {
+        this.column = column;
+    }
+
+    /**
+     * Advances to the next non-blank entry.
+     */
+    boolean next() {
+        while (nextStart <= column.length()) {
+            int start = nextStart;
+            int end = column.indexOf('|', start);
+            if (end < 0) {
+                end = column.length();
+            }
+            nextStart = end + 1;
+            entryNumber++;
+
+            start = skipWhitespace(start, end);
+            end = trimEnd(start, end);
+            if (start < end) {
+                locateParts(start, end);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 1-based position of the entry in the column, counting blank entries.
+     */
+    int entryNumber() {
+        return entryNumber;
+    }
+
+    /**
+     * Number of {@code :}-separated parts, ignoring trailing empty ones.
+     */
+    int partCount() {
+        return partCount;
+    }
+
+    boolean isNameBlank() {
+        return partCount < 1 || nameStart == nameEnd;
+    }
+
+    String name() {
+        return column.substring(nameStart, nameEnd);
+    }
+
+    /**
+     * @return the level, or {@code null} if the entry has none or it is not a known level
+     */
+    UserSkill.Level level() {
+        if (partCount < 2) {
+            return null;
+        }
+        int length = levelEnd - levelStart;
+        for (UserSkill.Level level : LEVELS) {
+            String name = level.name();
+            if (name.length() == length && column.regionMatches(true, levelStart, name, 0, length)) {
+                return level;
+            }
+        }
+        return null;
+    }
+
+    String rawLevel() {
+        return partCount < 2 ? "" : column.substring(levelStart, levelEnd);
+    }
+
+    boolean hasYears() {
+        return partCount >= 3;
+    }
+
+    /**
+     * Whether the years part is a number {@link BigDecimal} accepts.
+     */
+    boolean isYearsValid() {
+        int i = yearsStart;
+        if (i < yearsEnd && (column.charAt(i) == '+' || column.charAt(i) == '-')) {
+            i++;
+        }
+        int digits = 0;
+        while (i < yearsEnd && Character.isDigit(column.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < yearsEnd && column.charAt(i) == '.') {
+            i++;
+            while (i < yearsEnd && Character.isDigit(column.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < yearsEnd && (column.charAt(i) == 'e' || column.charAt(i) == 'E')) {
+            i++;
+            if (i < yearsEnd && (column.charAt(i) == '+' || column.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < yearsEnd && Character.isDigit(column.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        return i == yearsEnd;
+    }
+
+    String rawYears() {
+        return hasYears() ? column.substring(yearsStart, yearsEnd) : "";
+    }
+
+    /**
+     * @return the years, or zero if the entry has none
+     */
+    BigDecimal years() {
+        return hasYears() ? new BigDecimal(rawYears()) : BigDecimal.ZERO;
+    }
+
+    private void locateParts(int start, int end) {
+        // Like split(":"), trailing empty parts do not count
+        int effectiveEnd = end;
+        while (effectiveEnd > start && column.charAt(effectiveEnd - 1) == ':') {
+            effectiveEnd--;
+        }
+
+        partCount = 0;
+        int partStart = start;
+        while (partStart <= effectiveEnd && effectiveEnd > start) {
+            int partEnd = column.indexOf(':', partStart);
+            if (partEnd < 0 || partEnd > effectiveEnd) {
+                partEnd = effectiveEnd;
+            }
+            setPart(partCount++, partStart, partEnd);
+            partStart = partEnd + 1;
+        }
+    }
+
+    private void setPart(int index, int start, int end) {
+        int trimmedStart = skipWhitespace(start, end);
+        int trimmedEnd = trimEnd(trimmedStart, end);
+        switch (index) {
+            case 0 -> {
+                nameStart = trimmedStart;
+                nameEnd = trimmedEnd;
+            }
+            case 1 -> {
+                levelStart = trimmedStart;
+                levelEnd = trimmedEnd;
+            }
+            case 2 -> {
+                yearsStart = trimmedStart;
+                yearsEnd = trimmedEnd;
+            }
+            default -> {
+                // Extra parts are ignored
+            }
+        }
+    }
+
+    private int skipWhitespace(int start, int end) {
+        while (start < end && column.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && column.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
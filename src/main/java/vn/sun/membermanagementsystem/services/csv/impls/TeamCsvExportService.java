@@ -0,0 +1,79 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import vn.sun.membermanagementsystem.entities.Team;
+import vn.sun.membermanagementsystem.repositories.TeamLeadershipHistoryRepository;
+import vn.sun.membermanagementsystem.repositories.TeamMemberRepository;
+import vn.sun.membermanagementsystem.repositories.TeamRepository;
+import vn.sun.membermanagementsystem.services.csv.AbstractCsvExportService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exports team rosters in the format {@link TeamCsvImportService} reads: one row per team with
+ * its current leader and active members. The leader is not repeated among the members.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamCsvExportService extends AbstractCsvExportService<Team> {
+
+    private final TeamRepository teamRepository;
+    private final TeamLeadershipHistoryRepository teamLeadershipHistoryRepository;
+    private final TeamMemberRepository teamMemberRepository;
+
+    private static final String[] HEADERS = {"Name", "Description", "LeaderEmail", "MemberEmails"};
+
+    @Override
+    protected Stream<Team> streamEntities() {
+        return teamRepository.streamAllNotDeleted();
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "teams";
+    }
+
+    @Override
+    protected String[] toRow(Team team) {
+        return toRows(List.of(team)).get(0);
+    }
+
+    @Override
+    protected List<String[]> toRows(List<Team> teams) {
+        List<Long> teamIds = teams.stream().map(Team::getId).toList();
+
+        Map<Long, String> leaderEmails = teamLeadershipHistoryRepository
+                .findCurrentLeaderEmailsByTeamIdIn(teamIds).stream()
+                .collect(Collectors.toMap(TeamRepository.TeamEmail::getTeamId,
+                        TeamRepository.TeamEmail::getEmail, (first, second) -> first));
+
+        Map<Long, List<String>> memberEmails = teamMemberRepository
+                .findActiveMemberEmailsByTeamIdIn(teamIds).stream()
+                .collect(Collectors.groupingBy(TeamRepository.TeamEmail::getTeamId,
+                        Collectors.mapping(TeamRepository.TeamEmail::getEmail, Collectors.toList())));
+
+        return teams.stream()
+                .map(team -> {
+                    String leaderEmail = leaderEmails.getOrDefault(team.getId(), "");
+                    String members = memberEmails.getOrDefault(team.getId(), List.of()).stream()
+                            .filter(email -> !email.equalsIgnoreCase(leaderEmail))
+                            .collect(Collectors.joining(";"));
+                    return new String[]{
+                            team.getName(),
+                            team.getDescription() != null ? team.getDescription() : "",
+                            leaderEmail,
+                            members
+                    };
+                })
+                .toList();
+    }
+
+    @Override
+    public String[] getExportHeaders() {
+        return HEADERS;
+    }
+}
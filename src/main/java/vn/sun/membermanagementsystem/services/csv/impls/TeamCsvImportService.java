@@ -1,35 +1,269 @@
 package vn.sun.membermanagementsystem.services.csv.impls;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
 import vn.sun.membermanagementsystem.entities.Team;
+import vn.sun.membermanagementsystem.entities.TeamLeadershipHistory;
+import vn.sun.membermanagementsystem.entities.TeamMember;
+import vn.sun.membermanagementsystem.entities.User;
+import vn.sun.membermanagementsystem.enums.MembershipStatus;
+import vn.sun.membermanagementsystem.repositories.TeamBatchRepository;
+import vn.sun.membermanagementsystem.repositories.TeamMemberRepository;
+import vn.sun.membermanagementsystem.repositories.TeamRepository;
+import vn.sun.membermanagementsystem.repositories.UserRepository;
 import vn.sun.membermanagementsystem.services.csv.AbstractCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.CsvImportContext;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Imports team rosters: one row per new team with its leader and members.
+ * <p>
+ * Users, existing teams and the users' current memberships are each resolved with one
+ * set-based query per lookup chunk, so a file with thousands of memberships validates
+ * without per-member queries. Teams, memberships and leaderships are then written with
+ * JDBC batches. The leader is added as a member, as when a leader is assigned by hand.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
 public class TeamCsvImportService extends AbstractCsvImportService<Team> {
+
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final TeamBatchRepository teamBatchRepository;
+
+    @Value("${csv.import.jdbc-batch-size:500}")
+    private int jdbcBatchSize = 500;
+
+    private static final int COL_NAME = 0;
+    private static final int COL_DESCRIPTION = 1;
+    private static final int COL_LEADER_EMAIL = 2;
+    private static final int COL_MEMBER_EMAILS = 3;
+
+    private static final String TEAM_KEY = "team.name";
+    // Names of soft-deleted teams, which the unique index still holds
+    private static final String DELETED_TEAM_KEY = "team.deleted-name";
+    private static final String USER_KEY = "user.email";
+    // Every user the file puts in a team, to catch users listed in two rows
+    private static final String MEMBER_KEY = "team.member";
+    private static final String CURRENT_TEAM_KEY = "team.current";
+
     @Override
-    protected List<String> validateRowForPreview(String[] data, int rowNumber) {
-        return List.of();
+    protected void collectReferences(String[] data, int rowNumber, CsvImportContext context) {
+        String name = getStringValue(data, COL_NAME);
+        if (isNotBlank(name)) {
+            context.registerKey(TEAM_KEY, name.toLowerCase(), rowNumber);
+        }
+
+        for (String email : rosterEmails(data)) {
+            context.registerKey(USER_KEY, email, rowNumber);
+            context.registerKey(MEMBER_KEY, email, rowNumber);
+        }
     }
 
     @Override
-    protected Team processRow(String[] data, int rowNumber, CsvImportResult<Team> result) {
-        return null;
+    protected void resolveReferences(CsvImportContext context) {
+        Map<String, Long> teamIds = context.lookup(TEAM_KEY);
+        Map<String, Long> deletedTeamIds = context.lookup(DELETED_TEAM_KEY);
+        queryInChunks(context.keys(TEAM_KEY), teamRepository::findAllByNameIn)
+                .forEach(team -> (team.getDeletedAt() != null ? deletedTeamIds : teamIds)
+                        .put(team.getName().toLowerCase(), team.getId()));
+
+        Map<String, Long> userIds = context.lookup(USER_KEY);
+        Map<Long, String> emailsById = new HashMap<>();
+        queryInChunks(context.unresolvedKeys(USER_KEY), userRepository::findAllByEmailInAndNotDeleted)
+                .forEach(user -> userIds.put(user.getEmail().toLowerCase(), user.getId()));
+        userIds.forEach((email, id) -> emailsById.put(id, email));
+
+        // One query per chunk for every roster user that is already in a team
+        Map<String, String> currentTeams = context.values(CURRENT_TEAM_KEY);
+        queryInChunks(emailsById.keySet(), teamMemberRepository::findActiveTeamsByUserIds)
+                .forEach(membership -> currentTeams.put(
+                        emailsById.get(membership.getUser().getId()), membership.getTeam().getName()));
     }
 
     @Override
-    public boolean validateRow(String[] data, int rowNumber, CsvImportResult<Team> result) {
-        return false;
+    protected List<String> validateRowForPreview(String[] data, int rowNumber, CsvImportContext context) {
+        return validateRowData(data, rowNumber, context);
+    }
+
+    private List<String> validateRowData(String[] data, int rowNumber, CsvImportContext context) {
+        List<String> errors = new ArrayList<>();
+
+        // Validate name
+        String name = getStringValue(data, COL_NAME);
+        if (isBlank(name)) {
+            errors.add("Name is required");
+        } else if (name.length() > 255) {
+            errors.add("Name must be less than 255 characters");
+        } else if (context.lookup(TEAM_KEY).containsKey(name.toLowerCase())) {
+            errors.add("Team name already exists: " + name);
+        } else if (context.lookup(DELETED_TEAM_KEY).containsKey(name.toLowerCase())) {
+            errors.add("Team name belongs to a deleted team: " + name);
+        } else if (context.isDuplicate(TEAM_KEY, name.toLowerCase(), rowNumber)) {
+            errors.add(String.format("Duplicate team name in file: %s (first used in row %d)",
+                    name, context.firstRow(TEAM_KEY, name.toLowerCase())));
+        }
+
+        // Validate leader and members
+        Map<String, Long> userIds = context.lookup(USER_KEY);
+        Map<String, String> currentTeams = context.values(CURRENT_TEAM_KEY);
+        String leaderEmail = getStringValue(data, COL_LEADER_EMAIL);
+        for (String email : rosterEmails(data)) {
+            boolean leader = isNotBlank(leaderEmail) && email.equals(leaderEmail.toLowerCase());
+            if (!userIds.containsKey(email)) {
+                errors.add((leader ? "Leader not found: " : "Member not found: ") + email);
+            } else if (currentTeams.containsKey(email)) {
+                errors.add(String.format("User %s is already in team '%s'. Please transfer instead.",
+                        email, currentTeams.get(email)));
+            } else if (context.isDuplicate(MEMBER_KEY, email, rowNumber)) {
+                errors.add(String.format("User %s is listed in more than one team (first in row %d)",
+                        email, context.firstRow(MEMBER_KEY, email)));
+            }
+        }
+
+        return errors;
     }
 
     @Override
-    public String[] getExpectedHeaders() {
-        return new String[0];
+    protected boolean validateRow(String[] data, int rowNumber, CsvImportResult<Team> result,
+                                  CsvImportContext context) {
+        List<String> errors = validateRowData(data, rowNumber, context);
+
+        for (String error : errors) {
+            result.addError(rowNumber, "Validation", error);
+        }
+
+        return errors.isEmpty();
+    }
+
+    @Override
+    protected void processChunk(List<RowData> rows, CsvImportResult<Team> result, CsvImportContext context) {
+        int firstRow = rows.get(0).rowNumber();
+        int lastRow = rows.get(rows.size() - 1).rowNumber();
+        try {
+            List<Team> teams = insertRosters(rows.stream().map(RowData::data).toList(), context);
+            teams.forEach(team -> addImportedEntity(result, team));
+            log.info("Rows {}-{}: Bulk inserted {} teams", firstRow, lastRow, teams.size());
+        } catch (Exception e) {
+            result.addError(firstRow, "Processing", String.format("Rows %d-%d: %s", firstRow, lastRow, e.getMessage()));
+            result.setErrorCount(result.getErrorCount() + 1);
+            throw new CsvImportException("Import failed at rows " + firstRow + "-" + lastRow + ": " + e.getMessage());
+        }
     }
 
+    @Override
+    protected Team processRow(String[] data, int rowNumber, CsvImportResult<Team> result,
+                              CsvImportContext context) {
+        return insertRosters(List.<String[]>of(data), context).get(0);
+    }
+
+    private List<Team> insertRosters(List<String[]> rows, CsvImportContext context) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> userIds = context.lookup(USER_KEY);
+        List<Team> teams = new ArrayList<>(rows.size());
+        List<TeamMember> members = new ArrayList<>();
+        List<TeamLeadershipHistory> leaderships = new ArrayList<>();
+
+        for (String[] data : rows) {
+            String description = getStringValue(data, COL_DESCRIPTION);
+
+            Team team = new Team();
+            team.setName(getStringValue(data, COL_NAME).trim());
+            team.setDescription(isNotBlank(description) ? description : null);
+            team.setCreatedAt(now);
+            team.setUpdatedAt(now);
+            teams.add(team);
+
+            for (String email : rosterEmails(data)) {
+                TeamMember member = new TeamMember();
+                member.setUser(userReference(userIds, email));
+                member.setTeam(team);
+                member.setStatus(MembershipStatus.ACTIVE);
+                member.setJoinedAt(now);
+                members.add(member);
+            }
+
+            String leaderEmail = getStringValue(data, COL_LEADER_EMAIL);
+            if (isNotBlank(leaderEmail)) {
+                TeamLeadershipHistory leadership = new TeamLeadershipHistory();
+                leadership.setTeam(team);
+                leadership.setLeader(userReference(userIds, leaderEmail.toLowerCase()));
+                leadership.setStartedAt(now);
+                leaderships.add(leadership);
+            }
+        }
+
+        // Team IDs are assigned from the generated keys, so memberships can reference them
+        teamBatchRepository.insertTeams(teams);
+        if (!members.isEmpty()) {
+            teamBatchRepository.insertTeamMembers(members, jdbcBatchSize);
+        }
+        if (!leaderships.isEmpty()) {
+            teamBatchRepository.insertLeaderships(leaderships, jdbcBatchSize);
+        }
+
+        log.debug("Inserted {} teams with {} members and {} leaders", teams.size(), members.size(), leaderships.size());
+        return teams;
+    }
+
+    private User userReference(Map<String, Long> userIds, String email) {
+        Long userId = userIds.get(email);
+        if (userId == null) {
+            throw new IllegalStateException("User not resolved: " + email);
+        }
+        return User.builder().id(userId).build();
+    }
+
+    /**
+     * Lower-cased leader and member emails of a row, leader first, without repeats.
+     */
+    private Set<String> rosterEmails(String[] data) {
+        Set<String> emails = new LinkedHashSet<>();
+        String leaderEmail = getStringValue(data, COL_LEADER_EMAIL);
+        if (isNotBlank(leaderEmail)) {
+            emails.add(leaderEmail.toLowerCase());
+        }
+
+        String memberEmails = getStringValue(data, COL_MEMBER_EMAILS);
+        if (isNotBlank(memberEmails)) {
+            for (String email : memberEmails.split(";")) {
+                String cleanEmail = email.trim();
+                if (!cleanEmail.isEmpty()) {
+                    emails.add(cleanEmail.toLowerCase());
+                }
+            }
+        }
+        return emails;
+    }
+
+    @Override
+    public String[] getExpectedHeaders() {
+        return new String[]{
+                "Name",
+                "Description",
+                "LeaderEmail",
+                "MemberEmails"
+        };
+    }
 
     @Override
     public String generateSampleCsv() {
-        return "";
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.join(",", getExpectedHeaders())).append("\n");
+        sb.append("Development Team 1,Backend and web development,leader@sun.vn,dev1@sun.vn;dev2@sun.vn\n");
+        sb.append("Marketing Team,,marketing_lead@sun.vn,\n");
+        return sb.toString();
     }
 }
@@ -1,29 +1,29 @@
 package vn.sun.membermanagementsystem.services.csv.impls;
 
-import com.opencsv.CSVWriter;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.sun.membermanagementsystem.entities.User;
 import vn.sun.membermanagementsystem.entities.UserSkill;
+import vn.sun.membermanagementsystem.enums.UserRole;
+import vn.sun.membermanagementsystem.enums.UserStatus;
 import vn.sun.membermanagementsystem.repositories.UserRepository;
 import vn.sun.membermanagementsystem.repositories.UserSkillRepository;
-import vn.sun.membermanagementsystem.services.csv.CsvExportService;
+import vn.sun.membermanagementsystem.services.csv.AbstractCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.ExportFormat;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-@Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserCsvExportService implements CsvExportService<User> {
+public class UserCsvExportService extends AbstractCsvExportService<User> {
 
     private final UserRepository userRepository;
     private final UserSkillRepository userSkillRepository;
@@ -31,47 +31,66 @@ public class UserCsvExportService implements CsvExportService<User> {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     @Override
+    protected Stream<User> streamEntities() {
+        return userRepository.streamAllNotDeleted();
+    }
+
+    /**
+     * Exports only the users matching the admin list filters. Matching users are read in keyset
+     * pages, so exporting one team reads that team's members rather than the whole table; without
+     * any filter this is the same as {@link #export(OutputStream, ExportFormat)}.
+     */
     @Transactional(readOnly = true)
-    public void exportToCsv(OutputStream outputStream) throws IOException {
-        log.info("Starting export of users to CSV");
-        
-        List<User> users = userRepository.findAllNotDeleted();
-        
-        try (CSVWriter writer = new CSVWriter(
-                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
-                CSVWriter.DEFAULT_SEPARATOR,
-                CSVWriter.DEFAULT_QUOTE_CHARACTER,
-                CSVWriter.DEFAULT_ESCAPE_CHARACTER,
-                CSVWriter.DEFAULT_LINE_END)) {
-            
-            // Write BOM for Excel UTF-8 support
-            outputStream.write(0xEF);
-            outputStream.write(0xBB);
-            outputStream.write(0xBF);
-            
-            writer.writeNext(getExportHeaders());
-            
-            for (User user : users) {
-                String[] row = convertUserToRow(user);
-                writer.writeNext(row);
-            }
-            
-            log.info("Successfully exported {} users to CSV", users.size());
+    public void export(OutputStream outputStream, ExportFormat format,
+                       String keyword, UserStatus status, UserRole role, Long teamId) throws IOException {
+        boolean filtered = (keyword != null && !keyword.isBlank()) || status != null || role != null || teamId != null;
+        if (!filtered) {
+            export(outputStream, format);
+            return;
         }
+
+        writeEntities(outputStream, format, keysetStream(
+                (afterId, page) -> userRepository.searchUsersWithTeamAfterId(
+                        keyword, status, role, teamId, afterId, page),
+                User::getId));
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "users";
+    }
+
+    @Override
+    protected String[] toRow(User user) {
+        return toRows(List.of(user)).get(0);
+    }
+
+    /**
+     * Loads the skills of the whole chunk with one join-fetch query and groups them by user,
+     * instead of querying each user's skills (and each lazy skill) separately.
+     */
+    @Override
+    protected List<String[]> toRows(List<User> users) {
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        Map<Long, List<UserSkill>> skillsByUser = userSkillRepository.findAllWithSkillByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(us -> us.getUser().getId()));
+
+        return users.stream()
+                .map(user -> toRow(user, skillsByUser.getOrDefault(user.getId(), List.of())))
+                .toList();
     }
 
-    private String[] convertUserToRow(User user) {
+    private String[] toRow(User user, List<UserSkill> userSkills) {
         List<String> row = new ArrayList<>();
-        
+
         row.add(user.getId() != null ? user.getId().toString() : "");
         row.add(user.getName() != null ? user.getName() : "");
         row.add(user.getEmail() != null ? user.getEmail() : "");
         row.add(user.getBirthday() != null ? user.getBirthday().format(DATE_FORMATTER) : "");
         row.add(user.getRole() != null ? user.getRole().name() : "");
         row.add(user.getStatus() != null ? user.getStatus().name() : "");
-        
+
         // Skills - format: skill1:level1:years1|skill2:level2:years2
-        List<UserSkill> userSkills = userSkillRepository.findByUserId(user.getId());
         String skillsString = userSkills.stream()
                 .map(us -> {
                     String skillName = us.getSkill() != null ? us.getSkill().getName() : "";
@@ -81,7 +100,7 @@ public class UserCsvExportService implements CsvExportService<User> {
                 })
                 .collect(Collectors.joining("|"));
         row.add(skillsString);
-        
+
         return row.toArray(new String[0]);
     }
 
@@ -2,44 +2,64 @@ package vn.sun.membermanagementsystem.services.csv.impls;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import vn.sun.membermanagementsystem.dto.request.CreateSkillRequest;
 import vn.sun.membermanagementsystem.dto.request.UserCreateDTO;
 import vn.sun.membermanagementsystem.dto.request.UserSkillRequestDTO;
 import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
-import vn.sun.membermanagementsystem.dto.response.SkillDTO;
 import vn.sun.membermanagementsystem.dto.response.UserProfileDetailDTO;
 import vn.sun.membermanagementsystem.entities.Skill;
 import vn.sun.membermanagementsystem.entities.User;
 import vn.sun.membermanagementsystem.entities.UserSkill;
 import vn.sun.membermanagementsystem.enums.UserRole;
 import vn.sun.membermanagementsystem.enums.UserStatus;
+import vn.sun.membermanagementsystem.repositories.SkillBatchRepository;
 import vn.sun.membermanagementsystem.repositories.SkillRepository;
+import vn.sun.membermanagementsystem.repositories.UserBatchRepository;
 import vn.sun.membermanagementsystem.repositories.UserRepository;
-import vn.sun.membermanagementsystem.services.SkillService;
+import vn.sun.membermanagementsystem.repositories.UserStagingRepository;
+import vn.sun.membermanagementsystem.services.PasswordHashingService;
 import vn.sun.membermanagementsystem.services.UserService;
 import vn.sun.membermanagementsystem.services.csv.AbstractCsvImportService;
-import org.springframework.web.multipart.MultipartFile;
+import vn.sun.membermanagementsystem.services.csv.CsvImportContext;
+import vn.sun.membermanagementsystem.services.csv.StagingImporter;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserCsvImportService extends AbstractCsvImportService<User> {
+public class UserCsvImportService extends AbstractCsvImportService<User> implements StagingImporter {
 
     private final UserRepository userRepository;
     private final SkillRepository skillRepository;
     private final UserService userService;
-    private final SkillService skillService;
+    private final SkillBatchRepository skillBatchRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final UserStagingRepository userStagingRepository;
+
+    @Value("${default.user.password:123456}")
+    private String defaultPassword;
+
+    @Value("${csv.import.users.bulk-insert:true}")
+    private boolean bulkInsert = true;
+
+    @Value("${csv.import.jdbc-batch-size:500}")
+    private int jdbcBatchSize = 500;
 
     private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
     private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
@@ -52,12 +72,99 @@ public class UserCsvImportService extends AbstractCsvImportService<User> {
     private static final int COL_STATUS = 4;
     private static final int COL_SKILLS = 5;
 
+    private static final String EMAIL_KEY = "user.email";
+    private static final String SKILL_KEY = "skill.name";
+    private static final String HASH_KEY = "user.import-hash";
+    // Emails of soft-deleted users, which the unique index still holds
+    private static final String DELETED_EMAIL_KEY = "user.deleted-email";
+    // Names of soft-deleted skills, which the unique index still holds
+    private static final String DELETED_SKILL_KEY = "skill.deleted-name";
+
+    @Override
+    protected void collectReferences(String[] data, int rowNumber, CsvImportContext context) {
+        String email = getStringValue(data, COL_EMAIL);
+        if (isNotBlank(email)) {
+            context.registerKey(EMAIL_KEY, email.toLowerCase(), rowNumber);
+        }
+
+        String skillsStr = getStringValue(data, COL_SKILLS);
+        if (isNotBlank(skillsStr)) {
+            SkillsColumn skills = new SkillsColumn(skillsStr);
+            while (skills.next()) {
+                if (!skills.isNameBlank()) {
+                    String skillName = skills.name();
+                    context.registerKey(SKILL_KEY, skillName.toLowerCase(), skillName, rowNumber);
+                }
+            }
+        }
+    }
+
     @Override
-    protected List<String> validateRowForPreview(String[] data, int rowNumber) {
-        return validateRowData(data);
+    protected void resolveReferences(CsvImportContext context) {
+        Map<String, Long> existingEmails = context.lookup(EMAIL_KEY);
+        Map<String, String> importHashes = context.values(HASH_KEY);
+        Map<String, Long> deletedEmails = context.lookup(DELETED_EMAIL_KEY);
+        queryInChunks(context.keys(EMAIL_KEY), userRepository::findImportKeysByEmailIn)
+                .forEach(user -> {
+                    if (user.getDeletedAt() != null) {
+                        deletedEmails.put(user.getEmail().toLowerCase(), user.getId());
+                        return;
+                    }
+                    existingEmails.put(user.getEmail().toLowerCase(), user.getId());
+                    context.share(EMAIL_KEY, user.getEmail().toLowerCase(), user.getId());
+                    if (user.getImportHash() != null) {
+                        importHashes.put(user.getEmail().toLowerCase(), user.getImportHash());
+                    }
+                });
+
+        // The skill catalogue is small, so load it once instead of querying per name
+        Map<String, Long> skillIds = context.lookup(SKILL_KEY);
+        Map<String, Long> deletedSkillIds = context.lookup(DELETED_SKILL_KEY);
+        if (!context.keys(SKILL_KEY).isEmpty()) {
+            skillRepository.findAll()
+                    .forEach(skill -> (skill.getDeletedAt() != null ? deletedSkillIds : skillIds)
+                            .putIfAbsent(skill.getName().toLowerCase(), skill.getId()));
+            deletedSkillIds.keySet().removeAll(skillIds.keySet());
+        }
+    }
+
+    /**
+     * Creates every skill the file references but the catalogue does not have yet,
+     * in one batch, so row processing only does dictionary lookups.
+     */
+    @Override
+    protected void beforeProcessing(CsvImportContext context) {
+        Map<String, Long> skillIds = context.lookup(SKILL_KEY);
+        Map<String, Long> deletedSkillIds = context.lookup(DELETED_SKILL_KEY);
+        LocalDateTime now = LocalDateTime.now();
+        List<Skill> missingSkills = new ArrayList<>();
+
+        for (String key : context.keys(SKILL_KEY)) {
+            if (!skillIds.containsKey(key) && !deletedSkillIds.containsKey(key)) {
+                Skill skill = new Skill();
+                skill.setName(context.label(SKILL_KEY, key));
+                skill.setDescription("Auto-created from CSV import");
+                skill.setCreatedAt(now);
+                skill.setUpdatedAt(now);
+                missingSkills.add(skill);
+            }
+        }
+
+        if (missingSkills.isEmpty()) {
+            return;
+        }
+
+        skillBatchRepository.insertSkills(missingSkills);
+        missingSkills.forEach(skill -> skillIds.put(skill.getName().toLowerCase(), skill.getId()));
+        log.info("Created {} new skills from CSV import", missingSkills.size());
     }
 
-    private List<String> validateRowData(String[] data) {
+    @Override
+    protected List<String> validateRowForPreview(String[] data, int rowNumber, CsvImportContext context) {
+        return validateRowData(data, rowNumber, context);
+    }
+
+    private List<String> validateRowData(String[] data, int rowNumber, CsvImportContext context) {
         List<String> errors = new ArrayList<>();
 
         // Validate name
@@ -76,8 +183,13 @@ public class UserCsvImportService extends AbstractCsvImportService<User> {
             errors.add("Invalid email format");
         } else if (email.length() > 255) {
             errors.add("Email must be less than 255 characters");
-        } else if (userRepository.existsByEmailAndNotDeleted(email)) {
+        } else if (context.lookup(DELETED_EMAIL_KEY).containsKey(email.toLowerCase())) {
+            errors.add("Email belongs to a deleted user: " + email);
+        } else if (!context.isUpsert() && context.lookup(EMAIL_KEY).containsKey(email.toLowerCase())) {
             errors.add("Email already exists: " + email);
+        } else if (context.isDuplicate(EMAIL_KEY, email.toLowerCase(), rowNumber)) {
+            errors.add(String.format("Duplicate email in file: %s (first used in row %d)",
+                    email, context.firstRow(EMAIL_KEY, email.toLowerCase())));
         }
 
         // Validate birthday
@@ -115,62 +227,272 @@ public class UserCsvImportService extends AbstractCsvImportService<User> {
         // Validate skills format
         String skillsStr = getStringValue(data, COL_SKILLS);
         if (isNotBlank(skillsStr)) {
-            List<String> skillErrors = validateSkillsFormat(skillsStr);
-            errors.addAll(skillErrors);
+            validateSkillsFormat(skillsStr, context, errors);
         }
 
         return errors;
     }
 
-    private List<String> validateSkillsFormat(String skillsStr) {
-        List<String> errors = new ArrayList<>();
-        
+    private void validateSkillsFormat(String skillsStr, CsvImportContext context, List<String> errors) {
         // Format: skill1:level1:years1|skill2:level2:years2
-        String[] skillEntries = skillsStr.split("\\|");
-        
-        for (int i = 0; i < skillEntries.length; i++) {
-            String entry = skillEntries[i].trim();
-            if (entry.isEmpty()) continue;
-            
-            String[] parts = entry.split(":");
-            if (parts.length < 2) {
-                errors.add(String.format("Skill entry %d: Invalid format. Use 'SkillName:Level:Years'", i + 1));
+        SkillsColumn skills = new SkillsColumn(skillsStr);
+        while (skills.next()) {
+            int entry = skills.entryNumber();
+            if (skills.partCount() < 2) {
+                errors.add(String.format("Skill entry %d: Invalid format. Use 'SkillName:Level:Years'", entry));
                 continue;
             }
-            
-            String skillName = parts[0].trim();
-            if (skillName.isEmpty()) {
-                errors.add(String.format("Skill entry %d: Skill name is required", i + 1));
+
+            if (skills.isNameBlank()) {
+                errors.add(String.format("Skill entry %d: Skill name is required", entry));
+            } else if (context.lookup(DELETED_SKILL_KEY).containsKey(skills.name().toLowerCase())) {
+                errors.add(String.format("Skill entry %d: Skill name belongs to a deleted skill: %s", entry, skills.name()));
             }
-            
-            String level = parts[1].trim();
-            try {
-                UserSkill.Level.valueOf(level.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                errors.add(String.format("Skill entry %d: Invalid level '%s'. Must be BEGINNER, INTERMEDIATE, ADVANCED, or EXPERT", i + 1, level));
+
+            if (skills.level() == null) {
+                errors.add(String.format("Skill entry %d: Invalid level '%s'. Must be BEGINNER, INTERMEDIATE, ADVANCED, or EXPERT", entry, skills.rawLevel()));
             }
-            
-            if (parts.length >= 3) {
-                String years = parts[2].trim();
-                try {
-                    new BigDecimal(years);
-                } catch (NumberFormatException e) {
-                    errors.add(String.format("Skill entry %d: Invalid years value '%s'", i + 1, years));
+
+            if (skills.hasYears() && !skills.isYearsValid()) {
+                errors.add(String.format("Skill entry %d: Invalid years value '%s'", entry, skills.rawYears()));
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsSync() {
+        return true;
+    }
+
+    /**
+     * Sync imports always take the batch path, so unchanged rows cost no writes at all.
+     */
+    @Override
+    protected void processChunk(List<RowData> rows, CsvImportResult<User> result, CsvImportContext context) {
+        if (!bulkInsert && !context.isUpsert()) {
+            super.processChunk(rows, result, context);
+            return;
+        }
+
+        int firstRow = rows.get(0).rowNumber();
+        int lastRow = rows.get(rows.size() - 1).rowNumber();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, Long> existingIds = context.lookup(EMAIL_KEY);
+            Map<String, String> importHashes = context.values(HASH_KEY);
+            List<User> createdUsers = new ArrayList<>(rows.size());
+            List<User> updatedUsers = new ArrayList<>();
+            List<UserSkill> userSkills = new ArrayList<>();
+            int unchanged = 0;
+
+            for (RowData row : rows) {
+                String email = getStringValue(row.data(), COL_EMAIL).toLowerCase();
+                String importHash = contentHash(row.data());
+                Long existingId = context.isUpsert() ? existingIds.get(email) : null;
+                if (existingId != null && importHash.equals(importHashes.get(email))) {
+                    unchanged++;
+                    continue;
+                }
+
+                User user = buildUser(row.data(), now);
+                user.setImportHash(importHash);
+                if (existingId != null) {
+                    user.setId(existingId);
+                    updatedUsers.add(user);
+                } else {
+                    createdUsers.add(user);
+                }
+
+                String skillsStr = getStringValue(row.data(), COL_SKILLS);
+                if (isNotBlank(skillsStr)) {
+                    for (UserSkillRequestDTO skillDTO : processSkillsForDto(skillsStr, context)) {
+                        UserSkill userSkill = new UserSkill();
+                        userSkill.setUser(user);
+                        userSkill.setSkill(skillRepository.getReferenceById(skillDTO.getSkillId()));
+                        userSkill.setLevel(skillDTO.getLevel());
+                        userSkill.setUsedYearNumber(skillDTO.getUsedYearNumber());
+                        userSkill.setCreatedAt(now);
+                        userSkill.setUpdatedAt(now);
+                        userSkills.add(userSkill);
+                    }
                 }
             }
+
+            // BCrypt dominates the chunk, so every new user's password is hashed in parallel
+            List<String> hashes = passwordHashingService.hashAll(
+                    Collections.nCopies(createdUsers.size(), defaultPassword));
+            for (int i = 0; i < createdUsers.size(); i++) {
+                createdUsers.get(i).setPasswordHash(hashes.get(i));
+            }
+
+            // User IDs are assigned from the generated keys, so skills can reference them
+            if (!createdUsers.isEmpty()) {
+                userBatchRepository.insertUsers(createdUsers, jdbcBatchSize);
+                createdUsers.forEach(user -> context.share(EMAIL_KEY, user.getEmail().toLowerCase(), user.getId()));
+            }
+            if (!updatedUsers.isEmpty()) {
+                // Changed rows carry the full skill list, so it replaces the stored one
+                userBatchRepository.updateUsers(updatedUsers, jdbcBatchSize);
+                userBatchRepository.deleteUserSkills(updatedUsers.stream().map(User::getId).toList(), jdbcBatchSize);
+            }
+            if (!userSkills.isEmpty()) {
+                userBatchRepository.insertUserSkills(userSkills, jdbcBatchSize);
+            }
+
+            createdUsers.forEach(user -> addImportedEntity(result, user));
+            updatedUsers.forEach(user -> addImportedEntity(result, user));
+            result.setUpdatedCount(result.getUpdatedCount() + updatedUsers.size());
+            result.setUnchangedCount(result.getUnchangedCount() + unchanged);
+            log.info("Rows {}-{}: Bulk inserted {} users, updated {}, left {} unchanged, wrote {} user skills",
+                    firstRow, lastRow, createdUsers.size(), updatedUsers.size(), unchanged, userSkills.size());
+        } catch (Exception e) {
+            result.addError(firstRow, "Processing", String.format("Rows %d-%d: %s", firstRow, lastRow, e.getMessage()));
+            result.setErrorCount(result.getErrorCount() + 1);
+            throw new CsvImportException("Import failed at rows " + firstRow + "-" + lastRow + ": " + e.getMessage());
         }
-        
-        return errors;
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public CsvImportResult<User> importFromCsv(MultipartFile file) {
-        return super.importFromCsv(file);
+    public void stageRows(String importId, List<RowData> rows) {
+        List<UserStagingRepository.StagedUser> users = new ArrayList<>(rows.size());
+        List<UserStagingRepository.StagedUserSkill> skills = new ArrayList<>();
+
+        for (RowData row : rows) {
+            String[] data = row.data();
+            String birthdayStr = getStringValue(data, COL_BIRTHDAY);
+            String statusStr = getStringValue(data, COL_STATUS);
+            users.add(new UserStagingRepository.StagedUser(
+                    row.rowNumber(),
+                    getStringValue(data, COL_NAME),
+                    getStringValue(data, COL_EMAIL),
+                    isNotBlank(birthdayStr) ? LocalDate.parse(birthdayStr, DATE_FORMATTER) : null,
+                    UserRole.valueOf(getStringValue(data, COL_ROLE).toUpperCase().trim()),
+                    isNotBlank(statusStr) ? UserStatus.valueOf(statusStr.toUpperCase().trim()) : UserStatus.ACTIVE,
+                    contentHash(data)));
+
+            String skillsStr = getStringValue(data, COL_SKILLS);
+            if (isNotBlank(skillsStr)) {
+                SkillsColumn column = new SkillsColumn(skillsStr);
+                while (column.next()) {
+                    if (column.partCount() >= 2) {
+                        skills.add(new UserStagingRepository.StagedUserSkill(
+                                row.rowNumber(), column.name(), column.level(), column.years()));
+                    }
+                }
+            }
+        }
+
+        userStagingRepository.stageUsers(importId, users, jdbcBatchSize);
+        userStagingRepository.stageUserSkills(importId, skills, jdbcBatchSize);
+    }
+
+    @Override
+    public void validateStaged(String importId, CsvImportResult<?> result) {
+        for (UserStagingRepository.StagedEmail existing : userStagingRepository.findExistingEmails(importId)) {
+            result.addError(existing.rowNumber(), "Validation", "Email already exists: " + existing.email());
+        }
+        for (UserStagingRepository.StagedEmail deleted : userStagingRepository.findDeletedUserEmails(importId)) {
+            result.addError(deleted.rowNumber(), "Validation", "Email belongs to a deleted user: " + deleted.email());
+        }
+        for (UserStagingRepository.StagedSkillName deleted : userStagingRepository.findDeletedSkillNames(importId)) {
+            result.addError(deleted.rowNumber(), "Validation", "Skill name belongs to a deleted skill: " + deleted.skillName());
+        }
+        for (UserStagingRepository.StagedEmail duplicate : userStagingRepository.findDuplicateEmails(importId)) {
+            result.addError(duplicate.rowNumber(), "Validation", String.format(
+                    "Duplicate email in file: %s (first used in row %d)", duplicate.email(), duplicate.firstRow()));
+        }
     }
 
+    /**
+     * Hashes the passwords into the staging table, then creates missing skills and inserts
+     * users and user skills with one statement each.
+     */
     @Override
-    protected User processRow(String[] data, int rowNumber, CsvImportResult<User> result) {
+    public int mergeStaged(String importId) {
+        List<Integer> rowNumbers = userStagingRepository.findStagedRowNumbers(importId);
+        for (int from = 0; from < rowNumbers.size(); from += jdbcBatchSize) {
+            List<Integer> batch = rowNumbers.subList(from, Math.min(from + jdbcBatchSize, rowNumbers.size()));
+            List<String> hashes = passwordHashingService.hashAll(Collections.nCopies(batch.size(), defaultPassword));
+            Map<Integer, String> hashByRow = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                hashByRow.put(batch.get(i), hashes.get(i));
+            }
+            userStagingRepository.updatePasswordHashes(importId, hashByRow, jdbcBatchSize);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int createdSkills = userStagingRepository.insertMissingSkills(importId, now);
+        userStagingRepository.resolveSkillIds(importId);
+        int users = userStagingRepository.mergeUsers(importId, now);
+        int userSkills = userStagingRepository.mergeUserSkills(importId, now);
+        log.info("Merged {} staged users with {} user skills, created {} new skills", users, userSkills, createdSkills);
+        return users;
+    }
+
+    @Override
+    public void discardStaged(String importId) {
+        try {
+            userStagingRepository.deleteStaged(importId);
+        } catch (RuntimeException e) {
+            log.warn("Could not delete staged rows of import {}", importId, e);
+        }
+    }
+
+    private User buildUser(String[] data, LocalDateTime now) {
+        String birthdayStr = getStringValue(data, COL_BIRTHDAY);
+        String statusStr = getStringValue(data, COL_STATUS);
+
+        User user = new User();
+        user.setName(getStringValue(data, COL_NAME));
+        user.setEmail(getStringValue(data, COL_EMAIL));
+        if (isNotBlank(birthdayStr)) {
+            user.setBirthday(LocalDate.parse(birthdayStr, DATE_FORMATTER));
+        }
+        user.setRole(UserRole.valueOf(getStringValue(data, COL_ROLE).toUpperCase()));
+        user.setStatus(isNotBlank(statusStr) ? UserStatus.valueOf(statusStr.toUpperCase()) : UserStatus.ACTIVE);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    /**
+     * SHA-256 of the normalized row, stored on the user so a later sync can tell whether
+     * the row changed. Skills are sorted, so reordering them is not a change.
+     */
+    private String contentHash(String[] data) {
+        List<String> skills = new ArrayList<>();
+        String skillsStr = getStringValue(data, COL_SKILLS);
+        if (isNotBlank(skillsStr)) {
+            SkillsColumn column = new SkillsColumn(skillsStr);
+            while (column.next()) {
+                if (column.partCount() >= 2) {
+                    skills.add(column.name().toLowerCase() + ":" + column.rawLevel().toUpperCase()
+                            + ":" + column.years().stripTrailingZeros().toPlainString());
+                }
+            }
+            Collections.sort(skills);
+        }
+
+        String statusStr = getStringValue(data, COL_STATUS);
+        String normalized = String.join("\u001f",
+                getStringValue(data, COL_NAME),
+                getStringValue(data, COL_EMAIL).toLowerCase(),
+                getStringValue(data, COL_BIRTHDAY),
+                getStringValue(data, COL_ROLE).toUpperCase(),
+                isNotBlank(statusStr) ? statusStr.toUpperCase() : UserStatus.ACTIVE.name(),
+                String.join("|", skills));
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    protected User processRow(String[] data, int rowNumber, CsvImportResult<User> result,
+                              CsvImportContext context) {
         String name = getStringValue(data, COL_NAME);
         String email = getStringValue(data, COL_EMAIL);
         String birthdayStr = getStringValue(data, COL_BIRTHDAY);
@@ -192,49 +514,33 @@ public class UserCsvImportService extends AbstractCsvImportService<User> {
 
         // Process skills
         if (isNotBlank(skillsStr)) {
-            List<UserSkillRequestDTO> skillDTOs = processSkillsForDto(skillsStr, rowNumber);
+            List<UserSkillRequestDTO> skillDTOs = processSkillsForDto(skillsStr, context);
             userCreateDTO.setSkills(skillDTOs);
         }
 
         UserProfileDetailDTO createdUser = userService.createUser(userCreateDTO);
+        context.share(EMAIL_KEY, email.toLowerCase(), createdUser.getId());
         log.info("Row {}: Created user with ID: {} via UserService", rowNumber, createdUser.getId());
         return userRepository.findByIdAndNotDeleted(createdUser.getId()).orElse(null);
     }
 
-    private List<UserSkillRequestDTO> processSkillsForDto(String skillsStr, int rowNumber) {
+    private List<UserSkillRequestDTO> processSkillsForDto(String skillsStr, CsvImportContext context) {
+        Map<String, Long> skillIds = context.lookup(SKILL_KEY);
         List<UserSkillRequestDTO> skillDTOs = new ArrayList<>();
-        String[] skillEntries = skillsStr.split("\\|");
-        
-        for (String entry : skillEntries) {
-            entry = entry.trim();
-            if (entry.isEmpty()) continue;
-            
-            String[] parts = entry.split(":");
-            if (parts.length < 2) continue;
-            
-            String skillName = parts[0].trim();
-            String levelStr = parts[1].trim();
-            BigDecimal years = parts.length >= 3 ? new BigDecimal(parts[2].trim()) : BigDecimal.ZERO;
-            
-            Optional<Skill> skillOpt = skillRepository.findByNameIgnoreCaseAndNotDeleted(skillName);
+        SkillsColumn skills = new SkillsColumn(skillsStr);
+        while (skills.next()) {
+            if (skills.partCount() < 2) continue;
             
-            Long skillId;
-            if (skillOpt.isEmpty()) {
-                CreateSkillRequest createSkillRequest = CreateSkillRequest.builder()
-                        .name(skillName)
-                        .description("Auto-created from CSV import")
-                        .build();
-                SkillDTO createdSkill = skillService.createSkill(createSkillRequest);
-                skillId = createdSkill.getId();
-                log.info("Row {}: Created new skill '{}' with ID: {} via SkillService", rowNumber, skillName, skillId);
-            } else {
-                skillId = skillOpt.get().getId();
+            String skillName = skills.name();
+            Long skillId = skillIds.get(skillName.toLowerCase());
+            if (skillId == null) {
+                throw new IllegalStateException("Skill not resolved: " + skillName);
             }
             
             UserSkillRequestDTO skillDTO = new UserSkillRequestDTO();
             skillDTO.setSkillId(skillId);
-            skillDTO.setLevel(UserSkill.Level.valueOf(levelStr.toUpperCase()));
-            skillDTO.setUsedYearNumber(years);
+            skillDTO.setLevel(skills.level());
+            skillDTO.setUsedYearNumber(skills.years());
             skillDTOs.add(skillDTO);
         }
         
@@ -242,8 +548,9 @@ public class UserCsvImportService extends AbstractCsvImportService<User> {
     }
 
     @Override
-    public boolean validateRow(String[] data, int rowNumber, CsvImportResult<User> result) {
-        List<String> errors = validateRowData(data);
+    protected boolean validateRow(String[] data, int rowNumber, CsvImportResult<User> result,
+                                  CsvImportContext context) {
+        List<String> errors = validateRowData(data, rowNumber, context);
         
         for (String error : errors) {
             result.addError(rowNumber, "Validation", error);
@@ -0,0 +1,373 @@
+package vn.sun.membermanagementsystem.services.impls;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import vn.sun.membermanagementsystem.entities.ActivityLog;
+import vn.sun.membermanagementsystem.repositories.ActivityLogBatchRepository;
+import vn.sun.membermanagementsystem.repositories.UserRepository;
+import vn.sun.membermanagementsystem.services.ActivityLogWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind pipeline for activity logs.
+ * <p>
+ * Events go into a bounded lock-free queue (a {@link ConcurrentLinkedQueue} bounded by a CAS
+ * counter) and a single background worker writes them with JDBC batches, once
+ * {@code activity-log.writer.batch-size} events are queued or every
+ * {@code activity-log.writer.flush-interval}, whichever comes first. The users of a batch are
+ * resolved with one query. While the queue is full, {@code activity-log.writer.overflow-policy}
+ * decides whether callers block, drop the event or spill it to a file; spilled events, and batches
+ * that failed to write under the spill policy, are written once the queue is empty again, including
+ * after a restart. Queue depth, flush latency and written, dropped and spilled counts are published
+ * as {@code activity.log.*} metrics.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityLogWriterImpl implements ActivityLogWriter {
+
+    private static final String SPILL_FILE = "activity-log.spill";
+    private static final String REPLAY_FILE = "activity-log.spill.replay";
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ActivityLogBatchRepository activityLogBatchRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${activity-log.writer.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${activity-log.writer.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${activity-log.writer.flush-interval:1s}")
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    @Value("${activity-log.writer.overflow-policy:SPILL}")
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+
+    @Value("${activity-log.writer.block-timeout:500ms}")
+    private Duration blockTimeout = Duration.ofMillis(500);
+
+    @Value("${activity-log.writer.spill-directory:}")
+    private String spillDirectory;
+
+    private final ConcurrentLinkedQueue<Event> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Object spillLock = new Object();
+
+    private Path spillFile;
+    private Path replayFile;
+    private volatile boolean running;
+    private Thread worker;
+
+    private Timer flushTimer;
+    private Counter writtenCounter;
+    private Counter droppedCounter;
+    private Counter spilledCounter;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path directory = spillDirectory == null || spillDirectory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "activity-log-spill")
+                : Path.of(spillDirectory);
+        Files.createDirectories(directory);
+        spillFile = directory.resolve(SPILL_FILE);
+        replayFile = directory.resolve(REPLAY_FILE);
+
+        Gauge.builder("activity.log.queue.depth", depth, AtomicInteger::get)
+                .description("Activity log events waiting to be written")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("activity.log.flush.duration")
+                .description("Time spent writing one batch of activity log events")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("activity.log.written").register(meterRegistry);
+        droppedCounter = Counter.builder("activity.log.dropped").register(meterRegistry);
+        spilledCounter = Counter.builder("activity.log.spilled").register(meterRegistry);
+
+        running = true;
+        worker = Thread.ofPlatform().name("activity-log-writer").daemon(true).start(this::run);
+
+        log.info("Activity log writer started: capacity {}, batch size {}, flush interval {}, overflow policy {}",
+                queueCapacity, batchSize, flushInterval, overflowPolicy);
+    }
+
+    /**
+     * Stops the worker after it has written everything still queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(SHUTDOWN_TIMEOUT);
+        if (worker.isAlive()) {
+            log.warn("Activity log writer did not finish within {}, {} events not written", SHUTDOWN_TIMEOUT, depth.get());
+        }
+    }
+
+    @Override
+    public void write(Event event) {
+        if (!running) {
+            // Shutting down: the worker may already be done, so write the event directly
+            if (!flush(List.of(event))) {
+                overflow(List.of(event));
+            }
+            return;
+        }
+        if (tryEnqueue(event)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeout.toNanos();
+                while (System.nanoTime() < deadline) {
+                    LockSupport.unpark(worker);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (tryEnqueue(event)) {
+                        return;
+                    }
+                }
+                drop(List.of(event));
+            }
+            case SPILL -> spill(List.of(event));
+            case DROP -> drop(List.of(event));
+        }
+    }
+
+    private boolean tryEnqueue(Event event) {
+        int current;
+        do {
+            current = depth.get();
+            if (current >= queueCapacity) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+
+        queue.offer(event);
+        if (current + 1 >= batchSize) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    private void run() {
+        while (running) {
+            if (depth.get() < batchSize) {
+                LockSupport.parkNanos(this, flushInterval.toNanos());
+            }
+            try {
+                flushQueue();
+                if (depth.get() == 0) {
+                    replaySpill();
+                }
+            } catch (RuntimeException e) {
+                log.error("Activity log writer failed: {}", e.getMessage(), e);
+            }
+        }
+        flushQueue();
+    }
+
+    /**
+     * Writes everything queued so far, {@code batchSize} events at a time.
+     */
+    void flushQueue() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        Event event;
+        while ((event = queue.poll()) != null) {
+            depth.decrementAndGet();
+            batch.add(event);
+            if (batch.size() == batchSize) {
+                writeOrOverflow(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeOrOverflow(batch);
+        }
+    }
+
+    private void writeOrOverflow(List<Event> batch) {
+        if (!flush(batch)) {
+            overflow(batch);
+        }
+    }
+
+    /**
+     * Resolves the batch's users with one query and inserts it. Returns false if the write failed.
+     */
+    private boolean flush(List<Event> batch) {
+        long start = System.nanoTime();
+        try {
+            Set<String> emails = batch.stream()
+                    .map(Event::userEmail)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<String, Long> userIds = emails.isEmpty() ? Map.of()
+                    : userRepository.findIdsByEmailIn(emails).stream()
+                    .collect(Collectors.toMap(UserRepository.UserIdEmail::getEmail,
+                            UserRepository.UserIdEmail::getId, (first, second) -> first));
+
+            activityLogBatchRepository.insertAll(batch.stream()
+                    .map(event -> toActivityLog(event, userIds))
+                    .toList(), batchSize);
+            writtenCounter.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} activity log entries: {}", batch.size(), e.getMessage());
+            return false;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ActivityLog toActivityLog(Event event, Map<String, Long> userIds) {
+        ActivityLog activityLog = new ActivityLog();
+        activityLog.setAction(event.action());
+        activityLog.setEntityType(event.entityType());
+        activityLog.setEntityId(event.entityId());
+        activityLog.setDescription(event.description());
+        activityLog.setUserId(event.userEmail() != null ? userIds.get(event.userEmail()) : null);
+        activityLog.setIpAddress(event.ipAddress());
+        activityLog.setUserAgent(event.userAgent());
+        activityLog.setCreatedAt(event.createdAt());
+        return activityLog;
+    }
+
+    private void overflow(List<Event> events) {
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            spill(events);
+        } else {
+            drop(events);
+        }
+    }
+
+    private void drop(List<Event> events) {
+        droppedCounter.increment(events.size());
+        log.warn("Dropped {} activity log entries", events.size());
+    }
+
+    private void spill(List<Event> events) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Event event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                log.error("Failed to spill {} activity log entries: {}", events.size(), e.getMessage());
+                drop(events);
+                return;
+            }
+        }
+        spilledCounter.increment(events.size());
+    }
+
+    /**
+     * Writes spilled events back in batches. The spill file is moved aside first, so events spilled
+     * meanwhile start a new one; a replay file left by a crash is picked up before that. If a batch
+     * fails, it and the rest of the file are spilled again and retried on a later pass.
+     */
+    void replaySpill() {
+        try {
+            if (!Files.exists(replayFile)) {
+                synchronized (spillLock) {
+                    if (!Files.exists(spillFile)) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile);
+                }
+            }
+
+            int replayed = 0;
+            try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+                List<Event> batch = new ArrayList<>(batchSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Event event = readSpilled(line);
+                    if (event != null) {
+                        batch.add(event);
+                    }
+                    if (batch.size() == batchSize) {
+                        if (!flush(batch)) {
+                            respill(batch, reader);
+                            batch.clear();
+                            break;
+                        }
+                        replayed += batch.size();
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    if (flush(batch)) {
+                        replayed += batch.size();
+                    } else {
+                        spill(batch);
+                    }
+                }
+            }
+            Files.delete(replayFile);
+            if (replayed > 0) {
+                log.info("Wrote {} spilled activity log entries", replayed);
+            }
+        } catch (IOException e) {
+            log.error("Failed to replay spilled activity log entries: {}", e.getMessage());
+        }
+    }
+
+    private void respill(List<Event> batch, BufferedReader reader) throws IOException {
+        List<Event> remaining = new ArrayList<>(batch);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Event event = readSpilled(line);
+            if (event != null) {
+                remaining.add(event);
+            }
+        }
+        spill(remaining);
+    }
+
+    private Event readSpilled(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, Event.class);
+        } catch (JsonProcessingException e) {
+            // A line cut short by a crash while spilling
+            log.warn("Skipping unreadable spilled activity log entry: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package vn.sun.membermanagementsystem.services.impls;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import vn.sun.membermanagementsystem.services.PasswordHashingService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes passwords on a bounded pool sized to the cores.
+ * <p>
+ * BCrypt is deliberately slow, so bulk paths (CSV imports, bulk user creation) hash
+ * their passwords here instead of one after another on the request thread. When the
+ * queue is full the caller hashes the password itself, which throttles producers
+ * instead of rejecting work. Hash durations, the BCrypt cost and the pool usage are
+ * published as {@code password.hash.*} metrics.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength = 10;
+
+    @Value("${security.password.hashing.threads:0}")
+    private int threads = 0;
+
+    @Value("${security.password.hashing.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+
+    private ThreadPoolExecutor executor;
+    private Timer hashTimer;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        hashTimer = Timer.builder("password.hash.duration")
+                .description("Time spent hashing a single password")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.bcrypt.cost", this, service -> service.bcryptStrength)
+                .description("BCrypt cost factor (log2 rounds)")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.pool.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("password.hash.pool.queued", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+
+        log.info("Password hashing pool started with {} threads, BCrypt cost {}", poolSize, bcryptStrength);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return hashTimer.record(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public List<String> hashAll(List<String> rawPasswords) {
+        if (rawPasswords.size() < 2) {
+            return rawPasswords.stream().map(this::hash).toList();
+        }
+
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            futures.add(executor.submit(() -> hash(rawPassword)));
+        }
+
+        List<String> hashes = new ArrayList<>(futures.size());
+        try {
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return hashes;
+    }
+}
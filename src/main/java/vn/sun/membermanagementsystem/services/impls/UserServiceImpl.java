@@ -164,6 +164,8 @@ public class UserServiceImpl implements UserService {
             user.setStatus(userUpdateDTO.getStatus());
         }
 
+        // Edited outside of CSV sync, so the next sync must not treat the row as unchanged
+        user.setImportHash(null);
         user.setUpdatedAt(LocalDateTime.now());
         User updatedUser = userRepository.save(user);
         log.info("User basic info updated successfully with ID: {}", updatedUser.getId());
@@ -0,0 +1,14 @@
+-- Progress of chunked-commit CSV imports, so a failed import can resume after its last committed chunk
+CREATE TABLE Csv_Import_Checkpoints (
+                                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                        importer VARCHAR(100) NOT NULL,
+                                        file_fingerprint CHAR(64) NOT NULL,
+                                        filename VARCHAR(255) NULL,
+                                        status ENUM('IN_PROGRESS', 'FAILED', 'COMPLETED') NOT NULL DEFAULT 'IN_PROGRESS',
+                                        last_committed_row INT NOT NULL DEFAULT 1,
+                                        committed_rows INT NOT NULL DEFAULT 0,
+                                        error_message TEXT NULL,
+                                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                                        INDEX idx_cic_importer_fingerprint (importer, file_fingerprint)
+);
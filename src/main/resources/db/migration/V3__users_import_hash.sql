@@ -0,0 +1,2 @@
+-- Content hash of the CSV row a user was last imported or synced from; NULL once edited elsewhere
+ALTER TABLE Users ADD COLUMN import_hash CHAR(64) NULL;
@@ -0,0 +1,28 @@
+-- Staging tables for set-based CSV user imports; rows belong to one import and are deleted when it ends
+CREATE TABLE Csv_Stage_Users (
+                                 import_id CHAR(36) NOT NULL,
+                                 row_num INT NOT NULL,
+                                 name VARCHAR(255) NOT NULL,
+                                 email VARCHAR(255) NOT NULL,
+                                 email_key VARCHAR(255) NOT NULL,
+                                 birthday DATE NULL,
+                                 role ENUM('ADMIN', 'MEMBER') NOT NULL,
+                                 status ENUM('ACTIVE', 'INACTIVE') NOT NULL,
+                                 import_hash CHAR(64) NOT NULL,
+                                 password_hash VARCHAR(255) NULL,
+                                 PRIMARY KEY (import_id, row_num),
+                                 INDEX idx_csu_email_key (import_id, email_key)
+);
+
+CREATE TABLE Csv_Stage_User_Skills (
+                                       id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                       import_id CHAR(36) NOT NULL,
+                                       row_num INT NOT NULL,
+                                       skill_name VARCHAR(255) NOT NULL,
+                                       skill_key VARCHAR(255) NOT NULL,
+                                       level ENUM('BEGINNER', 'INTERMEDIATE', 'ADVANCED', 'EXPERT') NOT NULL,
+                                       used_year_number DECIMAL(4,2) NOT NULL,
+                                       skill_id BIGINT NULL,
+                                       INDEX idx_csus_row (import_id, row_num),
+                                       INDEX idx_csus_skill_key (import_id, skill_key)
+);
@@ -0,0 +1,122 @@
+/**
+ * Submits CSV imports as background jobs and polls their progress.
+ *
+ * Enhances a form with a data-import-entity attribute (users, skills, positions,
+ * projects): instead of a blocking POST, the file is sent to
+ * /admin/import/{entity}/jobs and progress is rendered into #jobSection. If the
+ * file was previewed, the cached preview (data-preview-token) is confirmed instead,
+ * so the file is neither uploaded nor validated again.
+ */
+(function () {
+  const POLL_INTERVAL_MS = 1000;
+
+  const form = document.querySelector("form[data-import-entity]");
+  const section = document.getElementById("jobSection");
+  if (!form || !section) return;
+
+  const entity = form.dataset.importEntity;
+
+  form.addEventListener("submit", async (e) => {
+    e.preventDefault();
+    const file = form.querySelector("input[type=file]").files[0];
+    if (!file) return;
+
+    const submitBtn = form.querySelector("button[type=submit]");
+    submitBtn.disabled = true;
+
+    const token = form.dataset.previewToken;
+    const formData = new FormData();
+    formData.append("file", file);
+
+    try {
+      const response = token
+        ? await fetch(`/admin/import/previews/${token}/confirm`, { method: "POST" })
+        : await fetch(`/admin/import/${entity}/jobs`, { method: "POST", body: formData });
+      // A confirmed preview is consumed
+      form.dataset.previewToken = "";
+      const body = await response.json();
+      if (!response.ok) {
+        throw new Error(body.message || `HTTP ${response.status}`);
+      }
+      render(body.data);
+      poll(body.data.jobId, submitBtn);
+    } catch (error) {
+      renderError(error.message);
+      submitBtn.disabled = false;
+    }
+  });
+
+  function poll(jobId, submitBtn) {
+    const timer = setInterval(async () => {
+      try {
+        const response = await fetch(`/admin/import/jobs/${jobId}`);
+        const body = await response.json();
+        if (!response.ok) {
+          throw new Error(body.message || `HTTP ${response.status}`);
+        }
+        render(body.data);
+        if (body.data.status === "COMPLETED" || body.data.status === "FAILED") {
+          clearInterval(timer);
+          submitBtn.disabled = false;
+        }
+      } catch (error) {
+        clearInterval(timer);
+        renderError(error.message);
+        submitBtn.disabled = false;
+      }
+    }, POLL_INTERVAL_MS);
+  }
+
+  function render(job) {
+    section.classList.remove("hidden");
+
+    const processing = job.status === "PROCESSING" || job.status === "COMPLETED";
+    const done = processing ? job.rowsProcessed : job.rowsValidated;
+    const percent = job.totalRows > 0 ? Math.min(100, Math.round((done * 100) / job.totalRows)) : 0;
+    const phase = job.status.charAt(0) + job.status.slice(1).toLowerCase();
+
+    let html = `
+      <h3><i class="fas fa-tasks"></i> Import Job</h3>
+      <p><strong>${escapeHtml(job.filename || "")}</strong> &mdash; ${phase}</p>
+      <div class="job-progress"><div class="job-progress-bar" style="width: ${processing ? percent : 0}%"></div></div>
+      <div class="summary-box">
+        <div class="summary-item total"><div class="number">${done}</div><div class="label">${processing ? "Rows Processed" : "Rows Validated"}</div></div>
+        <div class="summary-item valid"><div class="number">${job.rowsPerSecond ? Math.round(job.rowsPerSecond) : "-"}</div><div class="label">Rows / Second</div></div>
+        <div class="summary-item invalid"><div class="number">${job.errorCount}</div><div class="label">Errors</div></div>
+      </div>`;
+
+    if (job.etaSeconds != null) {
+      html += `<p>Estimated time remaining: ${formatDuration(job.etaSeconds)}</p>`;
+    }
+
+    if (job.status === "COMPLETED") {
+      html += `<div class="alert alert-success"><i class="fas fa-check-circle"></i> ${escapeHtml(job.message || "")}</div>`;
+    } else if (job.status === "FAILED") {
+      html += `<div class="alert alert-danger import-errors">
+          <strong><i class="fas fa-exclamation-triangle"></i> ${escapeHtml(job.message || "Import failed")}</strong>
+          <ul>${(job.errors || [])
+            .map((err) => `<li>Row ${err.row} - ${escapeHtml(err.field)}: ${escapeHtml(err.message)}</li>`)
+            .join("")}</ul>
+        </div>`;
+    }
+
+    section.innerHTML = html;
+  }
+
+  function renderError(message) {
+    section.classList.remove("hidden");
+    section.innerHTML = `<div class="alert alert-danger"><i class="fas fa-exclamation-triangle"></i> ${escapeHtml(message)}</div>`;
+  }
+
+  function formatDuration(seconds) {
+    const m = Math.floor(seconds / 60);
+    const s = seconds % 60;
+    return m > 0 ? `${m}m ${s}s` : `${s}s`;
+  }
+
+  function escapeHtml(value) {
+    const div = document.createElement("div");
+    div.textContent = value == null ? "" : String(value);
+    return div.innerHTML;
+  }
+})();
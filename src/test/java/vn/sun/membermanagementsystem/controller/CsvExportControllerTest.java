@@ -0,0 +1,175 @@
+package vn.sun.membermanagementsystem.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import vn.sun.membermanagementsystem.exception.BaseException;
+import vn.sun.membermanagementsystem.exception.handler.GlobalExceptionHandler;
+import vn.sun.membermanagementsystem.services.csv.CsvBundleExportService;
+import vn.sun.membermanagementsystem.services.csv.CsvExportJobService;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CsvExportController Download Tests")
+class CsvExportControllerTest {
+
+    private static final String JOB_ID = "job-1";
+    private static final String CONTENT = "Name\nJava\nSQL\n"; // 14 bytes
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    @Mock
+    private CsvExportJobService csvExportJobService;
+
+    @Mock
+    private CsvBundleExportService csvBundleExportService;
+
+    @InjectMocks
+    private CsvExportController csvExportController;
+
+    @TempDir
+    Path exportDirectory;
+
+    private MockMvc mockMvc;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(csvExportController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        file = Files.writeString(exportDirectory.resolve(JOB_ID + ".csv"), CONTENT, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Download - sends the whole file without a Range header")
+    void download_NoRange_WholeFile() throws Exception {
+        stubDownload(Duration.ofHours(1));
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + JOB_ID + "\""))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 14))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    @DisplayName("Download - bytes=a-b sends that range as 206")
+    void download_StartEndRange_PartialContent() throws Exception {
+        stubDownload(Duration.ofHours(1));
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID)
+                        .header(HttpHeaders.RANGE, "bytes=5-8"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-8/14"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("Java"));
+    }
+
+    @Test
+    @DisplayName("Download - bytes=-n sends the last n bytes")
+    void download_SuffixRange_PartialContent() throws Exception {
+        stubDownload(Duration.ofHours(1));
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID)
+                        .header(HttpHeaders.RANGE, "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-13/14"))
+                .andExpect(content().string("SQL\n"));
+    }
+
+    @Test
+    @DisplayName("Download - a range starting past the end is 416")
+    void download_UnsatisfiableRange_416() throws Exception {
+        stubDownload(Duration.ofHours(1));
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID)
+                        .header(HttpHeaders.RANGE, "bytes=14-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */14"));
+    }
+
+    @Test
+    @DisplayName("Download - a stale If-Range ignores the range and sends the whole file")
+    void download_StaleIfRange_WholeFile() throws Exception {
+        stubDownload(Duration.ofHours(1));
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID)
+                        .header(HttpHeaders.RANGE, "bytes=5-8")
+                        .header(HttpHeaders.IF_RANGE, "\"another-job\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    @DisplayName("Download - a job that is not completed is 409")
+    void download_NotCompleted_409() throws Exception {
+        when(csvExportJobService.getDownload(JOB_ID))
+                .thenThrow(new BaseException("Export job is not completed: RUNNING", HttpStatus.CONFLICT.value()));
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Download - a file already deleted by the retention sweep is 404")
+    void download_FileDeleted_404() throws Exception {
+        stubDownload(Duration.ofHours(1));
+        Files.delete(file);
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Download - hands the range to Tomcat sendfile when supported")
+    void download_SendfileSupported_HandsOff() throws Exception {
+        stubDownload(Duration.ofHours(1));
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID)
+                        .requestAttr(SENDFILE_SUPPORT, true)
+                        .header(HttpHeaders.RANGE, "bytes=5-8"))
+                .andExpect(status().isPartialContent())
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 5L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 9L))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Download - streams the file itself when it may be swept before sendfile opens it")
+    void download_SendfileSupportedButExpiring_Streams() throws Exception {
+        stubDownload(Duration.ofSeconds(10));
+
+        mockMvc.perform(get("/admin/export/jobs/{jobId}/download", JOB_ID)
+                        .requestAttr(SENDFILE_SUPPORT, true))
+                .andExpect(status().isOk())
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", (Object) null))
+                .andExpect(content().string(CONTENT));
+    }
+
+    private void stubDownload(Duration remainingRetention) {
+        when(csvExportJobService.getDownload(JOB_ID)).thenReturn(new CsvExportJobService.Download(file,
+                "skills_export.csv", "text/csv", CONTENT.length(), Instant.now().minusSeconds(60),
+                Instant.now().plus(remainingRetention)));
+    }
+}
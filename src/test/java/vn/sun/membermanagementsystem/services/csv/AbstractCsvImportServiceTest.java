@@ -0,0 +1,390 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
+import vn.sun.membermanagementsystem.entities.CsvImportCheckpoint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AbstractCsvImportService Streaming Tests")
+class AbstractCsvImportServiceTest {
+
+    private NameImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NameImportService();
+        service.chunkSize = 2;
+        service.previewMaxRows = 2;
+        service.maxRetainedEntities = 3;
+    }
+
+    @Test
+    @DisplayName("Import - processes all rows in chunks")
+    void importFromCsv_ProcessesRowsInChunks() {
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\nB\n\nC\nD\nE\n");
+
+        CsvImportResult<String> result = service.importFromCsv(file);
+
+        assertFalse(result.hasErrors());
+        assertEquals(5, result.getSuccessCount());
+        assertEquals(6, result.getTotalRows());
+        assertEquals(List.of(2, 2, 1), service.chunkSizes);
+        assertEquals(3, result.getImportedEntities().size());
+    }
+
+    @Test
+    @DisplayName("Import - staging engine falls back to rows for importers without staging")
+    void importFromCsv_StagingEngineWithoutStagingImporter_ProcessesRows() {
+        service.engine = CsvImportEngine.STAGING;
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\nB\nC\n");
+
+        CsvImportResult<String> result = service.importFromCsv(file);
+
+        assertFalse(result.hasErrors());
+        assertEquals(3, result.getSuccessCount());
+        assertEquals(List.of(2, 1), service.chunkSizes);
+    }
+
+    @Test
+    @DisplayName("Import - validation error rolls back before any row is processed")
+    void importFromCsv_InvalidRow_NothingProcessed() {
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\ninvalid\nC\n");
+
+        CsvImportResult<String> result = service.importFromCsv(file);
+
+        assertTrue(result.isRolledBack());
+        assertEquals(1, result.getErrorCount());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertTrue(service.chunkSizes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Import - accepts gzip-compressed upload")
+    void importFromCsv_Gzip_Success() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "names.csv.gz", "application/gzip",
+                gzip("﻿Name\nA\nB\n"));
+
+        CsvImportResult<String> result = service.importFromCsv(file);
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(List.of("A", "B"), result.getImportedEntities());
+    }
+
+    @Test
+    @DisplayName("Import - rejects file larger than configured limit")
+    void importFromCsv_FileTooLarge_ReturnsError() {
+        service.maxFileSize = DataSize.ofBytes(4);
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\n");
+
+        CsvImportResult<String> result = service.importFromCsv(file);
+
+        assertTrue(result.hasErrors());
+        assertEquals(0, result.getSuccessCount());
+    }
+
+    @Test
+    @DisplayName("Preview - counts every row but keeps only the first rows")
+    void previewCsv_KeepsLimitedRows() {
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\ninvalid\nC\nD\n");
+
+        CsvPreviewResult preview = service.previewCsv(file);
+
+        assertEquals(4, preview.getTotalRows());
+        assertEquals(3, preview.getValidRows());
+        assertEquals(1, preview.getInvalidRows());
+        assertEquals(2, preview.getRows().size());
+        assertTrue(preview.isTruncated());
+        assertTrue(preview.isHasErrors());
+    }
+
+    @Test
+    @DisplayName("Validate - snapshot pages rows with their validation outcome")
+    void validate_ReadRows_PagesWithOutcome() throws Exception {
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\ninvalid\n\nC\nD\n");
+
+        CsvValidationSnapshot snapshot = service.validate(file);
+
+        assertFalse(snapshot.isValid());
+        assertEquals(4, snapshot.getRowCount());
+        assertEquals(1, snapshot.getInvalidRows());
+
+        List<CsvPreviewResult.CsvRowPreview> page = service.readRows(file, snapshot, 1, 2);
+        assertEquals(2, page.size());
+        assertEquals(3, page.get(0).getRowNumber());
+        assertFalse(page.get(0).isValid());
+        assertEquals(List.of("Invalid name"), page.get(0).getErrors());
+        assertEquals(5, page.get(1).getRowNumber());
+        assertTrue(page.get(1).isValid());
+    }
+
+    @Test
+    @DisplayName("Import validated - processes rows without validating again")
+    void importValidated_SkipsValidation() {
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\nB\nC\n");
+        CsvValidationSnapshot snapshot = service.validate(file);
+        service.validatedRows.clear();
+
+        CsvImportResult<String> result = service.importValidated(file, snapshot, CsvImportProgress.NONE);
+
+        assertFalse(result.hasErrors());
+        assertEquals(3, result.getSuccessCount());
+        assertTrue(service.validatedRows.isEmpty());
+        assertEquals(List.of(2, 1), service.chunkSizes);
+    }
+
+    @Test
+    @DisplayName("Import validated - chunked mode keeps committed chunks on failure")
+    void importValidated_Chunked_KeepsCommittedChunks() {
+        CsvImportCheckpointService checkpoints = mock(CsvImportCheckpointService.class);
+        service.setCheckpointService(checkpoints);
+        when(checkpoints.start(eq("NameImportService"), anyString(), eq("names.csv")))
+                .thenReturn(CsvImportCheckpoint.builder().id(9L).build());
+        when(checkpoints.findResumeRow(eq("NameImportService"), anyString())).thenReturn(1);
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\nB\nC\nboom\nE\n");
+        CsvValidationSnapshot snapshot = service.validate(file);
+
+        CsvImportResult<String> result = service.importValidated(file, snapshot, CsvImportProgress.NONE,
+                CsvCommitMode.CHUNKED);
+
+        assertTrue(result.hasErrors());
+        assertFalse(result.isRolledBack());
+        assertEquals(2, result.getCommittedRows());
+        verify(checkpoints).recordChunk(9L, 3, 2);
+        verify(checkpoints).fail(eq(9L), anyString());
+    }
+
+    @Test
+    @DisplayName("Preview and confirm - resumes a failed chunked import after its checkpoint")
+    void importValidated_Chunked_FailsThenResumesThroughPreview() throws Exception {
+        CsvImportCheckpointService checkpoints = mock(CsvImportCheckpointService.class);
+        service.setCheckpointService(checkpoints);
+        when(checkpoints.start(eq("NameImportService"), anyString(), eq("names.csv")))
+                .thenReturn(CsvImportCheckpoint.builder().id(9L).build());
+        when(checkpoints.findResumeRow(eq("NameImportService"), anyString())).thenReturn(1);
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\nB\nC\nboom\nE\n");
+
+        CsvImportResult<String> failed = service.importValidated(file, service.validate(file),
+                CsvImportProgress.NONE, CsvCommitMode.CHUNKED);
+        assertEquals(2, failed.getCommittedRows());
+
+        // A and B are now stored, so validating them again would fail
+        service.existingNames = Set.of("A", "B");
+        service.failOn = null;
+        service.validatedRows.clear();
+        service.chunkSizes.clear();
+        when(checkpoints.findResumeRow(eq("NameImportService"), anyString())).thenReturn(3);
+
+        CsvValidationSnapshot snapshot = service.validate(file);
+
+        assertTrue(snapshot.isValid());
+        assertEquals(3, snapshot.getResumedAfterRow());
+        assertEquals(3, snapshot.getRowCount());
+        assertEquals(List.of(4, 5, 6), service.validatedRows);
+        assertEquals(List.of(4, 5, 6), service.readRows(file, snapshot, 0, 10).stream()
+                .map(CsvPreviewResult.CsvRowPreview::getRowNumber).toList());
+
+        CsvImportResult<String> resumed = service.importValidated(file, snapshot, CsvImportProgress.NONE,
+                CsvCommitMode.CHUNKED);
+
+        assertFalse(resumed.hasErrors());
+        assertEquals(3, resumed.getResumedAfterRow());
+        assertEquals(List.of("C", "boom", "E"), resumed.getImportedEntities());
+        assertEquals(List.of(2, 1), service.chunkSizes);
+        verify(checkpoints).complete(9L);
+    }
+
+    @Test
+    @DisplayName("Import validated - refuses a resumed snapshot outside chunked mode or after its checkpoint moved")
+    void importValidated_ResumedSnapshot_Refused() {
+        CsvImportCheckpointService checkpoints = mock(CsvImportCheckpointService.class);
+        service.setCheckpointService(checkpoints);
+        when(checkpoints.findResumeRow(eq("NameImportService"), anyString())).thenReturn(3);
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\nB\nC\nD\n");
+        CsvValidationSnapshot snapshot = service.validate(file);
+
+        CsvImportResult<String> atomic = service.importValidated(file, snapshot, CsvImportProgress.NONE,
+                CsvCommitMode.ALL_OR_NOTHING);
+
+        assertTrue(atomic.isRolledBack());
+        assertTrue(atomic.getErrors().get(0).getMessage().startsWith("Rows up to 3 were committed"));
+
+        when(checkpoints.findResumeRow(eq("NameImportService"), anyString())).thenReturn(4);
+
+        CsvImportResult<String> moved = service.importValidated(file, snapshot, CsvImportProgress.NONE,
+                CsvCommitMode.CHUNKED);
+
+        assertTrue(moved.isRolledBack());
+        assertTrue(moved.getErrors().get(0).getMessage().startsWith("The file was imported up to row 4"));
+        assertTrue(service.chunkSizes.isEmpty());
+        verify(checkpoints, never()).start(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Import validated - uses the configured commit mode")
+    void importValidated_ConfiguredCommitMode() {
+        service.commitMode = CsvCommitMode.CHUNKED;
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\nB\nC\nboom\n");
+        CsvValidationSnapshot snapshot = service.validate(file);
+
+        CsvImportResult<String> result = service.importValidated(file, snapshot, CsvImportProgress.NONE);
+
+        assertFalse(result.isRolledBack());
+        assertEquals(2, result.getCommittedRows());
+    }
+
+    @Test
+    @DisplayName("Validate - snapshot size grows with the resolved references")
+    void validate_EstimatedBytes_GrowsWithReferences() {
+        CsvValidationSnapshot snapshot = service.validate(csvFile("names.csv", "Name\nA\n"));
+        long empty = snapshot.estimatedBytes();
+
+        for (int i = 0; i < 1000; i++) {
+            snapshot.getContext().registerKey("name", "name-" + i, i + 2);
+            snapshot.getContext().lookup("name").put("name-" + i, (long) i);
+        }
+
+        assertTrue(snapshot.estimatedBytes() - empty > 1000L * 2 * CsvImportContext.MAP_ENTRY_BYTES);
+    }
+
+    @Test
+    @DisplayName("Import - parallel validation reports errors in row order")
+    void importFromCsv_ParallelValidation_ErrorsInRowOrder() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            service.setValidationPool(pool);
+            service.validationWindowSize = 3;
+            StringBuilder content = new StringBuilder("Name\n");
+            for (int i = 0; i < 20; i++) {
+                content.append(i % 3 == 0 ? "invalid" : "N" + i).append('\n');
+            }
+
+            CsvImportResult<String> result = service.importFromCsv(csvFile("names.csv", content.toString()));
+
+            assertTrue(result.isRolledBack());
+            assertEquals(7, result.getErrorCount());
+            assertEquals(List.of(2, 5, 8, 11, 14, 17, 20),
+                    result.getErrors().stream().map(CsvImportResult.CsvImportError::getRow).toList());
+            assertEquals(20, service.validatedRows.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Chunked import - keeps committed chunks on failure and resumes after the checkpoint")
+    void importFromCsv_Chunked_FailsThenResumes() {
+        CsvImportCheckpointService checkpoints = mock(CsvImportCheckpointService.class);
+        service.setCheckpointService(checkpoints);
+        when(checkpoints.start(eq("NameImportService"), anyString(), eq("names.csv")))
+                .thenReturn(CsvImportCheckpoint.builder().id(9L).build());
+        when(checkpoints.findResumeRow(eq("NameImportService"), anyString())).thenReturn(1);
+        MockMultipartFile file = csvFile("names.csv", "Name\nA\nB\nC\nboom\nE\n");
+
+        CsvImportResult<String> failed = service.importFromCsv(file, CsvImportProgress.NONE, CsvCommitMode.CHUNKED);
+
+        assertTrue(failed.hasErrors());
+        assertFalse(failed.isRolledBack());
+        assertEquals(2, failed.getCommittedRows());
+        assertEquals(2, failed.getSuccessCount());
+        verify(checkpoints).recordChunk(9L, 3, 2);
+        verify(checkpoints).fail(eq(9L), anyString());
+        verify(checkpoints, never()).complete(anyLong());
+
+        when(checkpoints.findResumeRow(eq("NameImportService"), anyString())).thenReturn(3);
+        service.failOn = null;
+        service.chunkSizes.clear();
+
+        CsvImportResult<String> resumed = service.importFromCsv(file, CsvImportProgress.NONE, CsvCommitMode.CHUNKED);
+
+        assertFalse(resumed.hasErrors());
+        assertEquals(3, resumed.getResumedAfterRow());
+        assertEquals(3, resumed.getSuccessCount());
+        assertEquals(List.of("C", "boom", "E"), resumed.getImportedEntities());
+        assertEquals(List.of(2, 1), service.chunkSizes);
+        verify(checkpoints).complete(9L);
+    }
+
+    private MockMultipartFile csvFile(String filename, String content) {
+        return new MockMultipartFile("file", filename, "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static class NameImportService extends AbstractCsvImportService<String> {
+
+        private final List<Integer> chunkSizes = new ArrayList<>();
+        private final List<Integer> validatedRows = Collections.synchronizedList(new ArrayList<>());
+        private String failOn = "boom";
+        private Set<String> existingNames = Set.of();
+
+        @Override
+        protected List<String> validateRowForPreview(String[] data, int rowNumber, CsvImportContext context) {
+            validatedRows.add(rowNumber);
+            String name = getStringValue(data, 0);
+            if (existingNames.contains(name)) {
+                return List.of("Name already exists");
+            }
+            return "invalid".equals(name) ? List.of("Invalid name") : List.of();
+        }
+
+        @Override
+        protected void processChunk(List<RowData> rows, CsvImportResult<String> result,
+                                    CsvImportContext context) {
+            chunkSizes.add(rows.size());
+            super.processChunk(rows, result, context);
+        }
+
+        @Override
+        protected String processRow(String[] data, int rowNumber, CsvImportResult<String> result,
+                                    CsvImportContext context) {
+            String name = getStringValue(data, 0);
+            if (name.equals(failOn)) {
+                throw new IllegalStateException("Cannot import " + name);
+            }
+            return name;
+        }
+
+        @Override
+        protected boolean validateRow(String[] data, int rowNumber, CsvImportResult<String> result,
+                                      CsvImportContext context) {
+            List<String> errors = validateRowForPreview(data, rowNumber, context);
+            errors.forEach(error -> result.addError(rowNumber, "Validation", error));
+            return errors.isEmpty();
+        }
+
+        @Override
+        public String[] getExpectedHeaders() {
+            return new String[]{"Name"};
+        }
+
+        @Override
+        public String generateSampleCsv() {
+            return "Name\n";
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvMalformedLineException;
+import org.apache.commons.io.input.BOMInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ByteCsvRowReader Unit Tests")
+class ByteCsvRowReaderTest {
+
+    @Test
+    @DisplayName("Should read the same rows as OpenCSV for quoted, multiline and UTF-8 fields")
+    void readNext_MatchesOpenCsv() throws Exception {
+        String csv = "Name,Email,Description\r\n"
+                + "Nguyễn Văn A,a@example.com,\"Line one\nline two\"\r\n"
+                + "\"Smith, John\",john@example.com,\"He said \"\"hi\"\"\"\n"
+                + ",,\n"
+                + "Last,last@example.com,end";
+
+        List<String[]> expected = readWithOpenCsv(csv);
+        List<String[]> actual = readAll(csv.getBytes(StandardCharsets.UTF_8), 8);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), "row " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the same rows as OpenCSV on a generated user import file")
+    void readNext_UserImportFile_MatchesOpenCsv() throws Exception {
+        byte[] file = userImportFile(2_000);
+
+        List<String[]> expected = readAll(CsvParserType.OPENCSV, file);
+        List<String[]> actual = readAll(CsvParserType.BYTES, file);
+
+        assertEquals(2_001, actual.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), "row " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should allocate less per row than OpenCSV on a user import file")
+    void readNext_UserImportFile_AllocatesLessThanOpenCsv() throws Exception {
+        byte[] file = userImportFile(5_000);
+
+        double openCsv = allocatedBytesPerRow(CsvParserType.OPENCSV, file, 5_000, 3);
+        double bytes = allocatedBytesPerRow(CsvParserType.BYTES, file, 5_000, 3);
+
+        assertTrue(bytes < openCsv, String.format("BYTES %.0f B/row, OPENCSV %.0f B/row", bytes, openCsv));
+    }
+
+    @Test
+    @DisplayName("Should skip a leading UTF-8 BOM")
+    void readNext_SkipsBom() throws Exception {
+        byte[] body = "Name,Email\nA,a@example.com\n".getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[body.length + 3];
+        withBom[0] = (byte) 0xef;
+        withBom[1] = (byte) 0xbb;
+        withBom[2] = (byte) 0xbf;
+        System.arraycopy(body, 0, withBom, 3, body.length);
+
+        List<String[]> rows = readAll(withBom, 4);
+
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[]{"Name", "Email"}, rows.get(0));
+        assertArrayEquals(new String[]{"A", "a@example.com"}, rows.get(1));
+    }
+
+    @Test
+    @DisplayName("Should return no rows for empty input")
+    void readNext_EmptyInput() throws Exception {
+        assertTrue(readAll(new byte[0], 16).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject an unterminated quoted field")
+    void readNext_UnterminatedQuote_Throws() {
+        byte[] csv = "Name\n\"open field\n".getBytes(StandardCharsets.UTF_8);
+
+        CsvMalformedLineException ex = assertThrows(CsvMalformedLineException.class, () -> readAll(csv, 16));
+        assertEquals(2, ex.getLineNumber());
+    }
+
+    /**
+     * Shaped like a user import, with a BOM: mostly plain fields, some quoted names and non-ASCII text.
+     */
+    static byte[] userImportFile(int rows) {
+        StringBuilder csv = new StringBuilder(rows * 96);
+        csv.append('\uFEFF').append("Name,Email,Birthday,Role,Status,Skills\n");
+        for (int i = 0; i < rows; i++) {
+            if (i % 10 == 0) {
+                csv.append("\"Nguyễn, Văn ").append(i).append('"');
+            } else {
+                csv.append("User ").append(i);
+            }
+            csv.append(",user").append(i).append("@example.com,")
+                    .append(1980 + i % 20).append("-0").append(1 + i % 9).append("-1").append(i % 10).append(',')
+                    .append(i % 50 == 0 ? "ADMIN" : "MEMBER").append(',')
+                    .append(i % 7 == 0 ? "INACTIVE" : "ACTIVE").append(',')
+                    .append("Java:ADVANCED:").append(i % 10).append(".5|SQL:INTERMEDIATE:2|Spring Boot:BEGINNER:1")
+                    .append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Bytes allocated on the reading thread per record over {@code iterations} reads of the
+     * file, after as many warm-up reads.
+     */
+    static double allocatedBytesPerRow(CsvParserType parser, byte[] file, int rows, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            checksum(parser, file);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            checksum(parser, file);
+        }
+        return (double) (threads.getThreadAllocatedBytes(threadId) - before) / iterations / (rows + 1);
+    }
+
+    /**
+     * Reads every record the way the import passes do and folds the fields into a checksum.
+     */
+    static long checksum(CsvParserType parser, byte[] file) throws Exception {
+        long checksum = 0;
+        try (CsvRowReader reader = open(parser, new ByteArrayInputStream(file))) {
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                for (String field : record) {
+                    checksum = checksum * 31 + field.hashCode();
+                }
+            }
+        }
+        return checksum;
+    }
+
+    // Same construction as AbstractCsvImportService.openReader
+    private static CsvRowReader open(CsvParserType parser, InputStream in) throws IOException {
+        if (parser == CsvParserType.BYTES) {
+            return new ByteCsvRowReader(in, 64 * 1024);
+        }
+        return new OpenCsvRowReader(new CSVReader(new InputStreamReader(
+                BOMInputStream.builder().setInputStream(in).get(), StandardCharsets.UTF_8)));
+    }
+
+    private List<String[]> readAll(CsvParserType parser, byte[] bytes) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvRowReader reader = open(parser, new ByteArrayInputStream(bytes))) {
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private List<String[]> readAll(byte[] bytes, int bufferSize) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvRowReader reader = new ByteCsvRowReader(new ByteArrayInputStream(bytes), bufferSize)) {
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private List<String[]> readWithOpenCsv(String csv) throws Exception {
+        try (CSVReader reader = new CSVReader(new InputStreamReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8))) {
+            return reader.readAll();
+        }
+    }
+}
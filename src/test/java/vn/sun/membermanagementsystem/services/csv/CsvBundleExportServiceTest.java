@@ -0,0 +1,175 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
+import vn.sun.membermanagementsystem.entities.Position;
+import vn.sun.membermanagementsystem.entities.Skill;
+import vn.sun.membermanagementsystem.repositories.PositionBatchRepository;
+import vn.sun.membermanagementsystem.repositories.PositionRepository;
+import vn.sun.membermanagementsystem.repositories.SkillBatchRepository;
+import vn.sun.membermanagementsystem.repositories.SkillRepository;
+import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CsvBundleExportService Unit Tests")
+class CsvBundleExportServiceTest {
+
+    private static final List<String> ENTITY_TYPES = List.of("skills", "users", "projects");
+
+    @Mock
+    private CsvExportJobService csvExportJobService;
+
+    @Mock
+    private CsvImportJobService csvImportJobService;
+
+    @Mock
+    private CsvExportService<Object> exportService;
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @Mock
+    private PositionRepository positionRepository;
+
+    private CsvBundleExportService bundleExportService;
+
+    @BeforeEach
+    void setUp() {
+        bundleExportService = new CsvBundleExportService(csvExportJobService, csvImportJobService);
+        bundleExportService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bundleExportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Export - runs the parts concurrently and writes one entry per entity type")
+    void export_WritesEntryPerEntityType() throws Exception {
+        exportWithoutImporters();
+        // Every part waits until all have started, so this only passes if they run concurrently
+        CountDownLatch started = new CountDownLatch(ENTITY_TYPES.size());
+        doAnswer(invocation -> {
+            started.countDown();
+            assertTrue(started.await(5, TimeUnit.SECONDS), "parts run concurrently");
+            OutputStream out = invocation.getArgument(0);
+            out.write(("Name\n" + Thread.currentThread().getName() + "\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).export(any(), eq(ExportFormat.CSV));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundleExportService.export(out, ExportFormat.CSV);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(Set.of("skills.csv", "users.csv", "projects.csv"), entries.keySet());
+        entries.values().forEach(content -> assertTrue(content.startsWith("Name\ncsv-bundle-export-")));
+    }
+
+    @Test
+    @DisplayName("Export - rethrows a failed part")
+    void export_FailedPart_Throws() throws Exception {
+        exportWithoutImporters();
+        doThrow(new IOException("disk full")).when(exportService).export(any(), any());
+
+        IOException e = assertThrows(IOException.class,
+                () -> bundleExportService.export(new ByteArrayOutputStream(), ExportFormat.CSV));
+        assertEquals("disk full", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Export - importable parts use the importer's columns and import back without errors")
+    void export_ImportableParts_RoundTrip() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Skill java = new Skill();
+        java.setId(1L);
+        java.setName("Java");
+        java.setDescription("Language, with a comma");
+        java.setCreatedAt(now);
+        java.setUpdatedAt(now);
+        Position engineer = new Position();
+        engineer.setId(2L);
+        engineer.setName("Software Engineer");
+        engineer.setAbbreviation("SE");
+        engineer.setCreatedAt(now);
+        engineer.setUpdatedAt(now);
+        when(skillRepository.streamAllNotDeleted()).thenReturn(Stream.of(java));
+        when(positionRepository.streamAllNotDeleted()).thenReturn(Stream.of(engineer));
+
+        Map<String, CsvImportService<?>> importers = Map.of(
+                "skills", new SkillCsvImportService(skillRepository, mock(SkillBatchRepository.class)),
+                "positions", new PositionCsvImportService(positionRepository, mock(PositionBatchRepository.class)));
+        Map<String, CsvExportService<?>> exporters = Map.of(
+                "skills", new SkillCsvExportService(skillRepository),
+                "positions", new PositionCsvExportService(positionRepository));
+        when(csvExportJobService.getEntityTypes()).thenReturn(new LinkedHashSet<>(List.of("skills", "positions")));
+        doAnswer(invocation -> exporters.get(invocation.<String>getArgument(0)))
+                .when(csvExportJobService).getExportService(any());
+        when(csvImportJobService.getEntityTypes()).thenReturn(importers.keySet());
+        doAnswer(invocation -> importers.get(invocation.<String>getArgument(0)))
+                .when(csvImportJobService).getImportService(any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundleExportService.export(out, ExportFormat.CSV);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals("\uFEFF\"Name\",\"Description\"", entries.get("skills.csv").lines().findFirst().orElseThrow());
+        for (Map.Entry<String, CsvImportService<?>> importer : importers.entrySet()) {
+            String filename = importer.getKey() + ".csv";
+            CsvPreviewResult preview = importer.getValue().previewCsv(new MockMultipartFile("file", filename,
+                    "text/csv", entries.get(filename).getBytes(StandardCharsets.UTF_8)));
+            assertNull(preview.getFileError(), filename);
+            assertFalse(preview.isHasErrors(), filename);
+            assertEquals(1, preview.getValidRows(), filename);
+        }
+    }
+
+    private void exportWithoutImporters() {
+        when(csvExportJobService.getEntityTypes()).thenReturn(new LinkedHashSet<>(ENTITY_TYPES));
+        doReturn(exportService).when(csvExportJobService).getExportService(any());
+        when(csvImportJobService.getEntityTypes()).thenReturn(Set.of());
+    }
+
+    private Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,155 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.dto.response.CsvImportBundleDTO;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+import vn.sun.membermanagementsystem.exception.BadRequestException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CsvBundleImportService Unit Tests")
+class CsvBundleImportServiceTest {
+
+    @Mock
+    private CsvImportJobService csvImportJobService;
+
+    @Mock
+    private CsvImportService<Object> importService;
+
+    private CsvBundleImportService bundleImportService;
+
+    private final List<String> submitted = new CopyOnWriteArrayList<>();
+    private final List<Path> files = new CopyOnWriteArrayList<>();
+    private final List<CsvImportContext> references = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bundleImportService = new CsvBundleImportService(csvImportJobService);
+        bundleImportService.init();
+        lenient().when(csvImportJobService.getEntityTypes())
+                .thenReturn(Set.of("users", "skills", "positions", "projects", "teams"));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bundleImportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Submit - imports the archive's files in dependency order and cleans up")
+    void submit_ImportsInDependencyOrder() throws Exception {
+        runJobs("none");
+
+        CsvImportBundleDTO bundle = bundleImportService.submit(zip(
+                "seed/users.csv", "seed/projects.csv", "seed/skills.csv", "seed/positions.csv.gz", "README.md"),
+                null, false);
+        CsvImportBundleDTO finished = awaitFinished(bundle.getBundleId());
+
+        assertEquals("COMPLETED", finished.getStatus());
+        assertEquals(Set.of("skills", "positions"), Set.copyOf(submitted.subList(0, 2)));
+        assertEquals(List.of("users", "projects"), submitted.subList(2, 4));
+        assertEquals(List.of("skills", "positions", "users", "projects"),
+                finished.getJobs().stream().map(CsvImportJobDTO::getEntityType).toList());
+        assertEquals("positions.csv.gz", finished.getJobs().get(1).getFilename());
+        assertNotNull(references.get(0));
+        assertTrue(references.stream().allMatch(shared -> shared == references.get(0)),
+                "every stage shares the bundle's references");
+        for (Path file : files) {
+            assertFalse(Files.exists(file), "extracted file is deleted");
+        }
+    }
+
+    @Test
+    @DisplayName("Submit - a failed stage skips the stages that depend on it")
+    void submit_FailedStage_SkipsLaterStages() throws Exception {
+        runJobs("users");
+
+        CsvImportBundleDTO bundle = bundleImportService.submit(zip("skills.csv", "users.csv", "teams.csv"), null, false);
+        CsvImportBundleDTO finished = awaitFinished(bundle.getBundleId());
+
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals(List.of("skills", "users"), submitted);
+        assertEquals(List.of("COMPLETED", "FAILED", "SKIPPED"),
+                finished.getJobs().stream().map(CsvImportJobDTO::getStatus).toList());
+    }
+
+    @Test
+    @DisplayName("Submit - rejects archives with unknown CSV files")
+    void submit_UnknownEntity_ThrowsException() {
+        assertThrows(BadRequestException.class,
+                () -> bundleImportService.submit(zip("skills.csv", "departments.csv"), null, false));
+        verify(csvImportJobService, never()).submitFile(anyString(), anyString(), any(), any(), anyBoolean(), any(), any());
+    }
+
+    // Jobs run synchronously on submit; the given entity type fails
+    private void runJobs(String failingEntityType) {
+        when(csvImportJobService.submitFile(anyString(), anyString(), any(), any(), anyBoolean(), any(), any()))
+                .thenAnswer(invocation -> {
+                    String entityType = invocation.getArgument(0);
+                    Consumer<CsvImportJob> onRelease = invocation.getArgument(6);
+                    submitted.add(entityType);
+                    references.add(invocation.getArgument(5));
+                    files.add(invocation.getArgument(2));
+
+                    CsvImportJob job = new CsvImportJob("job-" + entityType, entityType, invocation.getArgument(1),
+                            invocation.getArgument(2), importService, null, null, false, true, onRelease, null);
+                    CsvImportResult<Object> result = CsvImportResult.builder().totalRows(1).successCount(1).build();
+                    if (entityType.equals(failingEntityType)) {
+                        result.addError(2, "Validation", "Invalid row");
+                        result.setErrorCount(1);
+                    }
+                    job.complete(result);
+                    CsvImportJobDTO dto = job.toDTO();
+                    job.releaseFile();
+                    return dto;
+                });
+    }
+
+    private CsvImportBundleDTO awaitFinished(String bundleId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            CsvImportBundleDTO bundle = bundleImportService.getBundle(bundleId);
+            if (!"RUNNING".equals(bundle.getStatus())) {
+                return bundle;
+            }
+            Thread.sleep(25);
+        }
+        fail("Bundle did not finish");
+        return null;
+    }
+
+    private MockMultipartFile zip(String... names) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (String name : names) {
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write("Name\nValue\n".getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "seed.zip", "application/zip", bytes.toByteArray());
+    }
+}
@@ -0,0 +1,115 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+import vn.sun.membermanagementsystem.exception.BaseException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CsvDropFolderService Unit Tests")
+class CsvDropFolderServiceTest {
+
+    @TempDir
+    Path dropFolder;
+
+    @Mock
+    private CsvImportJobService csvImportJobService;
+
+    @Mock
+    private CsvImportService<Object> userImportService;
+
+    @Captor
+    private ArgumentCaptor<Path> fileCaptor;
+
+    @Captor
+    private ArgumentCaptor<Consumer<CsvImportJob>> onReleaseCaptor;
+
+    private CsvDropFolderService dropFolderService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dropFolderService = new CsvDropFolderService(csvImportJobService);
+        ReflectionTestUtils.setField(dropFolderService, "path", dropFolder.toString());
+        Files.createDirectories(dropFolder.resolve("users"));
+        lenient().when(csvImportJobService.getEntityTypes()).thenReturn(Set.of("users"));
+        lenient().doReturn(userImportService).when(csvImportJobService).getImportService("users");
+    }
+
+    @Test
+    @DisplayName("Scan - queues settled files from processing/ and archives them when done")
+    void scan_QueuesSettledFiles_ArchivesWhenDone() throws Exception {
+        Path settled = writeFile("users/nightly.csv", Instant.now().minusSeconds(3600));
+        writeFile("users/incoming.csv", Instant.now());
+        when(csvImportJobService.submitFile(eq("users"), eq("nightly.csv"), any(), any(), anyBoolean(), any()))
+                .thenReturn(CsvImportJobDTO.builder().jobId("job-1").build());
+
+        List<CsvImportJobDTO> queued = dropFolderService.scan();
+
+        assertEquals(1, queued.size());
+        verify(csvImportJobService).submitFile(eq("users"), eq("nightly.csv"), fileCaptor.capture(),
+                eq(CsvCommitMode.CHUNKED), eq(false), onReleaseCaptor.capture());
+        Path file = fileCaptor.getValue();
+        assertEquals(dropFolder.resolve("users/processing/nightly.csv"), file);
+        assertFalse(Files.exists(settled));
+        assertTrue(Files.exists(dropFolder.resolve("users/incoming.csv")), "recently modified file is left alone");
+
+        CsvImportJob job = new CsvImportJob("job-1", "users", "nightly.csv", file, userImportService,
+                null, CsvCommitMode.CHUNKED, false, true, onReleaseCaptor.getValue(), null);
+        job.complete(CsvImportResult.builder().totalRows(1).successCount(1).build());
+        job.releaseFile();
+
+        assertFalse(Files.exists(file));
+        try (var archived = Files.list(dropFolder.resolve("users/processed"))) {
+            assertTrue(archived.anyMatch(p -> p.getFileName().toString().endsWith("-nightly.csv")));
+        }
+    }
+
+    @Test
+    @DisplayName("Scan - leaves the file in the inbox when the job queue is full")
+    void scan_QueueFull_LeavesFile() throws Exception {
+        writeFile("users/nightly.csv", Instant.now().minusSeconds(3600));
+        when(csvImportJobService.submitFile(any(), any(), any(), any(), anyBoolean(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<CsvImportJob> onRelease = invocation.getArgument(5);
+                    onRelease.accept(new CsvImportJob("job-1", "users", "nightly.csv", invocation.getArgument(2),
+                            userImportService, null, null, false, true, onRelease, null));
+                    throw new BaseException("Too many imports", HttpStatus.TOO_MANY_REQUESTS.value());
+                });
+
+        List<CsvImportJobDTO> queued = dropFolderService.scan();
+
+        assertTrue(queued.isEmpty());
+        assertTrue(Files.exists(dropFolder.resolve("users/nightly.csv")));
+        assertFalse(Files.exists(dropFolder.resolve("users/processing/nightly.csv")));
+    }
+
+    private Path writeFile(String relative, Instant modified) throws Exception {
+        Path file = Files.writeString(dropFolder.resolve(relative), "Name,Email\nAlice,alice@example.com\n");
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+}
@@ -0,0 +1,147 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.sun.membermanagementsystem.dto.response.CsvExportJobDTO;
+import vn.sun.membermanagementsystem.exception.BadRequestException;
+import vn.sun.membermanagementsystem.exception.BaseException;
+import vn.sun.membermanagementsystem.services.csv.impls.MembershipCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.ProjectCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.TeamCsvExportService;
+import vn.sun.membermanagementsystem.services.csv.impls.UserCsvExportService;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CsvExportJobService Unit Tests")
+class CsvExportJobServiceTest {
+
+    @Mock
+    private UserCsvExportService userCsvExportService;
+
+    @Mock
+    private SkillCsvExportService skillCsvExportService;
+
+    @Mock
+    private PositionCsvExportService positionCsvExportService;
+
+    @Mock
+    private ProjectCsvExportService projectCsvExportService;
+
+    @Mock
+    private TeamCsvExportService teamCsvExportService;
+
+    @Mock
+    private MembershipCsvExportService membershipCsvExportService;
+
+    @TempDir
+    Path exportDirectory;
+
+    private CsvExportJobService csvExportJobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        csvExportJobService = new CsvExportJobService(userCsvExportService, skillCsvExportService,
+                positionCsvExportService, projectCsvExportService, teamCsvExportService, membershipCsvExportService);
+        ReflectionTestUtils.setField(csvExportJobService, "directory", exportDirectory.toString());
+        csvExportJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        csvExportJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Submit - renders a gzip-compressed export to a file that can be downloaded")
+    void submit_Gzip_WritesCompressedFile() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("Name\nJava\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(skillCsvExportService).export(any(), eq(ExportFormat.CSV));
+
+        CsvExportJobDTO job = csvExportJobService.submit("skills", ExportFormat.CSV, true);
+        CsvExportJobDTO finished = awaitFinished(job.getJobId());
+
+        assertEquals("COMPLETED", finished.getStatus());
+        assertTrue(finished.getFilename().startsWith("skills_export_"));
+        assertTrue(finished.getFilename().endsWith(".csv.gz"));
+
+        CsvExportJobService.Download download = csvExportJobService.getDownload(job.getJobId());
+        assertEquals("application/gzip", download.contentType());
+        assertEquals(Files.size(download.file()), download.size());
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(download.file()))) {
+            assertEquals("Name\nJava\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Submit - a failed export leaves no file and cannot be downloaded")
+    void submit_Failure_DeletesFile() throws Exception {
+        doThrow(new IllegalStateException("connection lost")).when(userCsvExportService).export(any(), any());
+
+        CsvExportJobDTO finished = awaitFinished(
+                csvExportJobService.submit("users", ExportFormat.XLSX, false).getJobId());
+
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals("Export failed: connection lost", finished.getMessage());
+        assertThrows(BaseException.class, () -> csvExportJobService.getDownload(finished.getJobId()));
+        try (var files = Files.list(exportDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Evict - removes expired jobs together with their files")
+    void evictExpiredJobs_DeletesFiles() throws Exception {
+        CsvExportJobDTO finished = awaitFinished(
+                csvExportJobService.submit("positions", ExportFormat.CSV, false).getJobId());
+        Path file = csvExportJobService.getDownload(finished.getJobId()).file();
+        assertTrue(Files.exists(file));
+
+        ReflectionTestUtils.setField(csvExportJobService, "retention", Duration.ofMillis(-1));
+        csvExportJobService.evictExpiredJobs();
+
+        assertFalse(Files.exists(file));
+        assertTrue(csvExportJobService.getJobs().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Submit - rejects unknown types and gzip-compressed workbooks")
+    void submit_InvalidRequest_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> csvExportJobService.submit("departments", ExportFormat.CSV, false));
+        assertThrows(BadRequestException.class, () -> csvExportJobService.submit("users", ExportFormat.XLSX, true));
+    }
+
+    private CsvExportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            CsvExportJobDTO job = csvExportJobService.getJob(jobId);
+            if ("COMPLETED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(25);
+        }
+        fail("Export job did not finish");
+        return null;
+    }
+}
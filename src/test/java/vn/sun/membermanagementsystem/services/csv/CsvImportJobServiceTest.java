@@ -0,0 +1,142 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.dto.response.CsvImportJobDTO;
+import vn.sun.membermanagementsystem.entities.Skill;
+import vn.sun.membermanagementsystem.entities.User;
+import vn.sun.membermanagementsystem.exception.BadRequestException;
+import vn.sun.membermanagementsystem.services.csv.impls.PositionCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.ProjectCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.SkillCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.TeamCsvImportService;
+import vn.sun.membermanagementsystem.services.csv.impls.UserCsvImportService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CsvImportJobService Unit Tests")
+class CsvImportJobServiceTest {
+
+    @Mock
+    private UserCsvImportService userCsvImportService;
+
+    @Mock
+    private SkillCsvImportService skillCsvImportService;
+
+    @Mock
+    private PositionCsvImportService positionCsvImportService;
+
+    @Mock
+    private ProjectCsvImportService projectCsvImportService;
+
+    @Mock
+    private TeamCsvImportService teamCsvImportService;
+
+    private CsvImportJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new CsvImportJobService(userCsvImportService, skillCsvImportService,
+                positionCsvImportService, projectCsvImportService, teamCsvImportService);
+        ReflectionTestUtils.setField(jobService, "maxPerEntity", 1);
+        jobService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Submit - returns immediately and reports progress and result")
+    void submit_RunsInBackground_Completes() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userCsvImportService.importFromCsv(any(), any())).thenAnswer(invocation -> {
+            CsvImportProgress progress = invocation.getArgument(1);
+            progress.onValidationStarted();
+            progress.onRowValidated(true);
+            progress.onRowValidated(true);
+            progress.onProcessingStarted(2);
+            progress.onRowsProcessed(1);
+            release.await(5, TimeUnit.SECONDS);
+            progress.onRowsProcessed(1);
+            return CsvImportResult.<User>builder().totalRows(2).successCount(2).build();
+        });
+
+        CsvImportJobDTO submitted = jobService.submit("users", csvFile("users.csv"));
+        assertNotNull(submitted.getJobId());
+
+        CsvImportJobDTO running = awaitStatus(submitted.getJobId(), "PROCESSING");
+        assertEquals(2, running.getTotalRows());
+        assertEquals(2, running.getRowsValidated());
+
+        release.countDown();
+        CsvImportJobDTO done = awaitStatus(submitted.getJobId(), "COMPLETED");
+        assertEquals(2, done.getRowsProcessed());
+        assertEquals(2, done.getSuccessCount());
+        assertEquals(0, done.getErrorCount());
+    }
+
+    @Test
+    @DisplayName("Submit - saturated entity type waits without blocking other types")
+    void submit_PerEntityLimit_OtherTypesStillRun() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userCsvImportService.importFromCsv(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return CsvImportResult.<User>builder().build();
+        });
+        when(skillCsvImportService.importFromCsv(any(), any()))
+                .thenAnswer(invocation -> CsvImportResult.<Skill>builder().successCount(1).build());
+
+        CsvImportJobDTO first = jobService.submit("users", csvFile("a.csv"));
+        CsvImportJobDTO second = jobService.submit("users", csvFile("b.csv"));
+        CsvImportJobDTO skills = jobService.submit("skills", csvFile("skills.csv"));
+
+        awaitStatus(skills.getJobId(), "COMPLETED");
+        assertEquals("QUEUED", jobService.getJob(second.getJobId()).getStatus());
+
+        release.countDown();
+        awaitStatus(first.getJobId(), "COMPLETED");
+        awaitStatus(second.getJobId(), "COMPLETED");
+    }
+
+    @Test
+    @DisplayName("Submit - rejects unknown entity type and invalid file up front")
+    void submit_InvalidRequest_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> jobService.submit("departments", csvFile("departments.csv")));
+
+        when(userCsvImportService.validateFileForPreview(any())).thenReturn("File must be a CSV file");
+        assertThrows(BadRequestException.class, () -> jobService.submit("users", csvFile("users.txt")));
+        verify(userCsvImportService, never()).importFromCsv(any(), any());
+    }
+
+    private CsvImportJobDTO awaitStatus(String jobId, String status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        CsvImportJobDTO job = jobService.getJob(jobId);
+        while (!status.equals(job.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = jobService.getJob(jobId);
+        }
+        assertEquals(status, job.getStatus());
+        return job;
+    }
+
+    private MockMultipartFile csvFile(String filename) {
+        return new MockMultipartFile("file", filename, "text/csv", "Name\nA\n".getBytes(StandardCharsets.UTF_8));
+    }
+}
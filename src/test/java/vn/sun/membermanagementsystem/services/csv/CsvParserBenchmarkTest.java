@@ -0,0 +1,77 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the two {@link CsvParserType}s on the same generated user import file: rows per second
+ * and bytes allocated per row on the reading thread. Both readers are fed from memory, so the
+ * numbers cover parsing only, not I/O. {@link ByteCsvRowReaderTest} checks on every build that
+ * both read the same records and that {@code BYTES} allocates less; this adds the throughput.
+ * <p>
+ * Skipped by default; run with
+ * {@code mvn test -Dtest=CsvParserBenchmarkTest -Dcsv.benchmark=true [-Dcsv.benchmark.rows=200000]}.
+ */
+@Slf4j
+@DisplayName("CSV parser benchmark")
+@EnabledIfSystemProperty(named = "csv.benchmark", matches = "true")
+class CsvParserBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    @Test
+    @DisplayName("Benchmark - BYTES reads a user import file faster and with less garbage than OPENCSV")
+    void compareParsers() throws Exception {
+        int rows = Integer.getInteger("csv.benchmark.rows", 200_000);
+        byte[] file = ByteCsvRowReaderTest.userImportFile(rows);
+
+        // Both parsers must read the same records before their speed means anything
+        assertEquals(ByteCsvRowReaderTest.checksum(CsvParserType.OPENCSV, file),
+                ByteCsvRowReaderTest.checksum(CsvParserType.BYTES, file));
+
+        Result openCsv = measure(CsvParserType.OPENCSV, file, rows);
+        Result bytes = measure(CsvParserType.BYTES, file, rows);
+
+        log.info("CSV parser benchmark: {} rows, {} MB, JDK {}", rows,
+                String.format("%.1f", file.length / 1_048_576.0), System.getProperty("java.version"));
+        log.info("{}", openCsv);
+        log.info("{}", bytes);
+        log.info("BYTES vs OPENCSV: {}x rows/s, {}x bytes allocated per row",
+                String.format("%.2f", bytes.rowsPerSecond() / openCsv.rowsPerSecond()),
+                String.format("%.2f", bytes.bytesPerRow() / openCsv.bytesPerRow()));
+
+        assertTrue(bytes.rowsPerSecond() > openCsv.rowsPerSecond(), "BYTES should read more rows per second");
+        assertTrue(bytes.bytesPerRow() < openCsv.bytesPerRow(), "BYTES should allocate less per row");
+    }
+
+    private record Result(CsvParserType parser, double rowsPerSecond, double bytesPerRow) {
+        @Override
+        public String toString() {
+            return String.format("%-8s %,12.0f rows/s (median of %d)  %,8.0f B/row allocated",
+                    parser, rowsPerSecond, MEASURED_ITERATIONS, bytesPerRow);
+        }
+    }
+
+    private Result measure(CsvParserType parser, byte[] file, int rows) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            ByteCsvRowReaderTest.checksum(parser, file);
+        }
+
+        double[] rowsPerSecond = new double[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            ByteCsvRowReaderTest.checksum(parser, file);
+            rowsPerSecond[i] = (rows + 1) * 1e9 / (System.nanoTime() - start);
+        }
+        Arrays.sort(rowsPerSecond);
+        double bytesPerRow = ByteCsvRowReaderTest.allocatedBytesPerRow(parser, file, rows, MEASURED_ITERATIONS);
+        return new Result(parser, rowsPerSecond[MEASURED_ITERATIONS / 2], bytesPerRow);
+    }
+}
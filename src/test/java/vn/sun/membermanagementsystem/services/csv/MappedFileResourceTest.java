@@ -0,0 +1,56 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappedFileResource Unit Tests")
+class MappedFileResourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read the whole file across segment boundaries")
+    void getInputStream_ReadsAcrossSegments() throws Exception {
+        String content = "Name,Email\nAlice,alice@example.com\nBob,bob@example.com\n";
+        Path file = Files.writeString(tempDir.resolve("users.csv"), content);
+
+        try (InputStream in = new MappedFileResource(file, 7).getInputStream()) {
+            assertEquals(content, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    @DisplayName("Should support mark and reset")
+    void getInputStream_MarkReset() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("users.csv"), "abcdef");
+
+        try (InputStream in = new MappedFileResource(file, 4).getInputStream()) {
+            assertTrue(in.markSupported());
+            in.mark(2);
+            assertEquals('a', in.read());
+            assertEquals('b', in.read());
+            in.reset();
+            assertEquals("abcdef", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read an empty file as an empty stream")
+    void getInputStream_EmptyFile() throws Exception {
+        Path file = Files.createFile(tempDir.resolve("empty.csv"));
+
+        try (InputStream in = new MappedFileResource(file).getInputStream()) {
+            assertEquals(-1, in.read());
+        }
+    }
+}
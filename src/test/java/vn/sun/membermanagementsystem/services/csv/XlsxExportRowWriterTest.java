@@ -0,0 +1,69 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("XlsxExportRowWriter Unit Tests")
+class XlsxExportRowWriterTest {
+
+    private static final int MAX_CELL_LENGTH = 32_767;
+
+    @Test
+    @DisplayName("Should write a value of exactly the XLSX cell limit")
+    void writeRow_ValueAtCellLimit_Written() throws Exception {
+        String description = "x".repeat(MAX_CELL_LENGTH);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ExportRowWriter writer = ExportRowWriter.open(ExportFormat.XLSX, out)) {
+            writer.writeRow(new String[]{"Name", "Description"});
+            writer.writeRow(new String[]{"Apollo", description});
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("Apollo", sheet.getRow(1).getCell(0).getStringCellValue());
+            assertEquals(description, sheet.getRow(1).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail with the row and column when a value exceeds the XLSX cell limit")
+    void writeRow_ValueOverCellLimit_ThrowsWithRowAndColumn() throws Exception {
+        ExportRowWriter writer = ExportRowWriter.open(ExportFormat.XLSX, new ByteArrayOutputStream());
+        try {
+            writer.writeRow(new String[]{"Name", "Description"});
+            writer.writeRow(new String[]{"Apollo", "short"});
+
+            IOException exception = assertThrows(IOException.class,
+                    () -> writer.writeRow(new String[]{"Gemini", "x".repeat(MAX_CELL_LENGTH + 1)}));
+
+            assertEquals("Row 3, column \"Description\" has 32,768 characters; an XLSX cell holds at most 32,767. "
+                    + "Export as CSV instead.", exception.getMessage());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write values over the XLSX cell limit to CSV unchanged")
+    void writeRow_CsvValueOverCellLimit_Written() throws Exception {
+        String description = "x".repeat(MAX_CELL_LENGTH + 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ExportRowWriter writer = ExportRowWriter.open(ExportFormat.CSV, out)) {
+            writer.writeRow(new String[]{"Name", "Description"});
+            writer.writeRow(new String[]{"Gemini", description});
+        }
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"Gemini\",\"" + description + "\""));
+    }
+}
@@ -0,0 +1,114 @@
+package vn.sun.membermanagementsystem.services.csv;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("XlsxRowReader Unit Tests")
+class XlsxRowReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read strings, numbers, dates and booleans as import values")
+    void readNext_ConvertsCellTypes() throws Exception {
+        Path file = tempDir.resolve("users.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+
+            Sheet sheet = workbook.createSheet("Users");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Years");
+            header.createCell(2).setCellValue("Birthday");
+            header.createCell(3).setCellValue("Active");
+
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("Nguyễn Văn A");
+            row.createCell(1).setCellValue(3.0);
+            row.createCell(2).setCellValue(LocalDate.of(1990, 5, 1));
+            row.getCell(2).setCellStyle(dateStyle);
+            row.createCell(3).setCellValue(true);
+
+            // Row 3 is left out; row 4 starts at column C
+            Row sparse = sheet.createRow(3);
+            sparse.createCell(2).setCellValue(2.5);
+            workbook.write(out);
+        }
+
+        List<String[]> rows = readAll(file, null);
+
+        assertEquals(4, rows.size());
+        assertArrayEquals(new String[]{"Name", "Years", "Birthday", "Active"}, rows.get(0));
+        assertArrayEquals(new String[]{"Nguyễn Văn A", "3", "1990-05-01", "TRUE"}, rows.get(1));
+        assertArrayEquals(new String[]{""}, rows.get(2));
+        assertArrayEquals(new String[]{"", "", "2.5"}, rows.get(3));
+    }
+
+    @Test
+    @DisplayName("Should read back what the XLSX export writer wrote")
+    void readNext_RoundTripsExport() throws Exception {
+        Path file = tempDir.resolve("skills.xlsx");
+        try (OutputStream out = Files.newOutputStream(file);
+             ExportRowWriter writer = ExportRowWriter.open(ExportFormat.XLSX, out)) {
+            writer.writeRow(new String[]{"Name", "Description"});
+            for (int i = 0; i < 250; i++) {
+                writer.writeRow(new String[]{"Skill " + i, i % 2 == 0 ? null : "Line one\nline two"});
+            }
+        }
+
+        List<String[]> rows = readAll(file, null);
+
+        assertEquals(251, rows.size());
+        assertArrayEquals(new String[]{"Name", "Description"}, rows.get(0));
+        assertArrayEquals(new String[]{"Skill 0", ""}, rows.get(1));
+        assertArrayEquals(new String[]{"Skill 249", "Line one\nline two"}, rows.get(250));
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a workbook and still run the close callback")
+    void open_InvalidWorkbook_Throws() throws Exception {
+        Path file = tempDir.resolve("broken.xlsx");
+        Files.writeString(file, "PK not really a zip");
+        AtomicBoolean closed = new AtomicBoolean();
+
+        assertThrows(IOException.class, () -> new XlsxRowReader(file, () -> closed.set(true)));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("Should convert cell references to zero-based columns")
+    void columnIndex() {
+        assertEquals(0, XlsxRowReader.columnIndex("A1"));
+        assertEquals(25, XlsxRowReader.columnIndex("Z10"));
+        assertEquals(27, XlsxRowReader.columnIndex("AB12"));
+    }
+
+    private List<String[]> readAll(Path file, Runnable onClose) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvRowReader reader = new XlsxRowReader(file, onClose)) {
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,134 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.entities.Position;
+import vn.sun.membermanagementsystem.repositories.PositionBatchRepository;
+import vn.sun.membermanagementsystem.repositories.PositionRepository;
+import vn.sun.membermanagementsystem.services.csv.CsvImportProgress;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PositionCsvImportService Unit Tests")
+class PositionCsvImportServiceTest {
+
+    @Mock
+    private PositionRepository positionRepository;
+
+    @Mock
+    private PositionBatchRepository positionBatchRepository;
+
+    @InjectMocks
+    private PositionCsvImportService positionCsvImportService;
+
+    @Captor
+    private ArgumentCaptor<List<Position>> positionsCaptor;
+
+    @Test
+    @DisplayName("Sync - new positions are inserted and changed abbreviations updated by ID")
+    void syncFromCsv_InsertsNewAndUpdatesById() {
+        Position engineer = position(1L, "Software Engineer", "SE");
+        Position manager = position(2L, "Project Manager", "PM");
+        when(positionRepository.findAllByLowerNameIn(anyCollection())).thenReturn(List.of(engineer, manager));
+        when(positionRepository.findAllByLowerAbbreviationIn(anyCollection())).thenReturn(List.of(engineer));
+        when(positionBatchRepository.updateAbbreviations(anyList(), anyInt())).thenReturn(new int[]{1});
+
+        MockMultipartFile file = csvFile(
+                "Name,Abbreviation\n" +
+                "Software Engineer,se\n" +
+                "Project Manager,PJM\n" +
+                "Business Analyst,BA\n");
+
+        CsvImportResult<Position> result = positionCsvImportService.syncFromCsv(file, CsvImportProgress.NONE);
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(1, result.getUnchangedCount());
+
+        verify(positionBatchRepository).insertPositions(positionsCaptor.capture());
+        assertEquals(List.of("BA"), positionsCaptor.getValue().stream().map(Position::getAbbreviation).toList());
+        verify(positionBatchRepository).updateAbbreviations(positionsCaptor.capture(), anyInt());
+        assertEquals(2L, positionsCaptor.getValue().get(0).getId());
+        assertEquals("PJM", positionsCaptor.getValue().get(0).getAbbreviation());
+    }
+
+    @Test
+    @DisplayName("Sync - abbreviation of another position fails validation")
+    void syncFromCsv_AbbreviationOfOtherPosition_RolledBack() {
+        Position engineer = position(1L, "Software Engineer", "SE");
+        when(positionRepository.findAllByLowerNameIn(anyCollection())).thenReturn(List.of());
+        when(positionRepository.findAllByLowerAbbreviationIn(anyCollection())).thenReturn(List.of(engineer));
+
+        CsvImportResult<Position> result = positionCsvImportService.syncFromCsv(
+                csvFile("Name,Abbreviation\nSystem Engineer,SE\n"), CsvImportProgress.NONE);
+
+        assertTrue(result.isRolledBack());
+        assertEquals("Abbreviation already exists: SE", result.getErrors().get(0).getMessage());
+        verifyNoInteractions(positionBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Import - abbreviation of a soft-deleted position fails validation instead of restoring it")
+    void importFromCsv_AbbreviationOfDeletedPosition_RolledBack() {
+        Position oldRole = position(1L, "Old Role", "SE");
+        oldRole.setDeletedAt(LocalDateTime.now());
+        when(positionRepository.findAllByLowerNameIn(anyCollection())).thenReturn(List.of());
+        when(positionRepository.findAllByLowerAbbreviationIn(anyCollection())).thenReturn(List.of(oldRole));
+
+        CsvImportResult<Position> result = positionCsvImportService.importFromCsv(
+                csvFile("Name,Abbreviation\nNew Role,SE\n"));
+
+        assertTrue(result.isRolledBack());
+        assertEquals(0, result.getSuccessCount());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("Abbreviation belongs to a deleted position: SE", result.getErrors().get(0).getMessage());
+        verifyNoInteractions(positionBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Sync - changing to the abbreviation of a soft-deleted position fails that row")
+    void syncFromCsv_AbbreviationOfDeletedPosition_RowError() {
+        Position engineer = position(1L, "Software Engineer", "SE");
+        Position oldRole = position(2L, "Old Role", "SWE");
+        oldRole.setDeletedAt(LocalDateTime.now());
+        when(positionRepository.findAllByLowerNameIn(anyCollection())).thenReturn(List.of(engineer));
+        when(positionRepository.findAllByLowerAbbreviationIn(anyCollection())).thenReturn(List.of(oldRole));
+
+        CsvImportResult<Position> result = positionCsvImportService.syncFromCsv(
+                csvFile("Name,Abbreviation\nSoftware Engineer,SWE\n"), CsvImportProgress.NONE);
+
+        assertTrue(result.isRolledBack());
+        assertEquals("Abbreviation belongs to a deleted position: SWE", result.getErrors().get(0).getMessage());
+        verifyNoInteractions(positionBatchRepository);
+    }
+
+    private Position position(Long id, String name, String abbreviation) {
+        Position position = new Position();
+        position.setId(id);
+        position.setName(name);
+        position.setAbbreviation(abbreviation);
+        return position;
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "positions.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vn.sun.membermanagementsystem.entities.Project;
+import vn.sun.membermanagementsystem.entities.ProjectMember;
+import vn.sun.membermanagementsystem.entities.Team;
+import vn.sun.membermanagementsystem.repositories.ProjectLeadershipHistoryRepository;
+import vn.sun.membermanagementsystem.repositories.ProjectMemberRepository;
+import vn.sun.membermanagementsystem.repositories.ProjectRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProjectCsvExportService Unit Tests")
+class ProjectCsvExportServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectLeadershipHistoryRepository projectLeadershipHistoryRepository;
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @InjectMocks
+    private ProjectCsvExportService projectCsvExportService;
+
+    @Test
+    @DisplayName("Export - builds leader and member columns from one query each per chunk")
+    void exportToCsv_LoadsEmailsPerChunk() throws Exception {
+        Team team = new Team();
+        team.setName("Platform");
+        when(projectRepository.streamAllNotDeletedWithTeam()).thenReturn(Stream.of(
+                project(1L, "Apollo", team), project(2L, "Gemini", team)));
+        when(projectLeadershipHistoryRepository.findCurrentLeaderEmailsByProjectIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(email(1L, "lead@example.com")));
+        when(projectMemberRepository.findMemberEmailsByProjectIdIn(List.of(1L, 2L), ProjectMember.MemberStatus.ACTIVE))
+                .thenReturn(List.of(email(1L, "a@example.com"), email(1L, "b@example.com")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        projectCsvExportService.exportToCsv(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("\"Apollo\",\"APO\",\"2025-01-01\",\"\",\"Platform\",\"lead@example.com\","
+                + "\"a@example.com;b@example.com\"", lines[1]);
+        assertEquals("\"Gemini\",\"GEM\",\"2025-01-01\",\"\",\"Platform\",\"\",\"\"", lines[2]);
+        verify(projectLeadershipHistoryRepository, times(1)).findCurrentLeaderEmailsByProjectIdIn(anyList());
+        verify(projectMemberRepository, times(1)).findMemberEmailsByProjectIdIn(anyList(), any());
+    }
+
+    private Project project(Long id, String name, Team team) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName(name);
+        project.setAbbreviation(name.substring(0, 3).toUpperCase());
+        project.setStartDate(LocalDate.of(2025, 1, 1));
+        project.setTeam(team);
+        return project;
+    }
+
+    private ProjectRepository.ProjectEmail email(Long projectId, String email) {
+        return new ProjectRepository.ProjectEmail() {
+            @Override
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import vn.sun.membermanagementsystem.dto.request.CreateProjectRequest;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.dto.response.ProjectDTO;
+import vn.sun.membermanagementsystem.entities.Team;
+import vn.sun.membermanagementsystem.entities.User;
+import vn.sun.membermanagementsystem.repositories.TeamRepository;
+import vn.sun.membermanagementsystem.repositories.UserRepository;
+import vn.sun.membermanagementsystem.services.ProjectService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProjectCsvImportService Unit Tests")
+class ProjectCsvImportServiceTest {
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ProjectCsvImportService projectCsvImportService;
+
+    @Test
+    @DisplayName("Import - resolves teams and emails with one query each")
+    void importFromCsv_ResolvesReferencesInBatch() {
+        Team team = new Team();
+        team.setId(10L);
+        team.setName("Dev Team");
+        when(teamRepository.findAllByNameInAndNotDeleted(anyCollection())).thenReturn(List.of(team));
+        when(userRepository.findAllByEmailIn(anyCollection())).thenReturn(List.of(
+                User.builder().id(1L).email("lead@sun.vn").build(),
+                User.builder().id(2L).email("dev1@sun.vn").build(),
+                User.builder().id(3L).email("dev2@sun.vn").build()));
+        when(projectService.createProject(any())).thenReturn(new ProjectDTO());
+
+        MockMultipartFile file = csvFile(
+                "Name,Abbreviation,StartDate,EndDate,TeamName,LeaderEmail,MemberEmails\n" +
+                "Alpha,PA,2025-01-01,,Dev Team,lead@sun.vn,dev1@sun.vn;DEV2@sun.vn\n" +
+                "Beta,PB,2025-02-01,,dev team,dev1@sun.vn,lead@sun.vn\n");
+
+        CsvImportResult<ProjectDTO> result = projectCsvImportService.importFromCsv(file);
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getSuccessCount());
+
+        ArgumentCaptor<CreateProjectRequest> requests = ArgumentCaptor.forClass(CreateProjectRequest.class);
+        verify(projectService, times(2)).createProject(requests.capture());
+        CreateProjectRequest first = requests.getAllValues().get(0);
+        assertEquals(10L, first.getTeamId());
+        assertEquals(1L, first.getLeaderId());
+        assertEquals(List.of(2L, 3L), first.getMemberIds());
+        assertEquals(2L, requests.getAllValues().get(1).getLeaderId());
+
+        verify(teamRepository, times(1)).findAllByNameInAndNotDeleted(anyCollection());
+        verify(userRepository, times(1)).findAllByEmailIn(anyCollection());
+        verify(teamRepository, never()).findByNameAndNotDeleted(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Import - unknown team and member fail validation without processing")
+    void importFromCsv_UnknownReferences_RolledBack() {
+        when(teamRepository.findAllByNameInAndNotDeleted(anyCollection())).thenReturn(List.of());
+        when(userRepository.findAllByEmailIn(anyCollection())).thenReturn(List.of());
+
+        MockMultipartFile file = csvFile(
+                "Name,Abbreviation,StartDate,EndDate,TeamName,LeaderEmail,MemberEmails\n" +
+                "Alpha,PA,2025-01-01,,Ghost Team,,nobody@sun.vn\n");
+
+        CsvImportResult<ProjectDTO> result = projectCsvImportService.importFromCsv(file);
+
+        assertTrue(result.isRolledBack());
+        assertEquals(2, result.getErrors().size());
+        verify(projectService, never()).createProject(any());
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "projects.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,68 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.sun.membermanagementsystem.entities.Skill;
+import vn.sun.membermanagementsystem.repositories.SkillRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SkillCsvExportService Unit Tests")
+class SkillCsvExportServiceTest {
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private SkillCsvExportService skillCsvExportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(skillCsvExportService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(skillCsvExportService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Export - writes streamed rows, clears the persistence context after each chunk and closes the stream")
+    void exportToCsv_StreamsRows() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(skillRepository.streamAllNotDeleted()).thenReturn(IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> skill((long) i, "Skill " + i))
+                .onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        skillCsvExportService.exportToCsv(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(6, lines.length);
+        assertEquals("﻿\"ID\",\"Name\",\"Description\",\"Created At\",\"Updated At\"", lines[0]);
+        assertTrue(lines[5].startsWith("\"5\",\"Skill 5\""));
+        verify(entityManager, times(3)).clear();
+        assertTrue(closed.get());
+        verify(skillRepository, never()).findAllNotDeleted();
+    }
+
+    private Skill skill(Long id, String name) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setName(name);
+        return skill;
+    }
+}
@@ -0,0 +1,129 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.entities.Skill;
+import vn.sun.membermanagementsystem.repositories.SkillBatchRepository;
+import vn.sun.membermanagementsystem.repositories.SkillRepository;
+import vn.sun.membermanagementsystem.services.csv.CsvImportProgress;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SkillCsvImportService Unit Tests")
+class SkillCsvImportServiceTest {
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @Mock
+    private SkillBatchRepository skillBatchRepository;
+
+    @InjectMocks
+    private SkillCsvImportService skillCsvImportService;
+
+    @Captor
+    private ArgumentCaptor<List<Skill>> skillsCaptor;
+
+    @Test
+    @DisplayName("Sync - upserts new and changed skills in one batch and counts unchanged ones")
+    void syncFromCsv_CountsInsertedUpdatedUnchanged() {
+        when(skillBatchRepository.upsertSkills(anyList(), anyInt()))
+                .thenReturn(new int[]{SkillBatchRepository.INSERTED, SkillBatchRepository.UPDATED});
+        when(skillRepository.findAllByLowerNameIn(anyCollection())).thenReturn(List.of(
+                skill(1L, "Java", "Enterprise language"),
+                skill(2L, "React", "UI library")));
+
+        MockMultipartFile file = csvFile(
+                "Name,Description\n" +
+                "java,Enterprise language\n" +
+                "React,JavaScript UI library\n" +
+                "Go,Systems language\n");
+
+        CsvImportResult<Skill> result = skillCsvImportService.syncFromCsv(file, CsvImportProgress.NONE);
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(1, result.getUnchangedCount());
+
+        verify(skillBatchRepository).upsertSkills(skillsCaptor.capture(), anyInt());
+        assertEquals(List.of("Go", "React"), skillsCaptor.getValue().stream().map(Skill::getName).toList());
+        verify(skillBatchRepository, never()).insertSkills(anyList());
+        verify(skillRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Import - new skills are inserted with a plain batch insert, never upserted")
+    void importFromCsv_NewSkills_PlainInsert() {
+        MockMultipartFile file = csvFile(
+                "Name,Description\n" +
+                "Go,Systems language\n" +
+                "Rust,\n");
+
+        CsvImportResult<Skill> result = skillCsvImportService.importFromCsv(file);
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getSuccessCount());
+        verify(skillBatchRepository).insertSkills(skillsCaptor.capture());
+        assertEquals(List.of("Go", "Rust"), skillsCaptor.getValue().stream().map(Skill::getName).toList());
+        verify(skillBatchRepository, never()).upsertSkills(anyList(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Import - existing skill names still fail validation outside of a sync")
+    void importFromCsv_ExistingName_RolledBack() {
+        when(skillRepository.findAllByLowerNameIn(anyCollection()))
+                .thenReturn(List.of(skill(1L, "Java", null)));
+
+        CsvImportResult<Skill> result = skillCsvImportService.importFromCsv(csvFile("Name,Description\nJava,\n"));
+
+        assertTrue(result.isRolledBack());
+        assertEquals("Skill name already exists: Java", result.getErrors().get(0).getMessage());
+        verifyNoInteractions(skillBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Sync - the name of a soft-deleted skill fails validation instead of restoring it")
+    void syncFromCsv_DeletedName_RolledBack() {
+        Skill deleted = skill(1L, "Java", "Old description");
+        deleted.setDeletedAt(LocalDateTime.now());
+        when(skillRepository.findAllByLowerNameIn(anyCollection())).thenReturn(List.of(deleted));
+
+        CsvImportResult<Skill> result = skillCsvImportService.syncFromCsv(
+                csvFile("Name,Description\nJava,Enterprise language\n"), CsvImportProgress.NONE);
+
+        assertTrue(result.isRolledBack());
+        assertEquals("Skill name belongs to a deleted skill: Java", result.getErrors().get(0).getMessage());
+        verifyNoInteractions(skillBatchRepository);
+    }
+
+    private Skill skill(Long id, String name, String description) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setName(name);
+        skill.setDescription(description);
+        return skill;
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "skills.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
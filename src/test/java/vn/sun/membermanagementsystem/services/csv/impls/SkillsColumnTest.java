@@ -0,0 +1,77 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vn.sun.membermanagementsystem.entities.UserSkill;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SkillsColumn Unit Tests")
+class SkillsColumnTest {
+
+    @Test
+    @DisplayName("Should parse name, level and years of each entry")
+    void next_ParsesEntries() {
+        SkillsColumn skills = new SkillsColumn(" Java : advanced : 2.5 | Spring:BEGINNER");
+
+        assertTrue(skills.next());
+        assertEquals(1, skills.entryNumber());
+        assertEquals(3, skills.partCount());
+        assertEquals("Java", skills.name());
+        assertEquals(UserSkill.Level.ADVANCED, skills.level());
+        assertTrue(skills.isYearsValid());
+        assertEquals(new BigDecimal("2.5"), skills.years());
+
+        assertTrue(skills.next());
+        assertEquals(2, skills.entryNumber());
+        assertEquals("Spring", skills.name());
+        assertEquals(UserSkill.Level.BEGINNER, skills.level());
+        assertFalse(skills.hasYears());
+        assertEquals(BigDecimal.ZERO, skills.years());
+
+        assertFalse(skills.next());
+    }
+
+    @Test
+    @DisplayName("Should count entries and parts like split")
+    void next_MatchesSplitSemantics() {
+        SkillsColumn skills = new SkillsColumn("Java||Go::|:EXPERT");
+
+        assertTrue(skills.next());
+        assertEquals(1, skills.entryNumber());
+        assertEquals(1, skills.partCount());
+
+        assertTrue(skills.next());
+        assertEquals(3, skills.entryNumber());
+        assertEquals(1, skills.partCount());
+
+        assertTrue(skills.next());
+        assertEquals(4, skills.entryNumber());
+        assertEquals(2, skills.partCount());
+        assertTrue(skills.isNameBlank());
+        assertEquals(UserSkill.Level.EXPERT, skills.level());
+
+        assertFalse(skills.next());
+    }
+
+    @Test
+    @DisplayName("Should flag unknown levels and invalid years")
+    void next_InvalidValues() {
+        SkillsColumn skills = new SkillsColumn("Java:GURU:abc|Go:EXPERT:1e|Rust:EXPERT:-1.5E2");
+
+        assertTrue(skills.next());
+        assertNull(skills.level());
+        assertEquals("GURU", skills.rawLevel());
+        assertFalse(skills.isYearsValid());
+        assertEquals("abc", skills.rawYears());
+
+        assertTrue(skills.next());
+        assertFalse(skills.isYearsValid());
+
+        assertTrue(skills.next());
+        assertTrue(skills.isYearsValid());
+        assertEquals(new BigDecimal("-1.5E2"), skills.years());
+    }
+}
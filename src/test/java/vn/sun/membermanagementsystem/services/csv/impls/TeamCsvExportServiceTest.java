@@ -0,0 +1,76 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vn.sun.membermanagementsystem.entities.Team;
+import vn.sun.membermanagementsystem.repositories.TeamLeadershipHistoryRepository;
+import vn.sun.membermanagementsystem.repositories.TeamMemberRepository;
+import vn.sun.membermanagementsystem.repositories.TeamRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TeamCsvExportService Unit Tests")
+class TeamCsvExportServiceTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private TeamLeadershipHistoryRepository teamLeadershipHistoryRepository;
+
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
+    @InjectMocks
+    private TeamCsvExportService teamCsvExportService;
+
+    @Test
+    @DisplayName("Export - writes rosters in the import format without repeating the leader")
+    void exportToCsv_WritesRosters() throws Exception {
+        when(teamRepository.streamAllNotDeleted()).thenReturn(Stream.of(team(1L, "Backend"), team(2L, "Design")));
+        when(teamLeadershipHistoryRepository.findCurrentLeaderEmailsByTeamIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(email(1L, "lead@sun.vn")));
+        when(teamMemberRepository.findActiveMemberEmailsByTeamIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(email(1L, "lead@sun.vn"), email(1L, "dev1@sun.vn"), email(1L, "dev2@sun.vn")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        teamCsvExportService.exportToCsv(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("\"Backend\",\"\",\"lead@sun.vn\",\"dev1@sun.vn;dev2@sun.vn\"", lines[1]);
+        assertEquals("\"Design\",\"\",\"\",\"\"", lines[2]);
+    }
+
+    private Team team(Long id, String name) {
+        Team team = new Team();
+        team.setId(id);
+        team.setName(name);
+        return team;
+    }
+
+    private TeamRepository.TeamEmail email(Long teamId, String email) {
+        return new TeamRepository.TeamEmail() {
+            @Override
+            public Long getTeamId() {
+                return teamId;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,187 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.entities.Team;
+import vn.sun.membermanagementsystem.entities.TeamLeadershipHistory;
+import vn.sun.membermanagementsystem.entities.TeamMember;
+import vn.sun.membermanagementsystem.entities.User;
+import vn.sun.membermanagementsystem.repositories.TeamBatchRepository;
+import vn.sun.membermanagementsystem.repositories.TeamMemberRepository;
+import vn.sun.membermanagementsystem.repositories.TeamRepository;
+import vn.sun.membermanagementsystem.repositories.UserRepository;
+import vn.sun.membermanagementsystem.services.csv.CsvCommitMode;
+import vn.sun.membermanagementsystem.services.csv.CsvImportContext;
+import vn.sun.membermanagementsystem.services.csv.CsvImportProgress;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TeamCsvImportService Unit Tests")
+class TeamCsvImportServiceTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
+    @Mock
+    private TeamBatchRepository teamBatchRepository;
+
+    @InjectMocks
+    private TeamCsvImportService teamCsvImportService;
+
+    @Captor
+    private ArgumentCaptor<List<Team>> teamsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<TeamMember>> membersCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<TeamLeadershipHistory>> leadershipsCaptor;
+
+    @Captor
+    private ArgumentCaptor<Collection<String>> emailsCaptor;
+
+    @Test
+    @DisplayName("Import - resolves rosters with one query per lookup and writes them in batches")
+    void importFromCsv_BulkInsertsRosters() {
+        when(teamRepository.findAllByNameIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.findAllByEmailInAndNotDeleted(anyCollection())).thenReturn(List.of(
+                User.builder().id(1L).email("lead@sun.vn").build(),
+                User.builder().id(2L).email("dev1@sun.vn").build(),
+                User.builder().id(3L).email("dev2@sun.vn").build()));
+        when(teamMemberRepository.findActiveTeamsByUserIds(anyList())).thenReturn(List.of());
+
+        MockMultipartFile file = csvFile(
+                "Name,Description,LeaderEmail,MemberEmails\n" +
+                "Alpha,Backend,lead@sun.vn,dev1@sun.vn;lead@sun.vn\n" +
+                "Beta,,,DEV2@sun.vn\n");
+
+        CsvImportResult<Team> result = teamCsvImportService.importFromCsv(file);
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getSuccessCount());
+
+        verify(teamBatchRepository).insertTeams(teamsCaptor.capture());
+        assertEquals(List.of("Alpha", "Beta"), teamsCaptor.getValue().stream().map(Team::getName).toList());
+
+        verify(teamBatchRepository).insertTeamMembers(membersCaptor.capture(), anyInt());
+        assertEquals(List.of(1L, 2L, 3L), membersCaptor.getValue().stream().map(m -> m.getUser().getId()).toList());
+
+        verify(teamBatchRepository).insertLeaderships(leadershipsCaptor.capture(), anyInt());
+        assertEquals(1, leadershipsCaptor.getValue().size());
+        assertEquals(1L, leadershipsCaptor.getValue().get(0).getLeader().getId());
+        assertEquals("Alpha", leadershipsCaptor.getValue().get(0).getTeam().getName());
+
+        verify(teamRepository, times(1)).findAllByNameIn(anyCollection());
+        verify(userRepository, times(1)).findAllByEmailInAndNotDeleted(anyCollection());
+        verify(teamMemberRepository, times(1)).findActiveTeamsByUserIds(anyList());
+    }
+
+    @Test
+    @DisplayName("Import - users shared by an earlier stage are not looked up again")
+    void importFromCsv_SharedReferences_QueriesOnlyUnknownEmails() {
+        CsvImportContext shared = new CsvImportContext();
+        shared.lookup("user.email").put("lead@sun.vn", 1L);
+        shared.lookup("user.email").put("dev1@sun.vn", 2L);
+        when(teamRepository.findAllByNameIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.findAllByEmailInAndNotDeleted(emailsCaptor.capture())).thenReturn(List.of(
+                User.builder().id(3L).email("dev2@sun.vn").build()));
+        when(teamMemberRepository.findActiveTeamsByUserIds(anyList())).thenReturn(List.of());
+
+        MockMultipartFile file = csvFile(
+                "Name,Description,LeaderEmail,MemberEmails\n" +
+                "Alpha,Backend,lead@sun.vn,dev1@sun.vn;dev2@sun.vn\n");
+
+        CsvImportResult<Team> result = teamCsvImportService.importFromCsv(
+                file, CsvImportProgress.NONE, CsvCommitMode.ALL_OR_NOTHING, shared);
+
+        assertFalse(result.hasErrors());
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(Set.of("dev2@sun.vn"), Set.copyOf(emailsCaptor.getValue()));
+
+        verify(teamBatchRepository).insertTeamMembers(membersCaptor.capture(), anyInt());
+        assertEquals(List.of(1L, 2L, 3L), membersCaptor.getValue().stream().map(m -> m.getUser().getId()).toList());
+    }
+
+    @Test
+    @DisplayName("Import - users already in a team or listed twice fail validation without writes")
+    void importFromCsv_MembershipConflicts_RolledBack() {
+        User lead = User.builder().id(1L).email("lead@sun.vn").build();
+        Team current = new Team();
+        current.setName("Ops");
+        TeamMember membership = new TeamMember();
+        membership.setUser(lead);
+        membership.setTeam(current);
+
+        when(teamRepository.findAllByNameIn(anyCollection())).thenReturn(List.of());
+        when(userRepository.findAllByEmailInAndNotDeleted(anyCollection())).thenReturn(List.of(
+                lead, User.builder().id(2L).email("dev1@sun.vn").build()));
+        when(teamMemberRepository.findActiveTeamsByUserIds(anyList())).thenReturn(List.of(membership));
+
+        MockMultipartFile file = csvFile(
+                "Name,Description,LeaderEmail,MemberEmails\n" +
+                "Alpha,,lead@sun.vn,dev1@sun.vn\n" +
+                "Beta,,,dev1@sun.vn\n");
+
+        CsvImportResult<Team> result = teamCsvImportService.importFromCsv(file);
+
+        assertTrue(result.isRolledBack());
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).getMessage().contains("already in team 'Ops'"));
+        assertTrue(result.getErrors().get(1).getMessage().contains("more than one team (first in row 2)"));
+        verify(teamBatchRepository, never()).insertTeams(any());
+        verify(teamBatchRepository, never()).insertTeamMembers(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Import - the name of a soft-deleted team fails that row instead of the whole batch")
+    void importFromCsv_DeletedTeamName_RowError() {
+        Team deleted = new Team();
+        deleted.setId(5L);
+        deleted.setName("Alpha");
+        deleted.setDeletedAt(LocalDateTime.now());
+        when(teamRepository.findAllByNameIn(anyCollection())).thenReturn(List.of(deleted));
+        when(userRepository.findAllByEmailInAndNotDeleted(anyCollection())).thenReturn(List.of(
+                User.builder().id(1L).email("lead@sun.vn").build()));
+        when(teamMemberRepository.findActiveTeamsByUserIds(anyList())).thenReturn(List.of());
+
+        CsvImportResult<Team> result = teamCsvImportService.importFromCsv(csvFile(
+                "Name,Description,LeaderEmail,MemberEmails\n" +
+                "Alpha,,lead@sun.vn,\n"));
+
+        assertTrue(result.isRolledBack());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("Validation", result.getErrors().get(0).getField());
+        assertEquals("Team name belongs to a deleted team: Alpha", result.getErrors().get(0).getMessage());
+        verify(teamBatchRepository, never()).insertTeams(any());
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "teams.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,126 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.sun.membermanagementsystem.entities.Skill;
+import vn.sun.membermanagementsystem.entities.User;
+import vn.sun.membermanagementsystem.entities.UserSkill;
+import vn.sun.membermanagementsystem.enums.UserRole;
+import vn.sun.membermanagementsystem.enums.UserStatus;
+import vn.sun.membermanagementsystem.repositories.UserRepository;
+import vn.sun.membermanagementsystem.repositories.UserSkillRepository;
+import vn.sun.membermanagementsystem.services.csv.ExportFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserCsvExportService Unit Tests")
+class UserCsvExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserSkillRepository userSkillRepository;
+
+    @InjectMocks
+    private UserCsvExportService userCsvExportService;
+
+    @Test
+    @DisplayName("Export - loads skills with one query per chunk of users")
+    void exportToCsv_LoadsSkillsPerChunk() throws Exception {
+        ReflectionTestUtils.setField(userCsvExportService, "chunkSize", 2);
+        User alice = user(1L, "alice@example.com");
+        User bob = user(2L, "bob@example.com");
+        User carol = user(3L, "carol@example.com");
+        when(userRepository.streamAllNotDeleted()).thenReturn(Stream.of(alice, bob, carol));
+        when(userSkillRepository.findAllWithSkillByUserIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                userSkill(alice, "Java", UserSkill.Level.EXPERT, "5.5"),
+                userSkill(alice, "SQL", UserSkill.Level.BEGINNER, null)));
+        when(userSkillRepository.findAllWithSkillByUserIdIn(List.of(3L))).thenReturn(List.of(
+                userSkill(carol, "Go", UserSkill.Level.ADVANCED, "2")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userCsvExportService.exportToCsv(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].endsWith("\"Java:EXPERT:5.5|SQL:BEGINNER:0\""));
+        assertTrue(lines[2].endsWith("\"ACTIVE\",\"\""));
+        assertTrue(lines[3].endsWith("\"Go:ADVANCED:2\""));
+        verify(userSkillRepository, times(2)).findAllWithSkillByUserIdIn(anyList());
+        verify(userSkillRepository, never()).findByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Export - filtered export reads matching users in keyset pages")
+    void export_WithFilter_PagesByLastId() throws Exception {
+        ReflectionTestUtils.setField(userCsvExportService, "chunkSize", 2);
+        User alice = user(4L, "alice@example.com");
+        User bob = user(9L, "bob@example.com");
+        User carol = user(12L, "carol@example.com");
+        when(userRepository.searchUsersWithTeamAfterId(isNull(), isNull(), isNull(), eq(7L), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(alice, bob));
+        when(userRepository.searchUsersWithTeamAfterId(isNull(), isNull(), isNull(), eq(7L), eq(9L), any(Pageable.class)))
+                .thenReturn(List.of(carol));
+        when(userSkillRepository.findAllWithSkillByUserIdIn(anyList())).thenReturn(List.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userCsvExportService.export(out, ExportFormat.CSV, null, null, null, 7L);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[3].contains("\"carol@example.com\""));
+        verify(userRepository, times(2)).searchUsersWithTeamAfterId(any(), any(), any(), any(), anyLong(), any());
+        verify(userRepository, never()).streamAllNotDeleted();
+    }
+
+    @Test
+    @DisplayName("Export - without filters streams the whole table")
+    void export_WithoutFilter_StreamsAll() throws Exception {
+        when(userRepository.streamAllNotDeleted()).thenReturn(Stream.of(user(1L, "alice@example.com")));
+        when(userSkillRepository.findAllWithSkillByUserIdIn(anyList())).thenReturn(List.of());
+
+        userCsvExportService.export(new ByteArrayOutputStream(), ExportFormat.CSV, " ", null, null, null);
+
+        verify(userRepository, never()).searchUsersWithTeamAfterId(any(), any(), any(), any(), anyLong(), any());
+    }
+
+    private User user(Long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setName(email.substring(0, email.indexOf('@')));
+        user.setEmail(email);
+        user.setRole(UserRole.MEMBER);
+        user.setStatus(UserStatus.ACTIVE);
+        return user;
+    }
+
+    private UserSkill userSkill(User user, String skillName, UserSkill.Level level, String years) {
+        Skill skill = new Skill();
+        skill.setName(skillName);
+        UserSkill userSkill = new UserSkill();
+        userSkill.setUser(user);
+        userSkill.setSkill(skill);
+        userSkill.setLevel(level);
+        userSkill.setUsedYearNumber(years != null ? new BigDecimal(years) : null);
+        return userSkill;
+    }
+}
@@ -0,0 +1,333 @@
+package vn.sun.membermanagementsystem.services.csv.impls;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvImportResult;
+import vn.sun.membermanagementsystem.dto.request.csv.CsvPreviewResult;
+import vn.sun.membermanagementsystem.entities.Skill;
+import vn.sun.membermanagementsystem.entities.User;
+import vn.sun.membermanagementsystem.entities.UserSkill;
+import vn.sun.membermanagementsystem.enums.UserRole;
+import vn.sun.membermanagementsystem.enums.UserStatus;
+import vn.sun.membermanagementsystem.repositories.SkillBatchRepository;
+import vn.sun.membermanagementsystem.repositories.SkillRepository;
+import vn.sun.membermanagementsystem.repositories.UserBatchRepository;
+import vn.sun.membermanagementsystem.repositories.UserRepository;
+import vn.sun.membermanagementsystem.repositories.UserStagingRepository;
+import vn.sun.membermanagementsystem.services.PasswordHashingService;
+import vn.sun.membermanagementsystem.services.csv.CsvImportEngine;
+import vn.sun.membermanagementsystem.services.csv.CsvImportProgress;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserCsvImportService Unit Tests")
+class UserCsvImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @Mock
+    private SkillBatchRepository skillBatchRepository;
+
+    @Mock
+    private UserBatchRepository userBatchRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private UserStagingRepository userStagingRepository;
+
+    @InjectMocks
+    private UserCsvImportService userCsvImportService;
+
+    @Captor
+    private ArgumentCaptor<List<Skill>> skillsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<UserSkill>> userSkillsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<User>> insertedCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<User>> updatedCaptor;
+
+    @Captor
+    private ArgumentCaptor<String> importIdCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<UserStagingRepository.StagedUser>> stagedUsersCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<UserStagingRepository.StagedUserSkill>> stagedSkillsCaptor;
+
+    @Test
+    @DisplayName("Preview - resolves emails with one query and flags existing and duplicate emails")
+    void previewCsv_ExistingAndDuplicateEmails_Flagged() {
+        when(userRepository.findImportKeysByEmailIn(anyCollection()))
+                .thenReturn(List.of(importKey(7L, "Taken@Example.com", null)));
+
+        MockMultipartFile file = csvFile(
+                "Name,Email,Birthday,Role,Status,Skills\n" +
+                "A,a@example.com,,MEMBER,,\n" +
+                "B,taken@example.com,,MEMBER,,\n" +
+                "C,A@example.com,,MEMBER,,\n");
+
+        CsvPreviewResult preview = userCsvImportService.previewCsv(file);
+
+        assertEquals(3, preview.getTotalRows());
+        assertEquals(1, preview.getValidRows());
+        assertEquals(2, preview.getInvalidRows());
+        assertTrue(preview.getRows().get(1).getErrors().get(0).startsWith("Email already exists"));
+        assertEquals("Duplicate email in file: A@example.com (first used in row 2)",
+                preview.getRows().get(2).getErrors().get(0));
+        verify(userRepository, times(1)).findImportKeysByEmailIn(anyCollection());
+        verify(userRepository, never()).existsByEmailAndNotDeleted(anyString());
+    }
+
+    @Test
+    @DisplayName("Preview - flags emails of soft-deleted users, which the unique index still holds")
+    void previewCsv_DeletedUserEmail_Flagged() {
+        when(userRepository.findImportKeysByEmailIn(anyCollection()))
+                .thenReturn(List.of(importKey(7L, "gone@example.com", null, LocalDateTime.now())));
+
+        MockMultipartFile file = csvFile(
+                "Name,Email,Birthday,Role,Status,Skills\n" +
+                "A,a@example.com,,MEMBER,,\n" +
+                "G,Gone@example.com,,MEMBER,,\n");
+
+        CsvPreviewResult preview = userCsvImportService.previewCsv(file);
+
+        assertEquals(1, preview.getValidRows());
+        assertEquals(List.of("Email belongs to a deleted user: Gone@example.com"), preview.getRows().get(1).getErrors());
+    }
+
+    @Test
+    @DisplayName("Import - loads skills once and creates unknown skills in one batch")
+    void importFromCsv_UnknownSkills_CreatedInOneBatch() {
+        Skill java = new Skill();
+        java.setId(1L);
+        java.setName("Java");
+        when(skillRepository.findAll()).thenReturn(List.of(java));
+        AtomicLong nextId = new AtomicLong(100);
+        doAnswer(invocation -> {
+            List<Skill> skills = invocation.getArgument(0);
+            skills.forEach(skill -> skill.setId(nextId.getAndIncrement()));
+            return null;
+        }).when(skillBatchRepository).insertSkills(anyList());
+        stubPasswordHashing();
+        when(skillRepository.getReferenceById(any())).thenAnswer(invocation -> {
+            Skill skill = new Skill();
+            skill.setId(invocation.getArgument(0));
+            return skill;
+        });
+
+        MockMultipartFile file = csvFile(
+                "Name,Email,Birthday,Role,Status,Skills\n" +
+                "A,a@example.com,,MEMBER,,java:ADVANCED:3|Go:BEGINNER:1\n" +
+                "B,b@example.com,,MEMBER,,GO:EXPERT:2\n");
+
+        CsvImportResult<User> result = userCsvImportService.importFromCsv(file);
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getSuccessCount());
+
+        verify(skillBatchRepository, times(1)).insertSkills(skillsCaptor.capture());
+        assertEquals(List.of("Go"), skillsCaptor.getValue().stream().map(Skill::getName).toList());
+
+        verify(userBatchRepository).insertUserSkills(userSkillsCaptor.capture(), anyInt());
+        assertEquals(List.of(1L, 100L, 100L),
+                userSkillsCaptor.getValue().stream().map(userSkill -> userSkill.getSkill().getId()).toList());
+        verify(skillRepository, times(1)).findAll();
+        verify(skillRepository, never()).findByNameIgnoreCaseAndNotDeleted(anyString());
+    }
+
+    @Test
+    @DisplayName("Import - flags skills whose name belongs to a soft-deleted skill and does not recreate them")
+    void importFromCsv_DeletedSkill_FlaggedNotRecreated() {
+        Skill cobol = new Skill();
+        cobol.setId(3L);
+        cobol.setName("COBOL");
+        cobol.setDeletedAt(LocalDateTime.now());
+        when(skillRepository.findAll()).thenReturn(List.of(cobol));
+
+        CsvImportResult<User> result = userCsvImportService.importFromCsv(csvFile(
+                "Name,Email,Birthday,Role,Status,Skills\n" +
+                "A,a@example.com,,MEMBER,,cobol:EXPERT:20\n"));
+
+        assertTrue(result.hasErrors());
+        assertEquals("Skill entry 1: Skill name belongs to a deleted skill: cobol", result.getErrors().get(0).getMessage());
+        verify(skillBatchRepository, never()).insertSkills(anyList());
+        verify(userBatchRepository, never()).insertUsers(anyList(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Sync - inserts new rows, updates changed rows and skips unchanged rows")
+    void syncFromCsv_OnlyChangedRowsWritten() {
+        stubPasswordHashing();
+        String header = "Name,Email,Birthday,Role,Status,Skills\n";
+
+        // First sync: nobody exists yet, so every row is created with its content hash
+        CsvImportResult<User> first = userCsvImportService.syncFromCsv(csvFile(header +
+                "Same,same@example.com,,MEMBER,,\n" +
+                "Old Name,changed@example.com,,MEMBER,,\n"), CsvImportProgress.NONE);
+        assertFalse(first.hasErrors());
+        verify(userBatchRepository).insertUsers(insertedCaptor.capture(), anyInt());
+        List<User> stored = insertedCaptor.getValue();
+        assertTrue(stored.stream().allMatch(user -> user.getImportHash() != null));
+
+        when(userRepository.findImportKeysByEmailIn(anyCollection())).thenReturn(List.of(
+                importKey(1L, "same@example.com", stored.get(0).getImportHash()),
+                importKey(2L, "changed@example.com", stored.get(1).getImportHash())));
+        clearInvocations(userBatchRepository);
+
+        CsvImportResult<User> second = userCsvImportService.syncFromCsv(csvFile(header +
+                "Same,SAME@example.com,,member,,\n" +
+                "New Name,changed@example.com,,MEMBER,,\n" +
+                "Fresh,fresh@example.com,,MEMBER,,\n"), CsvImportProgress.NONE);
+
+        assertFalse(second.hasErrors());
+        assertEquals(2, second.getSuccessCount());
+        assertEquals(1, second.getUpdatedCount());
+        assertEquals(1, second.getUnchangedCount());
+
+        verify(userBatchRepository).updateUsers(updatedCaptor.capture(), anyInt());
+        assertEquals(List.of(2L), updatedCaptor.getValue().stream().map(User::getId).toList());
+        assertEquals("New Name", updatedCaptor.getValue().get(0).getName());
+        verify(userBatchRepository).deleteUserSkills(eq(List.of(2L)), anyInt());
+        verify(userBatchRepository).insertUsers(insertedCaptor.capture(), anyInt());
+        assertEquals(List.of("fresh@example.com"), insertedCaptor.getValue().stream().map(User::getEmail).toList());
+    }
+
+    @Test
+    @DisplayName("Staging engine - stages valid rows and merges them without per-row lookups")
+    void importFromCsv_StagingEngine_StagesAndMerges() {
+        ReflectionTestUtils.setField(userCsvImportService, "engine", CsvImportEngine.STAGING);
+        ReflectionTestUtils.setField(userCsvImportService, "defaultPassword", "123456");
+        when(userStagingRepository.findStagedRowNumbers(anyString())).thenReturn(List.of(2, 3));
+        stubPasswordHashing();
+        when(userStagingRepository.mergeUsers(anyString(), any())).thenReturn(2);
+
+        CsvImportResult<User> result = userCsvImportService.importFromCsv(csvFile(
+                "Name,Email,Birthday,Role,Status,Skills\n" +
+                "A,A@example.com,2001-01-01,member,,Java:ADVANCED:3|Go:beginner\n" +
+                "B,b@example.com,,ADMIN,INACTIVE,\n"));
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getSuccessCount());
+
+        verify(userStagingRepository).stageUsers(importIdCaptor.capture(), stagedUsersCaptor.capture(), anyInt());
+        String importId = importIdCaptor.getValue();
+        List<UserStagingRepository.StagedUser> users = stagedUsersCaptor.getValue();
+        assertEquals(List.of(2, 3), users.stream().map(UserStagingRepository.StagedUser::rowNumber).toList());
+        assertEquals(UserRole.MEMBER, users.get(0).role());
+        assertEquals(UserStatus.INACTIVE, users.get(1).status());
+
+        verify(userStagingRepository).stageUserSkills(eq(importId), stagedSkillsCaptor.capture(), anyInt());
+        List<UserStagingRepository.StagedUserSkill> skills = stagedSkillsCaptor.getValue();
+        assertEquals(List.of("Java", "Go"), skills.stream().map(UserStagingRepository.StagedUserSkill::skillName).toList());
+        assertEquals(UserSkill.Level.BEGINNER, skills.get(1).level());
+
+        verify(userStagingRepository).updatePasswordHashes(eq(importId), eq(Map.of(2, "hash:123456", 3, "hash:123456")), anyInt());
+        verify(userStagingRepository).insertMissingSkills(eq(importId), any());
+        verify(userStagingRepository).mergeUserSkills(eq(importId), any());
+        verify(userStagingRepository).deleteStaged(importId);
+        verify(userRepository, never()).findImportKeysByEmailIn(anyCollection());
+        verify(userBatchRepository, never()).insertUsers(anyList(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Staging engine - reports row and set-based errors in row order and merges nothing")
+    void importFromCsv_StagingEngine_ErrorsRollBack() {
+        ReflectionTestUtils.setField(userCsvImportService, "engine", CsvImportEngine.STAGING);
+        when(userStagingRepository.findExistingEmails(anyString()))
+                .thenReturn(List.of(new UserStagingRepository.StagedEmail(4, "taken@example.com", 0)));
+        when(userStagingRepository.findDeletedUserEmails(anyString()))
+                .thenReturn(List.of(new UserStagingRepository.StagedEmail(6, "gone@example.com", 0)));
+        when(userStagingRepository.findDuplicateEmails(anyString()))
+                .thenReturn(List.of(new UserStagingRepository.StagedEmail(3, "a@example.com", 2)));
+
+        CsvImportResult<User> result = userCsvImportService.importFromCsv(csvFile(
+                "Name,Email,Birthday,Role,Status,Skills\n" +
+                "A,a@example.com,,MEMBER,,\n" +
+                "A2,a@example.com,,MEMBER,,\n" +
+                "T,taken@example.com,,MEMBER,,\n" +
+                ",bad,,MEMBER,,\n" +
+                "G,gone@example.com,,MEMBER,,\n"));
+
+        assertTrue(result.isRolledBack());
+        assertEquals(4, result.getErrorCount());
+        assertEquals(List.of(3, 4, 5, 5, 6), result.getErrors().stream().map(CsvImportResult.CsvImportError::getRow).toList());
+        assertEquals("Duplicate email in file: a@example.com (first used in row 2)", result.getErrors().get(0).getMessage());
+
+        verify(userStagingRepository).stageUsers(anyString(), stagedUsersCaptor.capture(), anyInt());
+        assertEquals(4, stagedUsersCaptor.getValue().size(), "rows failing row-local checks are not staged");
+        verify(userStagingRepository, never()).mergeUsers(anyString(), any());
+        verify(userStagingRepository).deleteStaged(anyString());
+    }
+
+    private UserRepository.UserImportKey importKey(Long id, String email, String importHash) {
+        return importKey(id, email, importHash, null);
+    }
+
+    private UserRepository.UserImportKey importKey(Long id, String email, String importHash, LocalDateTime deletedAt) {
+        return new UserRepository.UserImportKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getImportHash() {
+                return importHash;
+            }
+
+            @Override
+            public LocalDateTime getDeletedAt() {
+                return deletedAt;
+            }
+        };
+    }
+
+    private void stubPasswordHashing() {
+        when(passwordHashingService.hashAll(anyList())).thenAnswer(invocation -> {
+            List<String> passwords = invocation.getArgument(0);
+            return passwords.stream().map(password -> "hash:" + password).toList();
+        });
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "users.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,155 @@
+package vn.sun.membermanagementsystem.services.impls;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.sun.membermanagementsystem.entities.ActivityLog;
+import vn.sun.membermanagementsystem.repositories.ActivityLogBatchRepository;
+import vn.sun.membermanagementsystem.repositories.UserRepository;
+import vn.sun.membermanagementsystem.services.ActivityLogWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActivityLogWriterImpl Unit Tests")
+class ActivityLogWriterImplTest {
+
+    @Mock
+    private ActivityLogBatchRepository activityLogBatchRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Captor
+    private ArgumentCaptor<List<ActivityLog>> logsCaptor;
+
+    @TempDir
+    Path spillDirectory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ActivityLogWriterImpl writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Write - a full batch is written with one user lookup and one batch insert")
+    void write_FullBatch_WritesInOneBatch() throws Exception {
+        start(10, 2, ActivityLogWriter.OverflowPolicy.SPILL);
+        when(userRepository.findIdsByEmailIn(Set.of("admin@example.com"))).thenReturn(List.of(userId(7L, "admin@example.com")));
+
+        writer.write(event("CREATE", "admin@example.com"));
+        writer.write(event("UPDATE", "admin@example.com"));
+
+        verify(activityLogBatchRepository, timeout(2000)).insertAll(logsCaptor.capture(), eq(2));
+        assertEquals(List.of("CREATE", "UPDATE"), logsCaptor.getValue().stream().map(ActivityLog::getAction).toList());
+        assertEquals(7L, logsCaptor.getValue().get(0).getUserId());
+        verify(userRepository, times(1)).findIdsByEmailIn(any());
+        assertEquals(2.0, meterRegistry.counter("activity.log.written").count());
+    }
+
+    @Test
+    @DisplayName("Write - full queue with DROP policy drops the event")
+    void write_QueueFull_DropPolicy_DropsEvent() throws Exception {
+        start(1, 10, ActivityLogWriter.OverflowPolicy.DROP);
+
+        writer.write(event("CREATE", null));
+        writer.write(event("UPDATE", null));
+
+        assertEquals(1.0, meterRegistry.counter("activity.log.dropped").count());
+        assertEquals(1.0, meterRegistry.get("activity.log.queue.depth").gauge().value());
+        assertFalse(Files.exists(spillDirectory.resolve("activity-log.spill")));
+    }
+
+    @Test
+    @DisplayName("Write - full queue with SPILL policy spills the event and replays it later")
+    void write_QueueFull_SpillPolicy_SpillsAndReplays() throws Exception {
+        start(1, 10, ActivityLogWriter.OverflowPolicy.SPILL);
+
+        writer.write(event("CREATE", null));
+        writer.write(event("UPDATE", null));
+
+        assertEquals(1.0, meterRegistry.counter("activity.log.spilled").count());
+        assertTrue(Files.exists(spillDirectory.resolve("activity-log.spill")));
+
+        writer.replaySpill();
+
+        verify(activityLogBatchRepository).insertAll(logsCaptor.capture(), anyInt());
+        assertEquals("UPDATE", logsCaptor.getValue().get(0).getAction());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 30), logsCaptor.getValue().get(0).getCreatedAt());
+        assertFalse(Files.exists(spillDirectory.resolve("activity-log.spill")));
+        assertFalse(Files.exists(spillDirectory.resolve("activity-log.spill.replay")));
+    }
+
+    @Test
+    @DisplayName("Flush - a batch that fails to insert is spilled")
+    void flush_InsertFails_SpillsBatch() throws Exception {
+        start(10, 10, ActivityLogWriter.OverflowPolicy.SPILL);
+        doThrow(new IllegalStateException("Database unavailable"))
+                .when(activityLogBatchRepository).insertAll(anyList(), anyInt());
+
+        writer.write(event("CREATE", null));
+        writer.flushQueue();
+
+        assertEquals(1.0, meterRegistry.counter("activity.log.spilled").count());
+        assertEquals(1, Files.readAllLines(spillDirectory.resolve("activity-log.spill")).size());
+    }
+
+    // The flush interval is long enough that only the size trigger or the test flushes
+    private void start(int queueCapacity, int batchSize, ActivityLogWriter.OverflowPolicy overflowPolicy) throws Exception {
+        writer = new ActivityLogWriterImpl(activityLogBatchRepository, userRepository,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        ReflectionTestUtils.setField(writer, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(writer, "batchSize", batchSize);
+        ReflectionTestUtils.setField(writer, "flushInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(writer, "overflowPolicy", overflowPolicy);
+        ReflectionTestUtils.setField(writer, "spillDirectory", spillDirectory.toString());
+        writer.init();
+    }
+
+    private ActivityLogWriter.Event event(String action, String userEmail) {
+        return new ActivityLogWriter.Event(action, "User", 1L, action + " user", userEmail,
+                "127.0.0.1", "JUnit", LocalDateTime.of(2024, 1, 1, 9, 30));
+    }
+
+    private UserRepository.UserIdEmail userId(Long id, String email) {
+        return new UserRepository.UserIdEmail() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
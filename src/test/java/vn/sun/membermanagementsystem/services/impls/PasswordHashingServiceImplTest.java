@@ -0,0 +1,59 @@
+package vn.sun.membermanagementsystem.services.impls;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashingService Unit Tests")
+class PasswordHashingServiceImplTest {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PasswordHashingServiceImpl(encoder, meterRegistry);
+        ReflectionTestUtils.setField(service, "bcryptStrength", 4);
+        ReflectionTestUtils.setField(service, "threads", 3);
+        ReflectionTestUtils.setField(service, "queueCapacity", 2);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Hash all - returns one salted hash per password, in input order")
+    void hashAll_PreservesOrder() {
+        List<String> passwords = IntStream.range(0, 20).mapToObj(i -> "password-" + i).toList();
+
+        List<String> hashes = service.hashAll(passwords);
+
+        assertEquals(passwords.size(), hashes.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertTrue(encoder.matches(passwords.get(i), hashes.get(i)));
+        }
+        assertEquals(20, meterRegistry.get("password.hash.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Hash all - identical passwords still get distinct salts")
+    void hashAll_SamePassword_DistinctHashes() {
+        List<String> hashes = service.hashAll(List.of("123456", "123456", "123456"));
+
+        assertEquals(3, hashes.stream().distinct().count());
+        assertEquals(4.0, meterRegistry.get("password.hash.bcrypt.cost").gauge().value());
+    }
+}